@@ -0,0 +1,29 @@
+package task.author.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "author.store")
+public class AuthorStoreProperties {
+
+    // CSV file of authorName,biography,nationality lines; the bundled sample is used when unset.
+    private String path;
+
+    // How often the file is checked for a newer version, 0 disables hot reload.
+    private long reloadIntervalMs = 5000;
+
+    // How long clients may reuse an author response without revalidating it.
+    private Duration maxAge = Duration.ofSeconds(60);
+
+    private int searchMaxLimit = 100;
+
+    private int fuzzyMaxEdits = 2;
+
+    // Trie characters a fuzzy search may examine before it returns what it has found.
+    private int fuzzyBudget = 200000;
+}
@@ -0,0 +1,15 @@
+package task.author.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+import task.author.dto.AuthorStoreResponse;
+import task.author.dto.TraceResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface AdminController {
+    public ResponseEntity<List<TraceResponse>> getSlowestTraces(@RequestParam(required = false) Integer limit);
+
+    public ResponseEntity<AuthorStoreResponse> reloadAuthors() throws IOException;
+}
@@ -0,0 +1,40 @@
+package task.author.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import task.author.dto.AuthorStoreResponse;
+import task.author.dto.TraceResponse;
+import task.author.monitoring.TraceStore;
+import task.author.repository.AuthorIndex;
+import task.author.repository.AuthorStore;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class AdminControllerImpl implements AdminController {
+
+    private final TraceStore traceStore;
+    private final AuthorStore authorStore;
+
+    @GetMapping("/traces")
+    public ResponseEntity<List<TraceResponse>> getSlowestTraces(@RequestParam(required = false) Integer limit) {
+        List<TraceResponse> traces = limit != null
+                ? traceStore.getSlowestTraces(limit)
+                : traceStore.getSlowestTraces();
+        return ResponseEntity.ok(traces);
+    }
+
+    @PostMapping("/authors/reload")
+    public ResponseEntity<AuthorStoreResponse> reloadAuthors() throws IOException {
+        AuthorIndex index = authorStore.reload();
+        return ResponseEntity.ok(new AuthorStoreResponse(index.getSource(), index.size(), index.getLoadedAt()));
+    }
+}
@@ -1,8 +1,17 @@
 package task.author.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import task.author.dto.Author;
 
+import java.util.List;
+
 public interface AuthorController {
-    public Author getAuthorDetails(@PathVariable String authorName);
+    public ResponseEntity<Author> getAuthorDetails(@PathVariable String authorName);
+
+    public ResponseEntity<List<Author>> searchAuthors(@RequestParam(required = false) String prefix,
+                                                      @RequestParam(required = false) String name,
+                                                      @RequestParam(required = false) Integer maxEdits,
+                                                      @RequestParam(required = false) Integer limit);
 }
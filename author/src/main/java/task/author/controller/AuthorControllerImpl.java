@@ -1,28 +1,73 @@
 package task.author.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import task.author.dto.Author;
+import task.author.repository.AuthorStore;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/api/authors")
 public class AuthorControllerImpl {
 
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int DEFAULT_MAX_EDITS = 2;
 
-    private static final Map<String, Author> authors = new HashMap<>();
+    private final AuthorStore authorStore;
 
-    static {
-        authors.put("John Doe", new Author("John Doe", "A renowned Java developer...", "American"));
-        authors.put("Jane Smith", new Author("Jane Smith", "A prolific tech writer...", "British"));
+    /**
+     * The ETag is a hash of the author's fields, so it only changes when a reload changes this author.
+     * Spring answers a matching {@code If-None-Match} with 304 and no body.
+     */
+    @GetMapping("/{authorName}")
+    public ResponseEntity<Author> getAuthorDetails(@PathVariable String authorName) {
+        Author author = authorStore.find(authorName)
+                .orElseGet(() -> new Author(authorName, "Biography not found", "Unknown"));
+        return ResponseEntity.ok()
+                .eTag(version(author))
+                .lastModified(authorStore.getIndex().getLoadedAt())
+                .cacheControl(CacheControl.maxAge(authorStore.getMaxAge()))
+                .body(author);
     }
 
-    @GetMapping("/{authorName}")
-    public Author getAuthorDetails(@PathVariable String authorName) {
-        return authors.getOrDefault(authorName, new Author(authorName, "Biography not found", "Unknown"));
+    /**
+     * With {@code prefix}, authors whose name starts with it in name order; with {@code name}, authors whose
+     * name is within {@code maxEdits} edits of it, closest first. Both ignore case and extra whitespace.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Author>> searchAuthors(@RequestParam(required = false) String prefix,
+                                                      @RequestParam(required = false) String name,
+                                                      @RequestParam(required = false) Integer maxEdits,
+                                                      @RequestParam(required = false) Integer limit) {
+        int resultLimit = limit != null ? Math.max(1, limit) : DEFAULT_LIMIT;
+        if (prefix != null) {
+            return ResponseEntity.ok(authorStore.findByPrefix(prefix, resultLimit));
+        }
+        if (name != null) {
+            int edits = maxEdits != null ? Math.max(0, maxEdits) : DEFAULT_MAX_EDITS;
+            return ResponseEntity.ok(authorStore.findSimilar(name, edits, resultLimit));
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    private static String version(Author author) {
+        long hash = 0xcbf29ce484222325L;
+        for (String field : new String[]{author.getAuthorName(), author.getBiography(), author.getNationality()}) {
+            String value = field != null ? field : "";
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+            }
+            // Field separator, so moving text between fields changes the hash.
+            hash = (hash ^ 0xffff) * 0x100000001b3L;
+        }
+        return Long.toHexString(hash);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package task.author.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class AuthorStoreResponse {
+    private String source;
+    private int authors;
+    private Instant loadedAt;
+}
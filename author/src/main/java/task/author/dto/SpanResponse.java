@@ -0,0 +1,20 @@
+package task.author.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class SpanResponse {
+    private String name;
+    private String spanId;
+    private String parentSpanId;
+    private String kind;
+    private double startOffsetMs;
+    private double durationMs;
+    private Map<String, String> attributes;
+}
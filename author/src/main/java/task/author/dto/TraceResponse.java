@@ -0,0 +1,20 @@
+package task.author.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TraceResponse {
+    private String traceId;
+    private String rootSpanName;
+    private Instant start;
+    private double durationMs;
+    private int spanCount;
+    private List<SpanResponse> spans;
+}
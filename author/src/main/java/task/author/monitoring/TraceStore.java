@@ -0,0 +1,130 @@
+package task.author.monitoring;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.stereotype.Component;
+import task.author.config.TracingProperties;
+import task.author.dto.SpanResponse;
+import task.author.dto.TraceResponse;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the most recent spans of this service for {@code GET /admin/traces}. Calls from the library arrive
+ * with its trace context, so a trace's root here is the span whose parent is not recorded locally.
+ */
+@Component
+public class TraceStore implements SpanProcessor {
+
+    private final TracingProperties properties;
+    private final Deque<SpanData> finishedSpans = new ArrayDeque<>();
+
+    public TraceStore(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanData spanData = span.toSpanData();
+        synchronized (finishedSpans) {
+            if (finishedSpans.size() >= properties.getStoreCapacity()) {
+                finishedSpans.pollFirst();
+            }
+            finishedSpans.addLast(spanData);
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        synchronized (finishedSpans) {
+            finishedSpans.clear();
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    public List<TraceResponse> getSlowestTraces() {
+        return getSlowestTraces(properties.getTopN());
+    }
+
+    public List<TraceResponse> getSlowestTraces(int limit) {
+        List<SpanData> snapshot;
+        synchronized (finishedSpans) {
+            snapshot = new ArrayList<>(finishedSpans);
+        }
+        Map<String, List<SpanData>> spansByTrace = snapshot.stream()
+                .collect(Collectors.groupingBy(SpanData::getTraceId, LinkedHashMap::new, Collectors.toList()));
+        return spansByTrace.entrySet().stream()
+                .map(entry -> toTrace(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(TraceResponse::getDurationMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static TraceResponse toTrace(String traceId, List<SpanData> spans) {
+        long start = spans.stream().mapToLong(SpanData::getStartEpochNanos).min().orElse(0);
+        long end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(start);
+        Set<String> spanIds = spans.stream().map(SpanData::getSpanId).collect(Collectors.toSet());
+        SpanData root = spans.stream()
+                .filter(span -> !spanIds.contains(span.getParentSpanId()))
+                .min(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .orElse(spans.get(0));
+        List<SpanResponse> spanResponses = spans.stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(span -> toSpan(span, start))
+                .toList();
+        return new TraceResponse(
+                traceId,
+                root.getName(),
+                Instant.ofEpochSecond(0, start),
+                nanosToMillis(end - start),
+                spans.size(),
+                spanResponses);
+    }
+
+    private static SpanResponse toSpan(SpanData span, long traceStart) {
+        Map<String, String> attributes = new TreeMap<>();
+        span.getAttributes().forEach((AttributeKey<?> key, Object value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return new SpanResponse(
+                span.getName(),
+                span.getSpanId(),
+                span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                span.getKind().name(),
+                nanosToMillis(span.getStartEpochNanos() - traceStart),
+                nanosToMillis(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                attributes);
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
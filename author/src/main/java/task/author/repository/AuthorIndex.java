@@ -0,0 +1,304 @@
+package task.author.repository;
+
+import task.author.dto.Author;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * An immutable, read-optimized view of an author file. The records stay in the file, memory-mapped,
+ * and are only decoded on a hit; the heap holds an open-addressing table from the hash of the
+ * normalized author name to the record's position in the mapping, and an {@link AuthorTrie} over the
+ * sorted normalized names for prefix and fuzzy lookups.
+ * <p>
+ * Lines are {@code authorName,biography,nationality}: the name ends at the first comma and the
+ * nationality starts after the last one, so biographies may contain commas. An optional header line
+ * starting with {@code authorName,} is skipped, and for duplicate names the first line wins.
+ */
+public final class AuthorIndex {
+
+    // A single mapping is limited to 2 GB, larger files are mapped in segments cut at line ends.
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private static final int POSITION_BITS = 31;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+    private static final String HEADER_NAME = "authorName";
+
+    private final ByteBuffer[] segments;
+    private final String source;
+    private final Instant loadedAt;
+
+    // Slot value is (segment << 31 | position) + 1, 0 marks an empty slot.
+    private final long[] slots;
+    private final int[] hashes;
+    private final int mask;
+    private int size;
+
+    // Normalized names and slot values in insertion order, only kept while building.
+    private String[] names;
+    private long[] locations;
+
+    // Slot values in normalized name order, matching the trie's name indexes.
+    private long[] sortedLocations;
+    private AuthorTrie trie;
+
+    private AuthorIndex(ByteBuffer[] segments, String source, int expectedEntries) {
+        this.segments = segments;
+        this.source = source;
+        this.loadedAt = Instant.now();
+        int capacity = tableSizeFor(Math.max(2, (int) Math.min(1 << 30, expectedEntries * 4L / 3 + 1)));
+        this.slots = new long[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        this.names = new String[expectedEntries];
+        this.locations = new long[expectedEntries];
+    }
+
+    public static AuthorIndex map(Path file) throws IOException {
+        return map(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    static AuthorIndex map(Path file, int segmentSize) throws IOException {
+        List<ByteBuffer> segments = new ArrayList<>();
+        // The mappings stay valid after the channel is closed.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long start = 0;
+            while (start < fileSize) {
+                long length = Math.min(segmentSize, fileSize - start);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                ByteBuffer segment = mapped;
+                if (start + length < fileSize) {
+                    int end = lastLineEnd(mapped);
+                    if (end == 0) {
+                        throw new IOException("Line at offset " + start + " of " + file + " is longer than a segment");
+                    }
+                    segment = mapped.slice(0, end);
+                }
+                segments.add(segment);
+                start += segment.limit();
+            }
+        }
+        return build(segments.toArray(ByteBuffer[]::new), file.toString());
+    }
+
+    public static AuthorIndex wrap(byte[] content, String source) {
+        return build(new ByteBuffer[]{ByteBuffer.wrap(content)}, source);
+    }
+
+    private static AuthorIndex build(ByteBuffer[] segments, String source) {
+        int lines = 0;
+        for (ByteBuffer segment : segments) {
+            for (int position = 0; position < segment.limit(); position = lineEnd(segment, position) + 1) {
+                lines++;
+            }
+        }
+        AuthorIndex index = new AuthorIndex(segments, source, lines);
+        for (int segment = 0; segment < segments.length; segment++) {
+            ByteBuffer buffer = segments[segment];
+            for (int position = 0; position < buffer.limit(); position = lineEnd(buffer, position) + 1) {
+                index.insert(segment, position);
+            }
+        }
+        index.buildTrie();
+        return index;
+    }
+
+    private void insert(int segment, int position) {
+        String name = readName(segments[segment], position);
+        if (name == null || (segment == 0 && position == 0 && name.equals(HEADER_NAME))) {
+            return;
+        }
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        int hash = hash(normalized);
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            if (hashes[slot] == hash && normalize(nameAt(slots[slot])).equals(normalized)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = (((long) segment << POSITION_BITS) | position) + 1;
+        hashes[slot] = hash;
+        names[size] = normalized;
+        locations[size] = slots[slot];
+        size++;
+    }
+
+    private void buildTrie() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> names[i]));
+        String[] sortedNames = new String[size];
+        sortedLocations = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedNames[i] = names[order[i]];
+            sortedLocations[i] = locations[order[i]];
+        }
+        names = null;
+        locations = null;
+        trie = AuthorTrie.build(sortedNames);
+    }
+
+    /**
+     * Lock-free: the table is never written after construction and the mapping is only read.
+     */
+    public Optional<Author> find(String authorName) {
+        if (authorName == null) {
+            return Optional.empty();
+        }
+        String normalized = normalize(authorName);
+        int hash = hash(normalized);
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash) {
+                Author author = authorAt(slots[slot]);
+                if (normalize(author.getAuthorName()).equals(normalized)) {
+                    return Optional.of(author);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Authors whose normalized name starts with the normalized prefix, in name order.
+     */
+    public List<Author> findByPrefix(String prefix, int limit) {
+        return authorsAt(trie.findByPrefix(normalize(prefix), limit));
+    }
+
+    /**
+     * Authors whose normalized name is within {@code maxEdits} edits of the normalized name, closest
+     * first. At most {@code budget} trie characters are examined.
+     */
+    public List<Author> findSimilar(String authorName, int maxEdits, int limit, int budget) {
+        return authorsAt(trie.findSimilar(normalize(authorName), maxEdits, limit, budget));
+    }
+
+    private List<Author> authorsAt(int[] sortedIndexes) {
+        List<Author> authors = new ArrayList<>(sortedIndexes.length);
+        for (int sortedIndex : sortedIndexes) {
+            authors.add(authorAt(sortedLocations[sortedIndex]));
+        }
+        return authors;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    private String nameAt(long slotValue) {
+        long location = slotValue - 1;
+        return readName(segments[(int) (location >>> POSITION_BITS)], (int) (location & POSITION_MASK));
+    }
+
+    private Author authorAt(long slotValue) {
+        long location = slotValue - 1;
+        ByteBuffer segment = segments[(int) (location >>> POSITION_BITS)];
+        int position = (int) (location & POSITION_MASK);
+        String line = decode(segment, position, contentEnd(segment, position));
+        int firstComma = line.indexOf(',');
+        int lastComma = line.lastIndexOf(',');
+        if (lastComma == firstComma) {
+            return new Author(line.substring(0, firstComma).strip(), line.substring(firstComma + 1).strip(), "Unknown");
+        }
+        return new Author(line.substring(0, firstComma).strip(),
+                line.substring(firstComma + 1, lastComma).strip(),
+                line.substring(lastComma + 1).strip());
+    }
+
+    private static String readName(ByteBuffer segment, int position) {
+        int end = contentEnd(segment, position);
+        for (int i = position; i < end; i++) {
+            if (segment.get(i) == ',') {
+                return decode(segment, position, i);
+            }
+        }
+        return null;
+    }
+
+    private static String decode(ByteBuffer segment, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        segment.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Index of the line's '\n', or the limit for a last line without one.
+    private static int lineEnd(ByteBuffer segment, int position) {
+        int limit = segment.limit();
+        for (int i = position; i < limit; i++) {
+            if (segment.get(i) == '\n') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    private static int contentEnd(ByteBuffer segment, int position) {
+        int end = lineEnd(segment, position);
+        return end > position && segment.get(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    private static int lastLineEnd(ByteBuffer segment) {
+        for (int i = segment.limit() - 1; i >= 0; i--) {
+            if (segment.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    // Case-insensitive, with leading, trailing and repeated whitespace ignored.
+    static String normalize(String authorName) {
+        String stripped = authorName.strip();
+        StringBuilder normalized = new StringBuilder(stripped.length());
+        boolean space = false;
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space) {
+                normalized.append(' ');
+                space = false;
+            }
+            normalized.append(c);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static int hash(String normalized) {
+        int h = normalized.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int entries) {
+        return Integer.highestOneBit(entries - 1) << 1;
+    }
+}
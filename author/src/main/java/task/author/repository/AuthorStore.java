@@ -0,0 +1,131 @@
+package task.author.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import task.author.config.AuthorStoreProperties;
+import task.author.dto.Author;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves authors from the current {@link AuthorIndex}. A reload builds a complete new index next to the
+ * serving one and swaps the reference, so requests never wait and never see a half-built index.
+ * Replace the file by moving a finished file over it: an index keeps its mapping of the old file.
+ */
+@Slf4j
+@Component
+public class AuthorStore implements SmartLifecycle {
+
+    private static final String BUNDLED_AUTHORS = "authors.csv";
+
+    private final AuthorStoreProperties properties;
+
+    private volatile AuthorIndex index;
+    private FileTime loadedModifiedTime;
+    private long loadedSize;
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public AuthorStore(AuthorStoreProperties properties) {
+        this.properties = properties;
+        try {
+            reload();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load authors", e);
+        }
+    }
+
+    public Optional<Author> find(String authorName) {
+        return index.find(authorName);
+    }
+
+    public List<Author> findByPrefix(String prefix, int limit) {
+        return index.findByPrefix(prefix, Math.min(limit, properties.getSearchMaxLimit()));
+    }
+
+    public List<Author> findSimilar(String authorName, int maxEdits, int limit) {
+        return index.findSimilar(authorName, Math.min(maxEdits, properties.getFuzzyMaxEdits()),
+                Math.min(limit, properties.getSearchMaxLimit()), properties.getFuzzyBudget());
+    }
+
+    public Duration getMaxAge() {
+        return properties.getMaxAge();
+    }
+
+    public AuthorIndex getIndex() {
+        return index;
+    }
+
+    public synchronized AuthorIndex reload() throws IOException {
+        if (properties.getPath() == null) {
+            try (InputStream bundled = new ClassPathResource(BUNDLED_AUTHORS).getInputStream()) {
+                index = AuthorIndex.wrap(bundled.readAllBytes(), "classpath:" + BUNDLED_AUTHORS);
+            }
+            return index;
+        }
+        Path path = Path.of(properties.getPath());
+        // Read before mapping, so a change made while loading is picked up by the next check.
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long startedAt = System.nanoTime();
+        AuthorIndex loaded = AuthorIndex.map(path);
+        index = loaded;
+        loadedModifiedTime = attributes.lastModifiedTime();
+        loadedSize = attributes.size();
+        log.info("Loaded {} authors from {} in {} ms", loaded.size(), path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return loaded;
+    }
+
+    @Override
+    public void start() {
+        if (properties.getPath() != null && properties.getReloadIntervalMs() > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "author-store-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::reloadIfChanged, properties.getReloadIntervalMs(),
+                    properties.getReloadIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private synchronized void reloadIfChanged() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(Path.of(properties.getPath()), BasicFileAttributes.class);
+            if (!attributes.lastModifiedTime().equals(loadedModifiedTime) || attributes.size() != loadedSize) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("Could not reload authors from {}, still serving {} authors from the previous version",
+                    properties.getPath(), index.size(), e);
+        }
+    }
+}
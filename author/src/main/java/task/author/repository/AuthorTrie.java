@@ -0,0 +1,231 @@
+package task.author.repository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A path-compressed trie over sorted, distinct, normalized names, stored in flat arrays. Every node
+ * knows the range of the sorted names below it, so a prefix lookup is a walk down the trie followed by
+ * a slice of that range. Children of a node are contiguous and ordered by their first label character.
+ */
+final class AuthorTrie {
+
+    private static final int ROOT = 0;
+
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] labelEnd;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] rangeStart;
+    private final int[] rangeEnd;
+    // Nodes where a name ends; that name is the first of the node's range.
+    private final BitSet terminal;
+
+    private AuthorTrie(char[] labels, int[] labelStart, int[] labelEnd, int[] firstChild, int[] childCount,
+                       int[] rangeStart, int[] rangeEnd, BitSet terminal) {
+        this.labels = labels;
+        this.labelStart = labelStart;
+        this.labelEnd = labelEnd;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.terminal = terminal;
+    }
+
+    static AuthorTrie build(String[] sortedNames) {
+        int capacity = 2 * sortedNames.length + 1;
+        int[] labelStart = new int[capacity];
+        int[] labelEnd = new int[capacity];
+        int[] firstChild = new int[capacity];
+        int[] childCount = new int[capacity];
+        int[] rangeStart = new int[capacity];
+        int[] rangeEnd = new int[capacity];
+        int[] depth = new int[capacity];
+        BitSet terminal = new BitSet(capacity);
+        StringBuilder labels = new StringBuilder();
+
+        int nodes = 1;
+        rangeEnd[ROOT] = sortedNames.length;
+        // Breadth first, so the children of a node are allocated next to each other.
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.add(ROOT);
+        while (!pending.isEmpty()) {
+            int node = pending.poll();
+            int from = rangeStart[node];
+            int to = rangeEnd[node];
+            int nodeDepth = depth[node];
+            if (from < to && sortedNames[from].length() == nodeDepth) {
+                terminal.set(node);
+                from++;
+            }
+            firstChild[node] = nodes;
+            while (from < to) {
+                char next = sortedNames[from].charAt(nodeDepth);
+                int groupEnd = from + 1;
+                while (groupEnd < to && sortedNames[groupEnd].charAt(nodeDepth) == next) {
+                    groupEnd++;
+                }
+                // The names are sorted, so the group's common prefix is that of its first and last name.
+                String first = sortedNames[from];
+                String last = sortedNames[groupEnd - 1];
+                int commonEnd = nodeDepth + 1;
+                while (commonEnd < first.length() && commonEnd < last.length()
+                        && first.charAt(commonEnd) == last.charAt(commonEnd)) {
+                    commonEnd++;
+                }
+                int child = nodes++;
+                labelStart[child] = labels.length();
+                labels.append(first, nodeDepth, commonEnd);
+                labelEnd[child] = labels.length();
+                rangeStart[child] = from;
+                rangeEnd[child] = groupEnd;
+                depth[child] = commonEnd;
+                childCount[node]++;
+                pending.add(child);
+                from = groupEnd;
+            }
+        }
+        char[] labelChars = new char[labels.length()];
+        labels.getChars(0, labels.length(), labelChars, 0);
+        return new AuthorTrie(labelChars, Arrays.copyOf(labelStart, nodes), Arrays.copyOf(labelEnd, nodes),
+                Arrays.copyOf(firstChild, nodes), Arrays.copyOf(childCount, nodes),
+                Arrays.copyOf(rangeStart, nodes), Arrays.copyOf(rangeEnd, nodes), terminal);
+    }
+
+    /**
+     * Sorted-name indexes of up to {@code limit} names starting with the prefix, in name order.
+     */
+    int[] findByPrefix(String prefix, int limit) {
+        int node = ROOT;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            node = childStartingWith(node, prefix.charAt(matched));
+            if (node < 0) {
+                return new int[0];
+            }
+            for (int i = labelStart[node]; i < labelEnd[node] && matched < prefix.length(); i++, matched++) {
+                if (labels[i] != prefix.charAt(matched)) {
+                    return new int[0];
+                }
+            }
+        }
+        int from = rangeStart[node];
+        int to = (int) Math.min(rangeEnd[node], (long) from + limit);
+        int[] matches = new int[to - from];
+        for (int i = 0; i < matches.length; i++) {
+            matches[i] = from + i;
+        }
+        return matches;
+    }
+
+    /**
+     * Sorted-name indexes of up to {@code limit} names within {@code maxEdits} Levenshtein edits of the
+     * name, closest first. The walk stops after {@code budget} trie characters, so the time spent is
+     * bounded however many names there are; a search that runs out returns the best matches found so far.
+     */
+    int[] findSimilar(String name, int maxEdits, int limit, int budget) {
+        FuzzySearch search = new FuzzySearch(name, maxEdits, budget);
+        int[] firstRow = new int[name.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        if (terminal.get(ROOT) && firstRow[name.length()] <= maxEdits) {
+            search.matches.add(new int[]{rangeStart[ROOT], firstRow[name.length()], 0});
+        }
+        search.walk(ROOT, firstRow, 0);
+        return search.matches.stream()
+                .sorted(Comparator.<int[]>comparingInt(match -> match[1])
+                        .thenComparingInt(match -> Math.abs(match[2] - name.length()))
+                        .thenComparingInt(match -> match[0]))
+                .limit(limit)
+                .mapToInt(match -> match[0])
+                .toArray();
+    }
+
+    private int childStartingWith(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char first = labels[labelStart[middle]];
+            if (first < c) {
+                low = middle + 1;
+            } else if (first > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private final class FuzzySearch {
+
+        private final String name;
+        private final int maxEdits;
+        // Each match is {sorted index, distance, name length}.
+        private final List<int[]> matches = new ArrayList<>();
+        private int budget;
+
+        private FuzzySearch(String name, int maxEdits, int budget) {
+            this.name = name;
+            this.maxEdits = maxEdits;
+            this.budget = budget;
+        }
+
+        private void walk(int node, int[] parentRow, int parentDepth) {
+            int end = firstChild[node] + childCount[node];
+            for (int child = firstChild[node]; child < end; child++) {
+                int[] row = parentRow;
+                int depth = parentDepth;
+                boolean viable = true;
+                for (int i = labelStart[child]; i < labelEnd[child]; i++) {
+                    if (budget-- <= 0) {
+                        return;
+                    }
+                    row = nextRow(row, labels[i]);
+                    depth++;
+                    if (min(row) > maxEdits) {
+                        viable = false;
+                        break;
+                    }
+                }
+                if (!viable) {
+                    continue;
+                }
+                if (terminal.get(child) && row[name.length()] <= maxEdits) {
+                    matches.add(new int[]{rangeStart[child], row[name.length()], depth});
+                }
+                walk(child, row, depth);
+                if (budget <= 0) {
+                    return;
+                }
+            }
+        }
+
+        private int[] nextRow(int[] previous, char c) {
+            int[] row = new int[previous.length];
+            row[0] = previous[0] + 1;
+            for (int i = 1; i < row.length; i++) {
+                int substitution = previous[i - 1] + (name.charAt(i - 1) == c ? 0 : 1);
+                row[i] = Math.min(substitution, Math.min(previous[i] + 1, row[i - 1] + 1));
+            }
+            return row;
+        }
+
+        private int min(int[] row) {
+            int min = Integer.MAX_VALUE;
+            for (int value : row) {
+                min = Math.min(min, value);
+            }
+            return min;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package task.author.controller;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.author.config.WireFormatConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "author.store.max-age=30s")
+@AutoConfigureMockMvc
+class AuthorControllerImplTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testAuthorIsCacheableAndRevalidates() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/authors/{name}", "John Doe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nationality").value("American"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/authors/{name}", "John Doe").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        String otherEtag = mockMvc.perform(MockMvcRequestBuilders.get("/api/authors/{name}", "Jane Smith"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, otherEtag);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/authors/{name}", "Jane Smith").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testAuthorIsServedAsSmileWhenAsked() throws Exception {
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get("/api/authors/{name}", "John Doe")
+                        .accept(WireFormatConfiguration.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormatConfiguration.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("American", new SmileMapper().readTree(body).get("nationality").asText());
+    }
+}
@@ -0,0 +1,84 @@
+package task.author.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import task.author.config.AuthorStoreProperties;
+import task.author.dto.Author;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorIndexTest {
+
+    private static final int AUTHORS = 20_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEveryAuthorIsFoundAcrossSegments() throws IOException {
+        Path file = writeAuthors(directory.resolve("authors.csv"), "Biography");
+
+        // Small segments force records to be cut at line ends many times over.
+        AuthorIndex index = AuthorIndex.map(file, 64 * 1024);
+
+        assertEquals(AUTHORS, index.size());
+        for (int i = 0; i < AUTHORS; i++) {
+            Author author = index.find("Author " + i).orElseThrow();
+            assertEquals("Author " + i, author.getAuthorName());
+            assertEquals("Biography " + i + ", with a comma", author.getBiography());
+            assertEquals("Nationality " + (i % 7), author.getNationality());
+        }
+        assertTrue(index.find("Author " + AUTHORS).isEmpty());
+    }
+
+    @Test
+    void testNamesAreNormalizedAndFirstDuplicateWins() {
+        String content = "authorName,biography,nationality\r\n"
+                + "John Doe,A renowned Java developer...,American\r\n"
+                + "\r\n"
+                + "JOHN DOE,Someone else,Canadian\r\n"
+                + "Jane Smith,A prolific tech writer...,British";
+
+        AuthorIndex index = AuthorIndex.wrap(content.getBytes(StandardCharsets.UTF_8), "test");
+
+        assertEquals(2, index.size());
+        assertEquals("American", index.find("  john doe ").orElseThrow().getNationality());
+        assertEquals("British", index.find("Jane Smith").orElseThrow().getNationality());
+        assertTrue(index.find("authorName").isEmpty());
+    }
+
+    @Test
+    void testReloadSwapsInTheReplacedFile() throws IOException {
+        Path file = writeAuthors(directory.resolve("authors.csv"), "Biography");
+        AuthorStoreProperties properties = new AuthorStoreProperties();
+        properties.setPath(file.toString());
+        AuthorStore store = new AuthorStore(properties);
+        AuthorIndex before = store.getIndex();
+
+        Path replacement = writeAuthors(directory.resolve("authors.csv.tmp"), "Updated biography");
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        store.reload();
+
+        assertEquals("Updated biography 1, with a comma", store.find("Author 1").orElseThrow().getBiography());
+        // A request still holding the previous snapshot keeps reading the old mapping.
+        assertEquals("Biography 1, with a comma", before.find("Author 1").orElseThrow().getBiography());
+    }
+
+    private static Path writeAuthors(Path file, String biography) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("authorName,biography,nationality\n");
+            for (int i = 0; i < AUTHORS; i++) {
+                writer.write("Author " + i + "," + biography + " " + i + ", with a comma,Nationality " + (i % 7) + "\n");
+            }
+        }
+        return file;
+    }
+}
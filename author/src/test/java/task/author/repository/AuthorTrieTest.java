@@ -0,0 +1,103 @@
+package task.author.repository;
+
+import org.junit.jupiter.api.Test;
+import task.author.dto.Author;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorTrieTest {
+
+    private static final String[] SYLLABLES = {"an", "na", "jo", "hn", "do", "e", "ma", "ri", "a", "sm", "ith"};
+
+    @Test
+    void testPrefixAndFuzzyMatchBruteForce() {
+        Random random = new Random(42);
+        TreeSet<String> distinct = new TreeSet<>();
+        while (distinct.size() < 5_000) {
+            distinct.add(randomName(random));
+        }
+        String[] names = distinct.toArray(String[]::new);
+        AuthorTrie trie = AuthorTrie.build(names);
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomName(random);
+            String prefix = query.substring(0, 1 + random.nextInt(query.length()));
+
+            int[] expectedPrefix = IntStream.range(0, names.length)
+                    .filter(index -> names[index].startsWith(prefix)).limit(20).toArray();
+            assertArrayEquals(expectedPrefix, trie.findByPrefix(prefix, 20), prefix);
+
+            int[] similar = trie.findSimilar(query, 2, Integer.MAX_VALUE, Integer.MAX_VALUE);
+            int[] expectedSimilar = IntStream.range(0, names.length)
+                    .filter(index -> distance(names[index], query) <= 2).toArray();
+            int[] sortedSimilar = similar.clone();
+            Arrays.sort(sortedSimilar);
+            assertArrayEquals(expectedSimilar, sortedSimilar, query);
+            for (int k = 1; k < similar.length; k++) {
+                assertTrue(distance(names[similar[k - 1]], query) <= distance(names[similar[k]], query), query);
+            }
+        }
+    }
+
+    @Test
+    void testFuzzySearchStopsAtItsBudget() {
+        String[] names = IntStream.range(0, 10_000).mapToObj(i -> "author " + i).sorted().toArray(String[]::new);
+        AuthorTrie trie = AuthorTrie.build(names);
+
+        int[] bounded = trie.findSimilar("author 5000", 2, Integer.MAX_VALUE, 50);
+        int[] unbounded = trie.findSimilar("author 5000", 2, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        assertTrue(bounded.length < unbounded.length);
+    }
+
+    @Test
+    void testIndexSearchesIgnoreCaseAndSpacing() {
+        String content = "Jane Smith,A prolific tech writer...,British\n"
+                + "John Doe,A renowned Java developer...,American\n"
+                + "John Dough,A baker,French\n"
+                + "Joanna Doe,A poet,Irish\n";
+        AuthorIndex index = AuthorIndex.wrap(content.getBytes(StandardCharsets.UTF_8), "test");
+
+        assertEquals(List.of("John Doe", "John Dough"), names(index.findByPrefix("  JOHN   d", 10)));
+        assertEquals(List.of("John Doe"), names(index.findSimilar("jonh  doe", 2, 10, 10_000)));
+        assertEquals(List.of("John Doe", "John Dough"), names(index.findSimilar("John Dou", 2, 10, 10_000)));
+        assertEquals("John Doe", index.find("john    DOE").orElseThrow().getAuthorName());
+        assertTrue(index.findByPrefix("x", 10).isEmpty());
+    }
+
+    private static List<String> names(List<Author> authors) {
+        return authors.stream().map(Author::getAuthorName).toList();
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 1 + random.nextInt(4);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.toString();
+    }
+
+    private static int distance(String a, String b) {
+        int[] previous = IntStream.rangeClosed(0, b.length()).toArray();
+        for (int i = 1; i <= a.length(); i++) {
+            int[] row = new int[b.length() + 1];
+            row[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                row[j] = Math.min(substitution, Math.min(previous[j] + 1, row[j - 1] + 1));
+            }
+            previous = row;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Unpacks the prod jar and records an AppCDS archive from a training run that stops right after the context refresh.
+# Build first with: ./mvnw -Pprod package -DskipTests
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAR=$(ls target/library-*.jar | head -1)
+rm -rf target/cds
+mkdir -p target/cds
+(cd target/cds && jar -xf "../$(basename "$JAR")")
+
+# CDS only archives classes loaded from jar files, so the application classes are re-jarred.
+jar -cf target/cds/application.jar -C target/cds/BOOT-INF/classes .
+CLASSPATH="target/cds/application.jar:$(ls target/cds/BOOT-INF/lib/*.jar | sort | paste -sd: -)"
+echo "$CLASSPATH" > target/cds/classpath
+
+java -XX:ArchiveClassesAtExit=target/cds/library.jsa \
+     -Dspring.context.exit=onRefresh \
+     -Dspring.aot.enabled=true \
+     -Dspring.profiles.active=prod \
+     -cp "$CLASSPATH" task.library.LibraryApplication
+
+echo "AppCDS archive written to target/cds/library.jsa"
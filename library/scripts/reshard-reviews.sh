@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Moves reviews to a new shard layout with writes paused, then exits.
+# Usage: TARGETS=url1,url2,url3 [SOURCES=urlA,urlB] scripts/reshard-reviews.sh [extra spring args]
+# SOURCES defaults to library.sharding.urls; use the primary url to split an unsharded review table.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+: "${TARGETS:?TARGETS must list the target shard urls}"
+# No web server and no catalog snapshot: the job only needs the databases.
+ARGS=(--spring.main.web-application-type=none --library.catalog.enabled=false
+  --library.sharding.reshard.target-urls="$TARGETS")
+if [ -n "${SOURCES:-}" ]; then
+  ARGS+=(--library.sharding.reshard.source-urls="$SOURCES")
+fi
+
+java -jar "$(ls target/library-*.jar | head -1)" "${ARGS[@]}" "$@"
@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Boots the prod build RUNS times and records JVM-start-to-ready time in HISTORY.
+# Each run is compared with the median of the previous runs; a regression fails the script.
+# Uses the unpacked layout and AppCDS archive from build-cds-archive.sh when present, the fat jar otherwise.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+HISTORY=${HISTORY:-target/startup-history.csv}
+THRESHOLD=${THRESHOLD:-20}
+
+if [ -f target/cds/library.jsa ]; then
+  LAUNCH=(-XX:SharedArchiveFile=target/cds/library.jsa -cp "$(cat target/cds/classpath)" task.library.LibraryApplication)
+else
+  LAUNCH=(-jar "$(ls target/library-*.jar | head -1)")
+fi
+
+for run in $(seq 1 "$RUNS"); do
+  echo "Startup run $run/$RUNS"
+  java -Dspring.aot.enabled=true "${LAUNCH[@]}" \
+       --spring.profiles.active=prod \
+       --server.port=0 \
+       --library.startup.history-file="$HISTORY" \
+       --library.startup.regression-threshold-percent="$THRESHOLD" \
+       --library.startup.fail-on-regression=true \
+       --library.startup.exit-after-ready=true
+done
@@ -0,0 +1,23 @@
+package task.library.config.analytics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.analytics")
+public class AnalyticsProperties {
+
+    // Worker threads of the aggregation pool; 0 means one per available core.
+    private int parallelism = 0;
+
+    // Reviews a single task aggregates without splitting further.
+    private int splitThreshold = 8192;
+
+    // Rows per round trip while the snapshot is streamed in.
+    private int fetchSize = 1000;
+
+    // Local writes invalidate results at once; this bounds how long writes of other instances go unseen.
+    private long maxAgeMs = 60000;
+}
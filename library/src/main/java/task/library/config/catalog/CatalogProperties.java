@@ -0,0 +1,20 @@
+package task.library.config.catalog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.catalog")
+public class CatalogProperties {
+
+    // Serve year and availability filters from the in-memory snapshot instead of the database.
+    private boolean enabled = true;
+
+    // Keep the int columns in direct buffers, outside the Java heap.
+    private boolean offHeap = false;
+
+    // Local writes are applied as they commit; a periodic rebuild picks up those of other instances.
+    private long rebuildIntervalMs = 60000;
+}
@@ -0,0 +1,25 @@
+package task.library.config.changes;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.changes")
+public class ChangeLogProperties {
+
+    private Duration retention = Duration.ofDays(7);
+
+    private int defaultLimit = 100;
+
+    private int maxLimit = 1000;
+
+    private long compactionIntervalMs = 60000;
+
+    // Longest a transaction may take between recording a change and committing it. Ids are taken at insert,
+    // so a missing id younger than this may still show up and the feed waits for it.
+    private Duration visibilityLag = Duration.ofSeconds(5);
+}
@@ -0,0 +1,26 @@
+package task.library.config.coalescing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    // How long a caller waits for an identical read already in flight before querying on its own.
+    private long timeoutMs = 2000;
+
+    // Per operation overrides of timeoutMs, e.g. library.coalescing.timeouts-ms.average-ratings=5000.
+    private Map<String, Long> timeoutsMs = new HashMap<>();
+
+    public long timeoutMsFor(String operation) {
+        return timeoutsMs.getOrDefault(operation, timeoutMs);
+    }
+}
@@ -0,0 +1,57 @@
+package task.library.config.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "library.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                                ObjectMapper objectMapper,
+                                                                                MeterRegistry meterRegistry) throws IOException {
+        Map<RequestClass, GradientLimit> limits = new EnumMap<>(RequestClass.class);
+        Map<RequestClass, Counter> rejections = new EnumMap<>(RequestClass.class);
+        for (RequestClass requestClass : RequestClass.values()) {
+            GradientLimit limit = new GradientLimit(limitsOf(properties, requestClass), properties.getLatencyTolerance(),
+                    properties.getSmoothing(), properties.getLongWindow());
+            limits.put(requestClass, limit);
+            Gauge.builder("library.concurrency.limit", limit, GradientLimit::getLimit)
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            Gauge.builder("library.concurrency.in-flight", limit, GradientLimit::getInFlight)
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            rejections.put(requestClass, Counter.builder("library.concurrency.rejected")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry));
+        }
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limits, rejections, properties, objectMapper));
+        registration.addUrlPatterns("/api/books/*", "/api/books", "/api/reviews/*", "/api/analytics/*");
+        // Last, so responses served from the near-cache never wait for a permit.
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static ConcurrencyLimitProperties.Limit limitsOf(ConcurrencyLimitProperties properties, RequestClass requestClass) {
+        return switch (requestClass) {
+            case READ -> properties.getReads();
+            case WRITE -> properties.getWrites();
+            case AGGREGATE -> properties.getAggregates();
+            case REMOTE -> properties.getRemotes();
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package task.library.config.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import task.library.dto.ProblemResponse;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admits a request only while its class is under its {@link GradientLimit}, and answers the others at
+ * once with 503 and {@code Retry-After}, so excess load is shed before it queues in front of the database.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Map<RequestClass, GradientLimit> limits;
+    private final Map<RequestClass, Counter> rejections;
+    private final Map<RequestClass, byte[]> rejectionBodies = new EnumMap<>(RequestClass.class);
+    private final List<String> aggregatePaths;
+    private final List<String> remotePaths;
+    private final String retryAfter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ConcurrencyLimitFilter(Map<RequestClass, GradientLimit> limits, Map<RequestClass, Counter> rejections,
+                                  ConcurrencyLimitProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.limits = limits;
+        this.rejections = rejections;
+        this.aggregatePaths = List.copyOf(properties.getAggregatePaths());
+        this.remotePaths = List.copyOf(properties.getRemotePaths());
+        this.retryAfter = Integer.toString(properties.getRetryAfterSeconds());
+        for (RequestClass requestClass : RequestClass.values()) {
+            HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+            rejectionBodies.put(requestClass, objectMapper.writeValueAsBytes(ProblemResponse.of(status.value(),
+                    status.getReasonPhrase(), "Too many concurrent " + requestClass.tag() + " requests, retry later")));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestClass requestClass = classify(request);
+        GradientLimit limit = limits.get(requestClass);
+        if (!limit.tryAcquire()) {
+            reject(requestClass, response);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - startedAt);
+        }
+    }
+
+    RequestClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return RequestClass.WRITE;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String remotePath : remotePaths) {
+            if (pathMatcher.match(remotePath, path)) {
+                return RequestClass.REMOTE;
+            }
+        }
+        for (String aggregatePath : aggregatePaths) {
+            if (pathMatcher.match(aggregatePath, path)) {
+                return RequestClass.AGGREGATE;
+            }
+        }
+        return RequestClass.READ;
+    }
+
+    private void reject(RequestClass requestClass, HttpServletResponse response) throws IOException {
+        rejections.get(requestClass).increment();
+        byte[] body = rejectionBodies.get(requestClass);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
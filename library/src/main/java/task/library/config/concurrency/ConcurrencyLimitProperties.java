@@ -0,0 +1,57 @@
+package task.library.config.concurrency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private final Limit reads = new Limit(40, 8, 400);
+
+    private final Limit writes = new Limit(20, 4, 200);
+
+    private final Limit aggregates = new Limit(4, 1, 32);
+
+    private final Limit remotes = new Limit(10, 2, 100);
+
+    // GET endpoints that scan many rows are limited as aggregates rather than as reads.
+    private List<String> aggregatePaths = new ArrayList<>(List.of("/api/books/high-ratings-*", "/api/books/filter",
+            "/api/reviews/average-ratings", "/api/reviews/search", "/api/analytics/**"));
+
+    // GET endpoints that call the author service are limited apart from reads served by the database.
+    private List<String> remotePaths = new ArrayList<>(List.of("/api/books/*/author-details"));
+
+    // How much slower than its long-term average a request may get before the limit shrinks.
+    private double latencyTolerance = 1.5;
+
+    // Share of each adjustment applied at once, so a single slow request cannot halve the limit.
+    private double smoothing = 0.2;
+
+    // Requests averaged into the long-term latency the current latency is compared with.
+    private int longWindow = 600;
+
+    private int retryAfterSeconds = 1;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private int initial;
+
+        private int min;
+
+        private int max;
+    }
+}
@@ -0,0 +1,86 @@
+package task.library.config.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows latency. The limit grows while requests take as long as they usually do
+ * and shrinks in proportion once they take longer, which means requests are queueing somewhere
+ * downstream (connection pool, database); requests over the limit are rejected rather than queued.
+ * <p>
+ * Each completed request compares a short-term average latency with a long-term one: their ratio,
+ * capped to [0.5, 1], scales the limit, and a headroom of sqrt(limit) lets it probe upwards.
+ */
+public class GradientLimit {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public GradientLimit(ConcurrencyLimitProperties.Limit limits, double tolerance, double smoothing, int longWindow) {
+        this.minLimit = Math.max(1, limits.getMin());
+        this.maxLimit = Math.max(minLimit, limits.getMax());
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longWindow = Math.max(1, longWindow);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, limits.getInitial()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(rttNanos, inFlightBefore);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightBefore) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+            longRttNanos += (rttNanos - longRttNanos) / longWindow;
+        }
+        // After a long overload the long-term average still remembers it; let it come back down quickly.
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        // A limit that is far from reached says nothing about whether more would be fine.
+        if (inFlightBefore < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - smoothing) + target * smoothing));
+        limit = (int) estimatedLimit;
+    }
+}
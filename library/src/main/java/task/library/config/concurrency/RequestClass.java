@@ -0,0 +1,13 @@
+package task.library.config.concurrency;
+
+/**
+ * Requests limited together: a burst of one kind cannot take the capacity the others need. REMOTE requests
+ * wait on the author service, so its latency only ever shrinks their own limit.
+ */
+public enum RequestClass {
+    READ, WRITE, AGGREGATE, REMOTE;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,44 @@
+package task.library.config.datasource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+import task.library.monitoring.SlowQueryListener;
+import task.library.monitoring.SlowQueryRegistry;
+
+import javax.sql.DataSource;
+
+@Component
+@ConditionalOnProperty(prefix = "library.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyBeanPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryListener> slowQueryListener;
+    private final ObjectProvider<SlowQueryRegistry> slowQueryRegistry;
+
+    public DataSourceProxyBeanPostProcessor(ObjectProvider<SlowQueryListener> slowQueryListener,
+                                            ObjectProvider<SlowQueryRegistry> slowQueryRegistry) {
+        this.slowQueryListener = slowQueryListener;
+        this.slowQueryRegistry = slowQueryRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                || bean instanceof DelegatingDataSource || bean instanceof AbstractRoutingDataSource) {
+            // Routing and lazy proxies delegate to pools that are proxied themselves.
+            return bean;
+        }
+        // Plans are captured on the raw pool so EXPLAIN statements never show up in the slow-query log themselves.
+        slowQueryRegistry.getObject().setPlanDataSource(beanName, dataSource);
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(slowQueryListener.getObject())
+                .proxyResultSet()
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package task.library.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    private long thresholdMs = 100;
+
+    private int topN = 20;
+
+    private int maxTracked = 500;
+
+    private boolean redactParameters = true;
+
+    private boolean capturePlans = true;
+}
@@ -0,0 +1,68 @@
+package task.library.config.entitycache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import task.library.entity.Book;
+import task.library.entity.Review;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class EntityCacheConfiguration {
+
+    public static final String BOOK_REVIEWS = Book.class.getName() + ".reviews";
+
+    private static final List<String> BOUNDED_REGIONS = List.of(Book.class.getName(), Review.class.getName(), BOOK_REVIEWS,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheSettings(EntityCacheProperties properties) {
+        return hibernateProperties -> {
+            if (!properties.isEnabled()) {
+                // Otherwise Hibernate picks up the JCache region factory from the classpath on its own.
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager(properties));
+            // Every region is created below, so a region Hibernate asks for under another name fails at startup.
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // A review saved or deleted on its own also evicts its book's review collection.
+            hibernateProperties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+
+    // A manager of its own per application context, so contexts sharing a JVM never share or close each
+    // other's caches. Hibernate closes it with the session factory.
+    private static CacheManager cacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("library-entity-cache-" + UUID.randomUUID()), EntityCacheConfiguration.class.getClassLoader());
+        for (String region : BOUNDED_REGIONS) {
+            cacheManager.createCache(region, configuration()
+                    .setMaximumSize(OptionalLong.of(properties.getMaximumSize()))
+                    .setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(properties.getExpireAfterWriteMs()))));
+        }
+        // One entry per table, and query results can only be trusted while their tables' entries are there.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuration());
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration() {
+        // Hibernate caches immutable disassembled state, copying it on every read would only cost time.
+        return new CaffeineConfiguration<>().setStoreByValue(false);
+    }
+}
@@ -0,0 +1,23 @@
+package task.library.config.entitycache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Hibernate's second-level cache. Each instance has its own; writes made by other instances reach it
+ * through the near-cache invalidation feed, so run several instances with {@code library.near-cache.enabled=true}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.entity-cache")
+public class EntityCacheProperties {
+
+    private boolean enabled = true;
+
+    // Per region: books, reviews, book review collections and cached query results.
+    private long maximumSize = 10000;
+
+    // Also bounds how long a value read from a lagging replica can outlive the write that replaced it.
+    private long expireAfterWriteMs = 600000;
+}
@@ -0,0 +1,14 @@
+package task.library.config.errors;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.errors")
+public class ErrorResponseProperties {
+
+    // Answer list endpoints that found nothing with 200 and [] instead of 404.
+    private boolean emptyListAsOk = false;
+}
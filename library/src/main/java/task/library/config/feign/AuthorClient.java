@@ -8,6 +8,7 @@ import task.library.dto.AuthorDetails;
 @FeignClient(name = "author-service", url = "http://localhost:8080/api/authors", configuration = FeignConfiguration.class)
 public interface AuthorClient {
 
-    @GetMapping("/{authorName}")
+    // Smile is smaller and cheaper to parse; JSON stays acceptable for author services that do not speak it.
+    @GetMapping(value = "/{authorName}", headers = "Accept=application/x-jackson-smile, application/json;q=0.9")
     AuthorDetails getAuthorDetails(@PathVariable("authorName") String authorName);
 }
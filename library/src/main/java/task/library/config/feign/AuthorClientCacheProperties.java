@@ -0,0 +1,15 @@
+package task.library.config.feign;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.author-client.cache")
+public class AuthorClientCacheProperties {
+
+    private boolean enabled = true;
+
+    private int maxEntries = 10000;
+}
@@ -1,8 +1,45 @@
 package task.library.config.feign;
 
+import feign.Client;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import task.library.config.web.WireFormatConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class FeignConfiguration {
-}
 
+    @Bean
+    @ConditionalOnProperty(prefix = "library.author-client.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public Client feignClient(AuthorClientCacheProperties properties, MeterRegistry meterRegistry) {
+        return new HttpCachingClient(new Client.Default(null, null), properties.getMaxEntries(), meterRegistry);
+    }
+
+    // The default Spring decoder, plus Smile so the author service can answer in its binary format.
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers,
+                                Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        HttpMessageConverter<?> smile = WireFormatConfiguration.smileConverter(objectMapperBuilder);
+        ObjectFactory<HttpMessageConverters> withSmile = () -> {
+            List<HttpMessageConverter<?>> converters = new ArrayList<>(messageConverters.getObject().getConverters());
+            converters.add(smile);
+            return new HttpMessageConverters(false, converters);
+        };
+        return new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(withSmile, customizers)));
+    }
+}
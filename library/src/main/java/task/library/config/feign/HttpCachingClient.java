@@ -0,0 +1,207 @@
+package task.library.config.feign;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A private HTTP cache in front of a Feign client, for GET responses that carry {@code Cache-Control}.
+ * A response is reused without a request while it is younger than its {@code max-age}; after that the
+ * request is sent with {@code If-None-Match}, and a 304 refreshes the stored response instead of
+ * downloading it again. Responses marked {@code no-store} are never kept and {@code no-cache} ones are
+ * always revalidated.
+ */
+public class HttpCachingClient implements Client {
+
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String AGE = "Age";
+
+    private final Client delegate;
+    private final Clock clock;
+    private final Map<String, CachedResponse> cache;
+    private final Counter hits;
+    private final Counter revalidations;
+    private final Counter misses;
+
+    public HttpCachingClient(Client delegate, int maxEntries, MeterRegistry meterRegistry) {
+        this(delegate, maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    HttpCachingClient(Client delegate, int maxEntries, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        // Least recently used entry goes first once the cache is full.
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = counter(meterRegistry, "hit");
+        this.revalidations = counter(meterRegistry, "revalidated");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+        String key = request.url();
+        CachedResponse cached = get(key);
+        long now = clock.millis();
+        if (cached != null && now < cached.freshUntil()) {
+            hits.increment();
+            return cached.toResponse(request);
+        }
+        Request sent = cached != null && cached.etag() != null ? conditional(request, cached) : request;
+        Response response = delegate.execute(sent, options);
+        if (response.status() == 304 && cached != null) {
+            revalidations.increment();
+            Util.ensureClosed(response.body());
+            CachedResponse refreshed = cached.refreshedBy(response.headers(), now);
+            store(key, refreshed);
+            return refreshed.toResponse(request);
+        }
+        misses.increment();
+        if (response.status() != 200) {
+            return response;
+        }
+        CacheDirectives directives = CacheDirectives.parse(header(response.headers(), CACHE_CONTROL));
+        if (directives.noStore() || directives.maxAgeSeconds() < 0) {
+            remove(key);
+            return response;
+        }
+        byte[] body;
+        try (InputStream stream = response.body() != null ? response.body().asInputStream() : InputStream.nullInputStream()) {
+            body = Util.toByteArray(stream);
+        }
+        CachedResponse stored = new CachedResponse(response.reason(), response.headers(), body,
+                header(response.headers(), ETAG), expiry(directives, response.headers(), now));
+        store(key, stored);
+        return stored.toResponse(request);
+    }
+
+    private static Request conditional(Request request, CachedResponse cached) {
+        Map<String, Collection<String>> headers = new HashMap<>(request.headers());
+        headers.put("If-None-Match", List.of(cached.etag()));
+        String lastModified = header(cached.headers(), LAST_MODIFIED);
+        if (lastModified != null) {
+            headers.put("If-Modified-Since", List.of(lastModified));
+        }
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    private static long expiry(CacheDirectives directives, Map<String, Collection<String>> headers, long now) {
+        if (directives.noCache()) {
+            return now;
+        }
+        String age = header(headers, AGE);
+        long ageSeconds = 0;
+        if (age != null) {
+            try {
+                ageSeconds = Long.parseLong(age.trim());
+            } catch (NumberFormatException ignored) {
+                // An unreadable Age is treated as a fresh response.
+            }
+        }
+        return now + Math.max(0, directives.maxAgeSeconds() - ageSeconds) * 1000;
+    }
+
+    private synchronized CachedResponse get(String key) {
+        return cache.get(key);
+    }
+
+    private synchronized void store(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    private synchronized void remove(String key) {
+        cache.remove(key);
+    }
+
+    private static String header(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (header.getKey() != null && header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("library.author-client.cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedResponse(String reason, Map<String, Collection<String>> headers, byte[] body,
+                                  String etag, long freshUntil) {
+
+        // A 304 carries the current validators and freshness, the stored body stays.
+        CachedResponse refreshedBy(Map<String, Collection<String>> notModifiedHeaders, long now) {
+            Map<String, Collection<String>> merged = new HashMap<>(headers);
+            notModifiedHeaders.forEach((name, values) -> {
+                if (name != null && !values.isEmpty()) {
+                    merged.keySet().removeIf(existing -> existing != null && existing.equalsIgnoreCase(name));
+                    merged.put(name, values);
+                }
+            });
+            CacheDirectives directives = CacheDirectives.parse(header(merged, CACHE_CONTROL));
+            String currentEtag = header(merged, ETAG);
+            return new CachedResponse(reason, merged, body, currentEtag != null ? currentEtag : etag,
+                    expiry(directives, notModifiedHeaders, now));
+        }
+
+        Response toResponse(Request request) {
+            return Response.builder()
+                    .status(200)
+                    .reason(reason)
+                    .headers(headers)
+                    .body(body)
+                    .request(request)
+                    .build();
+        }
+    }
+
+    private record CacheDirectives(long maxAgeSeconds, boolean noStore, boolean noCache) {
+
+        static CacheDirectives parse(String cacheControl) {
+            long maxAge = -1;
+            boolean noStore = false;
+            boolean noCache = false;
+            if (cacheControl != null) {
+                for (String directive : cacheControl.split(",")) {
+                    String value = directive.trim().toLowerCase();
+                    if (value.equals("no-store")) {
+                        noStore = true;
+                    } else if (value.equals("no-cache")) {
+                        noCache = true;
+                    } else if (value.startsWith("max-age=")) {
+                        try {
+                            maxAge = Long.parseLong(value.substring("max-age=".length()));
+                        } catch (NumberFormatException ignored) {
+                            // Without a readable max-age the response is not cached.
+                        }
+                    }
+                }
+            }
+            return new CacheDirectives(noCache && maxAge < 0 ? 0 : maxAge, noStore, noCache);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package task.library.config.groupcommit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.group-commit")
+public class GroupCommitProperties {
+
+    private boolean enabled = false;
+
+    private int maxBatchSize = 64;
+
+    private long maxDelayMs = 5;
+
+    private int queueCapacity = 10000;
+}
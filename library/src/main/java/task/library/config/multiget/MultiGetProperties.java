@@ -0,0 +1,17 @@
+package task.library.config.multiget;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.multi-get")
+public class MultiGetProperties {
+
+    // Ids one multi-get request may ask for.
+    private int maxIds = 1000;
+
+    // Ids per IN list; larger requests are split so no statement exceeds the database's parameter limits.
+    private int chunkSize = 500;
+}
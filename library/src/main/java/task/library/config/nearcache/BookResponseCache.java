@@ -0,0 +1,119 @@
+package task.library.config.nearcache;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Serialized {@code GET /api/books/{id}} bodies, one per book and {@code Accept} header, so a hit is
+ * copied to the response without loading the book or running Jackson. A render is stored under the
+ * version its book had when the render started; invalidating a book gives it a new version, so a body
+ * rendered while the book changed is dropped instead of cached. The least recently read books go once
+ * the bodies exceed {@code library.near-cache.response-max-bytes}.
+ */
+public class BookResponseCache {
+
+    public record CachedResponse(String contentType, byte[] body) {
+    }
+
+    private final BooleanSupplier fresh;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final int maxTrackedVersions;
+
+    // Access order, so iteration starts at the least recently read book.
+    private final LinkedHashMap<Long, Map<String, CachedResponse>> responses = new LinkedHashMap<>(16, 0.75f, true);
+    // Only books invalidated since the last reset; every other book is at the base version.
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final Map<Long, Instant> invalidatedAt = new HashMap<>();
+    // Every book not in invalidatedAt was last invalidated no later than this.
+    private Instant resetAt = Instant.EPOCH;
+    private long baseVersion;
+    private long lastVersion;
+    private long bytes;
+
+    public BookResponseCache(BooleanSupplier fresh, long maxBytes, int maxEntryBytes, int maxTrackedVersions) {
+        this.fresh = fresh;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxTrackedVersions = maxTrackedVersions;
+    }
+
+    public synchronized CachedResponse get(long bookId, String accept) {
+        if (!fresh.getAsBoolean()) {
+            return null;
+        }
+        Map<String, CachedResponse> bodies = responses.get(bookId);
+        return bodies != null ? bodies.get(accept) : null;
+    }
+
+    /**
+     * The version to pass to {@link #put} for a body rendered from now on.
+     */
+    public synchronized long version(long bookId) {
+        return versions.getOrDefault(bookId, baseVersion);
+    }
+
+    /**
+     * When the book was last invalidated, or a later instant when that is no longer tracked. A render
+     * that reads a replica may only be stored if the replica had caught up with this when it started.
+     */
+    public synchronized Instant invalidatedAt(long bookId) {
+        return invalidatedAt.getOrDefault(bookId, resetAt);
+    }
+
+    public synchronized void put(long bookId, String accept, long version, String contentType, byte[] body) {
+        if (!fresh.getAsBoolean() || body.length > maxEntryBytes || version != version(bookId)) {
+            return;
+        }
+        CachedResponse previous = responses.computeIfAbsent(bookId, id -> new HashMap<>())
+                .put(accept, new CachedResponse(contentType, body));
+        bytes += body.length - (previous != null ? previous.body().length : 0);
+        Iterator<Map<String, CachedResponse>> leastRecentlyRead = responses.values().iterator();
+        while (bytes > maxBytes && leastRecentlyRead.hasNext()) {
+            bytes -= size(leastRecentlyRead.next());
+            leastRecentlyRead.remove();
+        }
+    }
+
+    public synchronized void invalidate(long bookId) {
+        Map<String, CachedResponse> removed = responses.remove(bookId);
+        if (removed != null) {
+            bytes -= size(removed);
+        }
+        versions.put(bookId, ++lastVersion);
+        invalidatedAt.put(bookId, Instant.now());
+        if (versions.size() > maxTrackedVersions) {
+            // Cached bodies stay valid; only renders already in flight lose their chance to be stored.
+            reset();
+        }
+    }
+
+    public synchronized void clear() {
+        responses.clear();
+        bytes = 0;
+        reset();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return responses.size();
+    }
+
+    private void reset() {
+        baseVersion = ++lastVersion;
+        versions.clear();
+        resetAt = Instant.now();
+        invalidatedAt.clear();
+    }
+
+    private static long size(Map<String, CachedResponse> bodies) {
+        return bodies.values().stream().mapToLong(response -> response.body().length).sum();
+    }
+}
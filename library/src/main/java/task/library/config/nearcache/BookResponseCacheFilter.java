@@ -0,0 +1,72 @@
+package task.library.config.nearcache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers {@code GET /api/books/{id}} from {@link BookResponseCache} and fills it from successful
+ * responses. Compression is applied by the container after this filter, so the cached bytes are
+ * the plain body and serve clients with or without gzip alike. With a read replica, a body is only
+ * stored if the replica already held the book's last change when the render started; otherwise a
+ * lagging replica could get a stale body cached under the current version.
+ */
+public class BookResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern BOOK_PATH = Pattern.compile("/api/books/(\\d{1,18})");
+
+    private final BookResponseCache cache;
+    private final Predicate<Instant> readsAreCaughtUpWith;
+
+    public BookResponseCacheFilter(BookResponseCache cache, Predicate<Instant> readsAreCaughtUpWith) {
+        this.cache = cache;
+        this.readsAreCaughtUpWith = readsAreCaughtUpWith;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || request.getQueryString() != null || bookId(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long bookId = bookId(request);
+        // The negotiated format only depends on Accept, so it is part of the key rather than re-negotiated.
+        String accept = Objects.requireNonNullElse(request.getHeader(HttpHeaders.ACCEPT), "");
+        BookResponseCache.CachedResponse cached = cache.get(bookId, accept);
+        if (cached != null) {
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+        long version = cache.version(bookId);
+        boolean cacheable = readsAreCaughtUpWith.test(cache.invalidatedAt(bookId));
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (cacheable && wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null) {
+                cache.put(bookId, accept, version, wrapper.getContentType(), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static Long bookId(HttpServletRequest request) {
+        Matcher matcher = BOOK_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,116 @@
+package task.library.config.nearcache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * An in-process cache that only answers while its invalidation feed is fresh, so a stalled feed
+ * degrades to reading through instead of serving stale data. A load parks a placeholder under its
+ * key; an eviction that lands while the value is being loaded removes the placeholder, and the
+ * loaded value, read before that change, is then returned but not cached. Once full, Caffeine's
+ * W-TinyLFU policy decides which books stay, so books that turn hot later still get in.
+ */
+public class CoherentCache implements Cache {
+
+    private final String name;
+    private final BooleanSupplier fresh;
+    private final ConcurrentMap<Object, Object> store;
+
+    public CoherentCache(String name, BooleanSupplier fresh, int maximumSize) {
+        this.name = name;
+        this.fresh = fresh;
+        // Evicts on the writing thread, so the bound holds as soon as a put returns.
+        this.store = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .executor(Runnable::run)
+                .build()
+                .asMap();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (!fresh.getAsBoolean()) {
+            return null;
+        }
+        Object value = store.get(key);
+        return value == null || value instanceof Loading ? null : new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper cached = get(key);
+        Object value = cached != null ? cached.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        Loading placeholder = new Loading();
+        boolean tracked = fresh.getAsBoolean() && store.putIfAbsent(key, placeholder) == null;
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            if (tracked) {
+                store.remove(key, placeholder);
+            }
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (tracked) {
+            if (value != null) {
+                store.replace(key, placeholder, value);
+            } else {
+                store.remove(key, placeholder);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null) {
+            store.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    private static final class Loading {
+    }
+}
@@ -0,0 +1,34 @@
+package task.library.config.nearcache;
+
+import jakarta.persistence.CacheRetrieveMode;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Gives the second-level cache the near-cache staleness bound: an entity manager opened while the
+ * invalidation feed is stale reads from the database, and what it reads refreshes the cache.
+ */
+public class EntityCacheFreshnessGate implements BeanPostProcessor {
+
+    // Fresh until the feed exists: the repositories open entity managers before it does, with nothing cached yet.
+    private volatile BooleanSupplier freshness = () -> true;
+
+    public void setFreshness(BooleanSupplier freshness) {
+        this.freshness = freshness;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+            entityManagerFactory.setEntityManagerInitializer(entityManager -> {
+                if (!freshness.getAsBoolean()) {
+                    entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+                }
+            });
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,79 @@
+package task.library.config.nearcache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import task.library.config.entitycache.EntityCacheEvictor;
+import task.library.monitoring.ReplicationLagTracker;
+import task.library.repository.ChangeEventRepository;
+
+import java.time.Instant;
+import java.util.function.Predicate;
+
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(prefix = "library.near-cache", name = "enabled", havingValue = "true")
+public class NearCacheConfiguration {
+
+    public static final String BOOKS = "books";
+    public static final String BOOK_RATINGS = "bookRatings";
+
+    @Bean
+    public NearCacheInvalidator nearCacheInvalidator(ChangeEventRepository changeEventRepository,
+                                                     NearCacheProperties properties, EntityCacheEvictor entityCacheEvictor,
+                                                     EntityCacheFreshnessGate entityCacheFreshnessGate,
+                                                     MeterRegistry meterRegistry) {
+        // Not a bean of its own: the replica routing injects its ReplicationLagTracker by type.
+        ReplicationLagTracker lagTracker = new ReplicationLagTracker();
+        Gauge.builder("library.near-cache.staleness", lagTracker,
+                        tracker -> tracker.getLagMs() == Long.MAX_VALUE ? Double.NaN : tracker.getLagMs())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        NearCacheInvalidator invalidator = new NearCacheInvalidator(changeEventRepository, properties, lagTracker, entityCacheEvictor);
+        entityCacheFreshnessGate.setFreshness(invalidator::isFresh);
+        return invalidator;
+    }
+
+    @Bean
+    public CacheManager cacheManager(NearCacheInvalidator nearCacheInvalidator) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(nearCacheInvalidator.getCaches());
+        return cacheManager;
+    }
+
+    @Bean
+    public FilterRegistrationBean<BookResponseCacheFilter> bookResponseCacheFilter(NearCacheInvalidator nearCacheInvalidator,
+                                                                                  ObjectProvider<ReplicationLagTracker> replicaLagTracker,
+                                                                                  MeterRegistry meterRegistry) {
+        BookResponseCache bookResponses = nearCacheInvalidator.getBookResponses();
+        Gauge.builder("library.near-cache.book-responses.size", bookResponses, BookResponseCache::getBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FilterRegistrationBean<BookResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new BookResponseCacheFilter(bookResponses, replicaCaughtUpWith(replicaLagTracker)));
+        registration.addUrlPatterns("/api/books/*");
+        // Ahead of the concurrency limit: a cached response costs next to nothing.
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    // The second-level cache is kept coherent by the same feed, so it gets the same staleness bound.
+    @Bean
+    public static EntityCacheFreshnessGate entityCacheFreshnessGate() {
+        return new EntityCacheFreshnessGate();
+    }
+
+    // Only the replica's tracker is a bean; without a replica every read is from the primary.
+    private static Predicate<Instant> replicaCaughtUpWith(ObjectProvider<ReplicationLagTracker> replicaLagTracker) {
+        ReplicationLagTracker tracker = replicaLagTracker.getIfAvailable();
+        return tracker != null ? tracker::isCaughtUpWith : invalidatedAt -> true;
+    }
+}
@@ -0,0 +1,166 @@
+package task.library.config.nearcache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.event.TransactionalEventListener;
+import task.library.config.entitycache.EntityCacheEvictor;
+import task.library.entity.ChangeEvent;
+import task.library.monitoring.ReplicationLagTracker;
+import task.library.repository.ChangeEventRepository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this instance's near-caches coherent with writes made by any instance. The shared change log
+ * is the invalidation bus: every tick the invalidator reads the events after its cursor, whose ids
+ * version the invalidations, and evicts the affected entries. Caches stop answering once the last
+ * completed poll is older than {@code library.near-cache.max-staleness-ms}.
+ */
+@Slf4j
+public class NearCacheInvalidator implements SmartLifecycle {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final NearCacheProperties properties;
+    private final ReplicationLagTracker lagTracker;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final CoherentCache books;
+    private final CoherentCache bookRatings;
+    private final BookResponseCache bookResponses;
+
+    // Event id to occurrence time of everything applied within the reorder window.
+    private final Map<Long, Instant> recentlyApplied = new HashMap<>();
+
+    private long cursor;
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public NearCacheInvalidator(ChangeEventRepository changeEventRepository, NearCacheProperties properties,
+                                ReplicationLagTracker lagTracker, EntityCacheEvictor entityCacheEvictor) {
+        this.changeEventRepository = changeEventRepository;
+        this.properties = properties;
+        this.lagTracker = lagTracker;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.books = new CoherentCache(NearCacheConfiguration.BOOKS, this::isFresh, properties.getMaximumSize());
+        this.bookRatings = new CoherentCache(NearCacheConfiguration.BOOK_RATINGS, this::isFresh, properties.getMaximumSize());
+        this.bookResponses = new BookResponseCache(this::isFresh, properties.getResponseMaxBytes(),
+                properties.getResponseMaxEntryBytes(), properties.getMaximumSize());
+    }
+
+    public List<CoherentCache> getCaches() {
+        return List.of(books, bookRatings);
+    }
+
+    public BookResponseCache getBookResponses() {
+        return bookResponses;
+    }
+
+    public boolean isFresh() {
+        return lagTracker.getLagMs() <= properties.getMaxStalenessMs();
+    }
+
+    @Override
+    public void start() {
+        // The caches start empty, so only changes committed from now on matter.
+        synchronized (this) {
+            cursor = changeEventRepository.findMaxId();
+        }
+        poll();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "near-cache-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::pollQuietly, properties.getPollIntervalMs(),
+                properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Applies every change event committed before the call started and returns how many were applied.
+     */
+    public synchronized int poll() {
+        Instant startedAt = Instant.now();
+        long compactedThrough = changeEventRepository.getCompactedThrough();
+        if (cursor < compactedThrough) {
+            log.warn("Near-cache cursor {} fell behind compaction at {}, clearing all caches", cursor, compactedThrough);
+            getCaches().forEach(CoherentCache::clear);
+            bookResponses.clear();
+            entityCacheEvictor.evictAll();
+            recentlyApplied.clear();
+            cursor = compactedThrough;
+        }
+        int applied = 0;
+        List<ChangeEvent> events;
+        do {
+            events = changeEventRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(properties.getBatchSize()));
+            for (ChangeEvent event : events) {
+                applied += apply(event);
+                cursor = event.getId();
+            }
+        } while (events.size() == properties.getBatchSize());
+        // Ids are taken before commit, so a lower id can become visible after a higher one was applied.
+        Instant windowStart = startedAt.minusMillis(properties.getReorderWindowMs());
+        for (ChangeEvent event : changeEventRepository.findByOccurredAtAfterAndIdLessThanEqual(windowStart, cursor)) {
+            applied += apply(event);
+        }
+        recentlyApplied.values().removeIf(occurredAt -> occurredAt.isBefore(windowStart));
+        lagTracker.caughtUp(startedAt, applied);
+        return applied;
+    }
+
+    /**
+     * Changes made by this instance are evicted as soon as they commit, without waiting for the next poll.
+     */
+    @TransactionalEventListener
+    public void onLocalChange(ChangeEvent event) {
+        evict(event);
+    }
+
+    private int apply(ChangeEvent event) {
+        if (recentlyApplied.putIfAbsent(event.getId(), event.getOccurredAt()) != null) {
+            return 0;
+        }
+        evict(event);
+        // The second-level cache is kept in step with local writes by Hibernate, it only needs the log for the rest.
+        entityCacheEvictor.evict(event);
+        return 1;
+    }
+
+    private void evict(ChangeEvent event) {
+        // A book is cached and rendered with its reviews, so their changes evict it as well.
+        if (event.getBookId() != null) {
+            books.evict(event.getBookId());
+            bookResponses.invalidate(event.getBookId());
+        }
+        // Ratings are an aggregate over all books, titles included.
+        bookRatings.clear();
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Near-cache invalidation poll failed, caches are now {} ms stale", lagTracker.getLagMs(), e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package task.library.config.nearcache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.near-cache")
+public class NearCacheProperties {
+
+    private boolean enabled = false;
+
+    private long pollIntervalMs = 100;
+
+    // A cached entry is only served while the last completed poll started at most this long ago.
+    private long maxStalenessMs = 1000;
+
+    // How late a change event may commit after it was written and still be picked up.
+    private long reorderWindowMs = 2000;
+
+    private int batchSize = 500;
+
+    private int maximumSize = 10000;
+
+    // Serialized book responses are bounded by their total size rather than their count.
+    private long responseMaxBytes = 32 * 1024 * 1024;
+
+    private int responseMaxEntryBytes = 1024 * 1024;
+}
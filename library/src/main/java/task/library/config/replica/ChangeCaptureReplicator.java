@@ -0,0 +1,254 @@
+package task.library.config.replica;
+
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.DefaultResourceLoader;
+import task.library.monitoring.ReplicationLagTracker;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the replica stand-in in sync with the primary. Triggers on the primary append the keys
+ * of changed rows to a log table; every tick the replicator re-reads those rows from the primary
+ * and upserts or deletes them on the replica, then removes the applied log entries.
+ */
+@Slf4j
+public class ChangeCaptureReplicator implements SmartLifecycle {
+
+    static final String LOG_TABLE = "replication_log";
+
+    // Parents first, so a snapshot never inserts a review before its book.
+    private static final List<String> TABLES = List.of("book", "review");
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaProperties properties;
+    private final ReplicationLagTracker lagTracker;
+    private final String changeLog;
+
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public ChangeCaptureReplicator(DataSource primary, DataSource replica, ReplicaProperties properties,
+                                   ReplicationLagTracker lagTracker, String changeLog) {
+        this.primary = primary;
+        this.replica = replica;
+        this.properties = properties;
+        this.lagTracker = lagTracker;
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public void start() {
+        try {
+            installChangeCapture();
+            migrateReplica();
+            snapshot();
+            int applied = replicate();
+            log.info("Replica initialized from a snapshot plus {} captured changes", applied);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not initialize the replica", e);
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-replication");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::replicateQuietly, properties.getReplicationIntervalMs(),
+                properties.getReplicationIntervalMs(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Applies every change committed before the call started and returns how many log entries were applied.
+     */
+    public synchronized int replicate() throws SQLException {
+        Instant startedAt = Instant.now();
+        int applied = 0;
+        List<Change> changes;
+        do {
+            changes = readChanges();
+            if (!changes.isEmpty()) {
+                apply(changes);
+                acknowledge(changes);
+                applied += changes.size();
+            }
+        } while (changes.size() == properties.getBatchSize());
+        lagTracker.caughtUp(startedAt, applied);
+        return applied;
+    }
+
+    private void replicateQuietly() {
+        try {
+            replicate();
+        } catch (Exception e) {
+            log.warn("Replication tick failed, replica lag is now {} ms", lagTracker.getLagMs(), e);
+        }
+    }
+
+    private void installChangeCapture() throws SQLException {
+        try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + LOG_TABLE + " ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "table_name VARCHAR(64) NOT NULL, "
+                    + "row_id BIGINT NOT NULL, "
+                    + "captured_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL)");
+            for (String table : TABLES) {
+                statement.execute("CREATE TRIGGER IF NOT EXISTS " + table + "_change_capture "
+                        + "AFTER INSERT, UPDATE, DELETE ON " + table + " FOR EACH ROW "
+                        + "CALL '" + ChangeCaptureTrigger.class.getName() + "'");
+            }
+        }
+    }
+
+    private void migrateReplica() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(replica);
+        liquibase.setChangeLog(changeLog);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    private void snapshot() throws SQLException {
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            // One repeatable-read transaction, so books and reviews come from the same point in time.
+            source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            source.setAutoCommit(false);
+            target.setAutoCommit(false);
+            try {
+                for (String table : TABLES) {
+                    try (Statement statement = source.createStatement();
+                         ResultSet rows = statement.executeQuery("SELECT * FROM " + table)) {
+                        while (rows.next()) {
+                            upsert(target, table, rows);
+                        }
+                    }
+                }
+                source.commit();
+                target.commit();
+            } catch (SQLException e) {
+                target.rollback();
+                throw e;
+            } finally {
+                source.setAutoCommit(true);
+                source.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            }
+        }
+    }
+
+    private List<Change> readChanges() throws SQLException {
+        List<Change> changes = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id, table_name, row_id FROM " + LOG_TABLE + " ORDER BY id LIMIT ?")) {
+            statement.setInt(1, properties.getBatchSize());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    changes.add(new Change(resultSet.getLong(1), resultSet.getString(2), resultSet.getLong(3)));
+                }
+            }
+        }
+        return changes;
+    }
+
+    private void apply(List<Change> changes) throws SQLException {
+        // Rows are re-read from the primary, so a row changed several times in a batch is applied once.
+        Set<RowKey> rows = new LinkedHashSet<>();
+        for (Change change : changes) {
+            rows.add(new RowKey(change.tableName(), change.rowId()));
+        }
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            target.setAutoCommit(false);
+            try {
+                for (RowKey row : rows) {
+                    try (PreparedStatement select = source.prepareStatement(
+                            "SELECT * FROM " + row.tableName() + " WHERE id = ?")) {
+                        select.setLong(1, row.rowId());
+                        try (ResultSet current = select.executeQuery()) {
+                            if (current.next()) {
+                                upsert(target, row.tableName(), current);
+                            } else {
+                                delete(target, row);
+                            }
+                        }
+                    }
+                }
+                target.commit();
+            } catch (SQLException e) {
+                target.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void acknowledge(List<Change> changes) throws SQLException {
+        // Log ids are not committed in order, so exactly the applied entries are removed rather than a range.
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM " + LOG_TABLE + " WHERE id = ?")) {
+            for (Change change : changes) {
+                statement.setLong(1, change.id());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void upsert(Connection target, String table, ResultSet row) throws SQLException {
+        ResultSetMetaData metaData = row.getMetaData();
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner placeholders = new StringJoiner(", ");
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnName(i));
+            placeholders.add("?");
+        }
+        try (PreparedStatement merge = target.prepareStatement(
+                "MERGE INTO " + table + " (" + columns + ") KEY (id) VALUES (" + placeholders + ")")) {
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                merge.setObject(i, row.getObject(i));
+            }
+            merge.executeUpdate();
+        }
+    }
+
+    private static void delete(Connection target, RowKey row) throws SQLException {
+        try (PreparedStatement delete = target.prepareStatement("DELETE FROM " + row.tableName() + " WHERE id = ?")) {
+            delete.setLong(1, row.rowId());
+            delete.executeUpdate();
+        }
+    }
+
+    private record Change(long id, String tableName, long rowId) {
+    }
+
+    private record RowKey(String tableName, long rowId) {
+    }
+}
@@ -0,0 +1,46 @@
+package task.library.config.replica;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Row trigger installed on the primary. It only records which row changed, inside the writing
+ * transaction, so the replicator sees a change exactly when it commits.
+ */
+public class ChangeCaptureTrigger implements Trigger {
+
+    private String tableName;
+    private int keyIndex;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        this.tableName = tableName.toLowerCase();
+        String keyColumn;
+        try (ResultSet keys = conn.getMetaData().getPrimaryKeys(null, schemaName, tableName)) {
+            if (!keys.next()) {
+                throw new SQLException("Table " + tableName + " has no primary key to capture changes by");
+            }
+            keyColumn = keys.getString("COLUMN_NAME");
+        }
+        try (ResultSet column = conn.getMetaData().getColumns(null, schemaName, tableName, keyColumn)) {
+            column.next();
+            keyIndex = column.getInt("ORDINAL_POSITION") - 1;
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        Object[] row = newRow != null ? newRow : oldRow;
+        try (PreparedStatement statement = conn.prepareStatement(
+                "INSERT INTO " + ChangeCaptureReplicator.LOG_TABLE + " (table_name, row_id) VALUES (?, ?)")) {
+            statement.setString(1, tableName);
+            statement.setObject(2, row[keyIndex]);
+            statement.executeUpdate();
+        }
+    }
+}
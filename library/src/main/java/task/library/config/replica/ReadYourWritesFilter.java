@@ -0,0 +1,75 @@
+package task.library.config.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import task.library.monitoring.ReplicationLagTracker;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pins a client to the primary from its last write until the replica has applied it. Clients are
+ * identified by a header, falling back to the remote address.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReplicationLagTracker lagTracker;
+    private final ReplicaProperties properties;
+    private final Map<String, Instant> lastWriteByClient = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(ReplicationLagTracker lagTracker, ReplicaProperties properties) {
+        this.lagTracker = lagTracker;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = clientId(request);
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write || mustReadFromPrimary(clientId)) {
+            ReplicaRoutingContext.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+            if (write) {
+                // Recorded after the chain, so the write has committed before this instant.
+                recordWrite(clientId);
+            }
+        }
+    }
+
+    private boolean mustReadFromPrimary(String clientId) {
+        Instant lastWrite = lastWriteByClient.get(clientId);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (lagTracker.isCaughtUpWith(lastWrite)) {
+            lastWriteByClient.remove(clientId, lastWrite);
+            return false;
+        }
+        return true;
+    }
+
+    private void recordWrite(String clientId) {
+        lastWriteByClient.put(clientId, Instant.now());
+        if (lastWriteByClient.size() > properties.getMaxTrackedClients()) {
+            lastWriteByClient.values().removeIf(lagTracker::isCaughtUpWith);
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String header = request.getHeader(properties.getClientIdHeader());
+        return header != null && !header.isBlank() ? header : request.getRemoteAddr();
+    }
+}
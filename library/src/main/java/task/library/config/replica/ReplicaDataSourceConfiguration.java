@@ -0,0 +1,81 @@
+package task.library.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import task.library.monitoring.ReplicationLagTracker;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "library.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        dataSource.setPoolName("library-replica-pool");
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicationLagTracker lagTracker, ReplicaProperties properties) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, lagTracker, properties.getMaxLagMs()));
+    }
+
+    @Bean
+    public ReplicationLagTracker replicationLagTracker(MeterRegistry meterRegistry) {
+        ReplicationLagTracker lagTracker = new ReplicationLagTracker();
+        Gauge.builder("library.replica.lag", lagTracker,
+                        tracker -> tracker.getLagMs() == Long.MAX_VALUE ? Double.NaN : tracker.getLagMs())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return lagTracker;
+    }
+
+    @Bean
+    public ChangeCaptureReplicator changeCaptureReplicator(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                           @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                           ReplicaProperties properties,
+                                                           ReplicationLagTracker lagTracker,
+                                                           @Value("${spring.liquibase.change-log}") String changeLog) {
+        return new ChangeCaptureReplicator(primaryDataSource, replicaDataSource, properties, lagTracker, changeLog);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicationLagTracker lagTracker,
+                                                                            ReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(lagTracker, properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
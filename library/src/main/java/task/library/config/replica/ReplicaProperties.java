@@ -0,0 +1,31 @@
+package task.library.config.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private String url = "jdbc:h2:mem:libdb-replica";
+
+    private String username = "sa";
+
+    private String password = "password";
+
+    private int maximumPoolSize = 10;
+
+    private long replicationIntervalMs = 200;
+
+    private int batchSize = 500;
+
+    private long maxLagMs = 5000;
+
+    private String clientIdHeader = "X-Client-Id";
+
+    private int maxTrackedClients = 10000;
+}
@@ -0,0 +1,42 @@
+package task.library.config.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import task.library.monitoring.ReplicationLagTracker;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica unless the current request has to read its own
+ * writes or the replica has fallen too far behind. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, otherwise the
+ * connection is fetched before the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicationLagTracker lagTracker;
+    private final long maxLagMs;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicationLagTracker lagTracker, long maxLagMs) {
+        this.lagTracker = lagTracker;
+        this.maxLagMs = maxLagMs;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReplicaRoutingContext.isPinnedToPrimary()
+                || lagTracker.getLagMs() > maxLagMs) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
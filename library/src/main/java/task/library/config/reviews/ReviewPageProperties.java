@@ -0,0 +1,15 @@
+package task.library.config.reviews;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.reviews.page")
+public class ReviewPageProperties {
+
+    private int defaultLimit = 20;
+
+    private int maxLimit = 100;
+}
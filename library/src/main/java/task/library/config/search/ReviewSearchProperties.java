@@ -0,0 +1,31 @@
+package task.library.config.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.search")
+public class ReviewSearchProperties {
+
+    // Directory of the review index on local disk; the index is kept in memory when unset.
+    private String indexPath;
+
+    private long refreshIntervalMs = 100;
+
+    private int defaultLimit = 20;
+
+    private int maxLimit = 100;
+
+    // Deepest hit reachable by offset paging, since every page re-collects the hits before it.
+    private int maxResultWindow = 1000;
+
+    // How often the change log is read for reviews written through other instances.
+    private long changePollIntervalMs = 500;
+
+    // How late a change event may commit after it was written and still be picked up.
+    private long reorderWindowMs = 2000;
+
+    private int changeBatchSize = 500;
+}
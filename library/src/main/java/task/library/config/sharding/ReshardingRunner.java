@@ -0,0 +1,51 @@
+package task.library.config.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs {@link ReviewResharder} when target urls are given, e.g.
+ * {@code --spring.main.web-application-type=none --library.sharding.reshard.target-urls=url1,url2,url3}.
+ * Sources default to the configured shards; pass the primary url as source to move reviews out
+ * of an unsharded database. The process exits once the job is done, since the schedulers would keep it alive.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReshardingRunner implements ApplicationRunner {
+
+    private final ShardingProperties properties;
+    private final JdbcTemplate primary;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ShardingProperties.Reshard reshard = properties.getReshard();
+        if (reshard.getTargetUrls().isEmpty()) {
+            return;
+        }
+        List<String> sourceUrls = reshard.getSourceUrls().isEmpty() ? properties.getUrls() : reshard.getSourceUrls();
+        log.info("Resharding reviews from {} to {}", sourceUrls, reshard.getTargetUrls());
+
+        ReviewResharder.Result result = new ReviewResharder(properties.getUsername(), properties.getPassword(),
+                reshard.getBatchSize()).reshard(sourceUrls, reshard.getTargetUrls());
+
+        // Moved-in reviews keep their ids, so new ids must start past all of them.
+        Long next = primary.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME = 'REVIEW_ID_SEQ'", Long.class);
+        if (next != null && next <= result.maxReviewId()) {
+            primary.execute("ALTER SEQUENCE review_id_seq RESTART WITH " + (result.maxReviewId() + 1));
+        }
+        log.info("Resharding done: {} reviews moved, {} already in place. Point library.sharding.urls at {}",
+                result.moved(), result.kept(), reshard.getTargetUrls());
+        System.exit(SpringApplication.exit(context));
+    }
+}
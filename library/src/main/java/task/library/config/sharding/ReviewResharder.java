@@ -0,0 +1,117 @@
+package task.library.config.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redistributes reviews from one shard layout to another. Every row is copied to the shard its
+ * book hashes to under the target layout, then removed from its source if that source is kept.
+ * Sources that are not part of the target layout are left untouched for decommissioning.
+ * Writes to reviews must be paused while this runs.
+ */
+@Slf4j
+public class ReviewResharder {
+
+    private static final String SELECT_PAGE = "SELECT id, rating, comment, book_id, created_at FROM review "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String MERGE_REVIEW = "MERGE INTO review (id, rating, comment, book_id, created_at) KEY (id) VALUES (?, ?, ?, ?, ?)";
+
+    private final String username;
+    private final String password;
+    private final int batchSize;
+
+    public ReviewResharder(String username, String password, int batchSize) {
+        this.username = username;
+        this.password = password;
+        this.batchSize = batchSize;
+    }
+
+    public Result reshard(List<String> sourceUrls, List<String> targetUrls) throws Exception {
+        Map<String, HikariDataSource> dataSources = new LinkedHashMap<>();
+        try {
+            List<JdbcTemplate> targets = new ArrayList<>();
+            for (String url : targetUrls) {
+                HikariDataSource dataSource = dataSources.computeIfAbsent(url, this::open);
+                ReviewShards.migrate(dataSource);
+                targets.add(new JdbcTemplate(dataSource));
+            }
+
+            long moved = 0;
+            long kept = 0;
+            // Rows copied into a source that is scanned later are already in place there and not counted again.
+            long[] movedInto = new long[targets.size()];
+            for (String sourceUrl : sourceUrls) {
+                JdbcTemplate source = new JdbcTemplate(dataSources.computeIfAbsent(sourceUrl, this::open));
+                int sourceIndex = targetUrls.indexOf(sourceUrl);
+                long sourceMoved = 0;
+                long inPlace = 0;
+                long after = Long.MIN_VALUE;
+                List<Object[]> page;
+                // One page in memory at a time, walked by id so moved rows can be deleted as it goes.
+                do {
+                    page = source.query(SELECT_PAGE, (resultSet, rowNum) -> new Object[]{resultSet.getLong(1),
+                            resultSet.getInt(2), resultSet.getString(3), resultSet.getLong(4),
+                            resultSet.getObject(5, OffsetDateTime.class)}, after, batchSize);
+                    List<List<Object[]>> pending = new ArrayList<>();
+                    targets.forEach(target -> pending.add(new ArrayList<>()));
+                    List<Object[]> movedIds = new ArrayList<>();
+                    for (Object[] row : page) {
+                        int targetIndex = ReviewShards.shardFor((Long) row[3], targets.size());
+                        if (targetIndex == sourceIndex) {
+                            inPlace++;
+                        } else {
+                            pending.get(targetIndex).add(row);
+                            movedIds.add(new Object[]{row[0]});
+                        }
+                    }
+                    for (int i = 0; i < targets.size(); i++) {
+                        if (!pending.get(i).isEmpty()) {
+                            targets.get(i).batchUpdate(MERGE_REVIEW, pending.get(i));
+                            movedInto[i] += pending.get(i).size();
+                        }
+                    }
+                    // Only deleted once their copies have been written; a rerun merges the copies again.
+                    if (sourceIndex >= 0 && !movedIds.isEmpty()) {
+                        source.batchUpdate("DELETE FROM review WHERE id = ?", movedIds);
+                    }
+                    sourceMoved += movedIds.size();
+                    if (!page.isEmpty()) {
+                        after = (Long) page.get(page.size() - 1)[0];
+                    }
+                } while (page.size() == batchSize);
+                long sourceKept = sourceIndex >= 0 ? inPlace - movedInto[sourceIndex] : inPlace;
+                if (sourceIndex < 0 && sourceMoved > 0) {
+                    log.info("Source {} is not part of the target layout and was left as is", sourceUrl);
+                }
+                log.info("Resharded {}: {} reviews moved, {} already in place", sourceUrl, sourceMoved, sourceKept);
+                moved += sourceMoved;
+                kept += sourceKept;
+            }
+
+            long maxId = 0;
+            for (JdbcTemplate target : targets) {
+                Long shardMaxId = target.queryForObject("SELECT MAX(id) FROM review", Long.class);
+                maxId = Math.max(maxId, shardMaxId == null ? 0 : shardMaxId);
+            }
+            return new Result(moved, kept, maxId);
+        } finally {
+            dataSources.values().forEach(HikariDataSource::close);
+        }
+    }
+
+    private HikariDataSource open(String url) {
+        HikariDataSource dataSource = ReviewShards.open(url, username, password);
+        dataSource.setPoolName("library-reshard-" + url.replaceAll("\\W", "-"));
+        return dataSource;
+    }
+
+    public record Result(long moved, long kept, long maxReviewId) {
+    }
+}
@@ -0,0 +1,95 @@
+package task.library.config.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The review shards, in shard order. Shard pools are owned here rather than registered as
+ * beans, so they never compete with the primary DataSource for auto-configuration.
+ */
+public class ReviewShards implements DisposableBean {
+
+    public static final String CHANGE_LOG = "classpath:db/changelog/shard/review-shard-changelog.yaml";
+
+    private final List<String> urls;
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<JdbcTemplate> templates = new ArrayList<>();
+
+    public ReviewShards(List<String> urls, String username, String password, int maximumPoolSize) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one review shard url is required");
+        }
+        this.urls = List.copyOf(urls);
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = open(urls.get(i), username, password);
+            dataSource.setPoolName("library-review-shard-" + i);
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSources.add(dataSource);
+            templates.add(new JdbcTemplate(dataSource));
+        }
+    }
+
+    public static HikariDataSource open(String url, String username, String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    public static void migrate(DataSource dataSource) throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(CHANGE_LOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    /**
+     * Fibonacci hashing spreads sequential book ids evenly instead of striping them across shards.
+     */
+    public static int shardFor(long bookId, int shardCount) {
+        long hash = bookId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(hash ^ (hash >>> 32), shardCount);
+    }
+
+    public void migrate() throws Exception {
+        for (DataSource dataSource : dataSources) {
+            migrate(dataSource);
+        }
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public JdbcTemplate forBook(long bookId) {
+        return templates.get(shardFor(bookId, templates.size()));
+    }
+
+    public JdbcTemplate get(int shard) {
+        return templates.get(shard);
+    }
+
+    public List<JdbcTemplate> all() {
+        return templates;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    @Override
+    public void destroy() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,18 @@
+package task.library.config.sharding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "library.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean
+    public ReviewShards reviewShards(ShardingProperties properties) throws Exception {
+        ReviewShards shards = new ReviewShards(properties.getUrls(), properties.getUsername(),
+                properties.getPassword(), properties.getMaximumPoolSize());
+        shards.migrate();
+        return shards;
+    }
+}
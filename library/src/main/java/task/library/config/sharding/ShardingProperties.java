@@ -0,0 +1,37 @@
+package task.library.config.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    private List<String> urls = new ArrayList<>();
+
+    private String username = "sa";
+
+    private String password = "password";
+
+    private int maximumPoolSize = 5;
+
+    private Reshard reshard = new Reshard();
+
+    @Getter
+    @Setter
+    public static class Reshard {
+
+        private List<String> sourceUrls = new ArrayList<>();
+
+        private List<String> targetUrls = new ArrayList<>();
+
+        private int batchSize = 500;
+    }
+}
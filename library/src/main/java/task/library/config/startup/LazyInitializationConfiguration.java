@@ -0,0 +1,23 @@
+package task.library.config.startup;
+
+import jakarta.persistence.EntityManagerFactory;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+@Configuration
+@Profile("prod")
+public class LazyInitializationConfiguration {
+
+    // Everything else is created on first use; the schema and the connection pool stay eager so a broken
+    // database still fails the boot instead of the first request.
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistenceBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, SpringLiquibase.class, EntityManagerFactory.class);
+    }
+}
@@ -0,0 +1,21 @@
+package task.library.config.startup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.startup")
+public class StartupProperties {
+
+    private String historyFile;
+
+    private int baselineWindow = 5;
+
+    private double regressionThresholdPercent = 20;
+
+    private boolean failOnRegression = false;
+
+    private boolean exitAfterReady = false;
+}
@@ -0,0 +1,95 @@
+package task.library.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Slf4j
+@Component
+public class StartupTimeRecorder implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final StartupProperties properties;
+    private final Environment environment;
+
+    public StartupTimeRecorder(StartupProperties properties, Environment environment) {
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long timeToReadyMs = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        String profiles = String.join("+", environment.getActiveProfiles());
+        String label = profiles.isEmpty() ? "default" : profiles;
+        log.info("Time to ready: {} ms (JVM start to ApplicationReadyEvent, profile {})", timeToReadyMs, label);
+
+        boolean regression = false;
+        if (properties.getHistoryFile() != null && !properties.getHistoryFile().isBlank()) {
+            Path historyFile = Path.of(properties.getHistoryFile());
+            try {
+                regression = checkRegression(historyFile, label, timeToReadyMs);
+                append(historyFile, label, timeToReadyMs);
+            } catch (IOException e) {
+                log.warn("Could not update startup history {}", historyFile, e);
+            }
+        }
+
+        if (properties.isExitAfterReady()) {
+            int exitCode = regression && properties.isFailOnRegression() ? 1 : 0;
+            System.exit(SpringApplication.exit(event.getApplicationContext(), () -> exitCode));
+        }
+    }
+
+    boolean checkRegression(Path historyFile, String label, long timeToReadyMs) throws IOException {
+        List<Long> previous = readHistory(historyFile, label);
+        if (previous.isEmpty()) {
+            return false;
+        }
+        List<Long> window = new ArrayList<>(previous.subList(Math.max(0, previous.size() - properties.getBaselineWindow()), previous.size()));
+        Collections.sort(window);
+        long baseline = window.get(window.size() / 2);
+        double limit = baseline * (1 + properties.getRegressionThresholdPercent() / 100);
+        if (timeToReadyMs > limit) {
+            log.warn("Startup regression: {} ms against a median of {} ms over the last {} runs (limit {} ms)",
+                    timeToReadyMs, baseline, window.size(), Math.round(limit));
+            return true;
+        }
+        return false;
+    }
+
+    private static List<Long> readHistory(Path historyFile, String label) throws IOException {
+        List<Long> times = new ArrayList<>();
+        if (!Files.exists(historyFile)) {
+            return times;
+        }
+        for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+            String[] columns = line.split(",");
+            if (columns.length == 3 && columns[1].equals(label)) {
+                times.add(Long.parseLong(columns[2].trim()));
+            }
+        }
+        return times;
+    }
+
+    private static void append(Path historyFile, String label, long timeToReadyMs) throws IOException {
+        if (historyFile.getParent() != null) {
+            Files.createDirectories(historyFile.getParent());
+        }
+        String line = Instant.now() + "," + label + "," + timeToReadyMs + System.lineSeparator();
+        Files.writeString(historyFile, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,38 @@
+package task.library.config.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) && this(repository)")
+    public Object observeRepositoryCall(ProceedingJoinPoint joinPoint, Object repository) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String repositoryName = repositoryName(repository);
+        return Observation.createNotStarted("library.repository", observationRegistry)
+                .contextualName(repositoryName + "." + signature.getName())
+                .lowCardinalityKeyValue("repository", repositoryName)
+                .lowCardinalityKeyValue("method", signature.getName())
+                .observeChecked(() -> joinPoint.proceed());
+    }
+
+    private static String repositoryName(Object repository) {
+        for (Class<?> type : repository.getClass().getInterfaces()) {
+            if (type.getPackageName().startsWith("task.library.repository")) {
+                return type.getSimpleName();
+            }
+        }
+        return repository.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,15 @@
+package task.library.config.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library.tracing")
+public class TracingProperties {
+
+    private int storeCapacity = 10000;
+
+    private int topN = 20;
+}
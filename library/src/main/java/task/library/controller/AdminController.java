@@ -0,0 +1,21 @@
+package task.library.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+import task.library.dto.SlowQueryResponse;
+import task.library.dto.TraceResponse;
+
+import java.util.List;
+
+public interface AdminController {
+
+    @Operation(summary = "Get the slowest normalized queries with their captured plans")
+    ResponseEntity<List<SlowQueryResponse>> getSlowQueries(@RequestParam(required = false) Integer limit);
+
+    @Operation(summary = "Clear the slow-query log")
+    ResponseEntity<Void> resetSlowQueries();
+
+    @Operation(summary = "Get the slowest recent traces recorded by this instance")
+    ResponseEntity<List<TraceResponse>> getSlowestTraces(@RequestParam(required = false) Integer limit);
+}
@@ -0,0 +1,58 @@
+package task.library.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import task.library.dto.SlowQueryResponse;
+import task.library.dto.TraceResponse;
+import task.library.exception.InvalidParameterException;
+import task.library.monitoring.SlowQueryRegistry;
+import task.library.monitoring.TraceStore;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class AdminControllerImpl implements AdminController {
+
+    private final SlowQueryRegistry slowQueryRegistry;
+    private final TraceStore traceStore;
+
+    @GetMapping("/slow-queries")
+    @Operation(summary = "Get the slowest normalized queries with their captured plans")
+    public ResponseEntity<List<SlowQueryResponse>> getSlowQueries(@RequestParam(required = false) Integer limit) {
+        List<SlowQueryResponse> slowQueries = limit != null
+                ? slowQueryRegistry.getSlowestQueries(checkLimit(limit))
+                : slowQueryRegistry.getSlowestQueries();
+        return ResponseEntity.ok(slowQueries);
+    }
+
+    @DeleteMapping("/slow-queries")
+    @Operation(summary = "Clear the slow-query log")
+    public ResponseEntity<Void> resetSlowQueries() {
+        slowQueryRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/traces")
+    @Operation(summary = "Get the slowest recent traces recorded by this instance")
+    public ResponseEntity<List<TraceResponse>> getSlowestTraces(@RequestParam(required = false) Integer limit) {
+        List<TraceResponse> traces = limit != null
+                ? traceStore.getSlowestTraces(checkLimit(limit))
+                : traceStore.getSlowestTraces();
+        return ResponseEntity.ok(traces);
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit < 1) {
+            throw new InvalidParameterException("limit", "Limit must be at least 1");
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,17 @@
+package task.library.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import task.library.dto.RatingAnalyticsResponse;
+
+public interface AnalyticsController {
+
+    @Operation(summary = "Get review rating statistics grouped by book author")
+    ResponseEntity<RatingAnalyticsResponse> getRatingsByAuthor();
+
+    @Operation(summary = "Get review rating statistics grouped by publication decade")
+    ResponseEntity<RatingAnalyticsResponse> getRatingsByDecade();
+
+    @Operation(summary = "Get review rating statistics grouped by number of available copies")
+    ResponseEntity<RatingAnalyticsResponse> getRatingsByAvailability();
+}
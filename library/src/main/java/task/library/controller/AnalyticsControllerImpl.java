@@ -0,0 +1,37 @@
+package task.library.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import task.library.dto.RatingAnalyticsResponse;
+import task.library.service.AnalyticsService;
+import task.library.service.RatingDimension;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/analytics/ratings")
+public class AnalyticsControllerImpl implements AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/by-author")
+    @Operation(summary = "Get review rating statistics grouped by book author")
+    public ResponseEntity<RatingAnalyticsResponse> getRatingsByAuthor() {
+        return ResponseEntity.ok(analyticsService.getRatingStatistics(RatingDimension.AUTHOR));
+    }
+
+    @GetMapping("/by-decade")
+    @Operation(summary = "Get review rating statistics grouped by publication decade")
+    public ResponseEntity<RatingAnalyticsResponse> getRatingsByDecade() {
+        return ResponseEntity.ok(analyticsService.getRatingStatistics(RatingDimension.DECADE));
+    }
+
+    @GetMapping("/by-availability")
+    @Operation(summary = "Get review rating statistics grouped by number of available copies")
+    public ResponseEntity<RatingAnalyticsResponse> getRatingsByAvailability() {
+        return ResponseEntity.ok(analyticsService.getRatingStatistics(RatingDimension.AVAILABILITY));
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import task.library.dto.BookDto;
 import task.library.dto.BookRequest;
 import task.library.dto.BookResponse;
+import task.library.dto.MultiGetResponse;
 import task.library.entity.Book;
 
 import java.util.List;
@@ -19,7 +20,10 @@ public interface BookController {
     ResponseEntity<Book> createBook(@RequestBody @Valid BookRequest book);
 
     @Operation(summary = "Retrieve all books (without reviews)")
-    ResponseEntity<List<BookResponse>> getAllBooks();
+    ResponseEntity<List<?>> getAllBooks(@RequestParam(required = false) String fields);
+
+    @Operation(summary = "Get many books by their IDs, in request order, with the IDs that were not found")
+    ResponseEntity<MultiGetResponse<BookResponse>> getBooksByIds(@RequestParam List<Long> ids);
 
     @Operation(summary = "Get a book by its ID")
     ResponseEntity<Book> getBookById(@PathVariable Long id);
@@ -36,6 +40,13 @@ public interface BookController {
     @Operation(summary = "Get books published after a specific year")
     public ResponseEntity<List<Book>> getBooksPublishedAfterYear(@RequestParam int year);
 
+    @Operation(summary = "Filter books by publication year range, available copies and author")
+    ResponseEntity<List<Book>> filterBooks(@RequestParam(required = false) Integer publishedFrom,
+                                           @RequestParam(required = false) Integer publishedTo,
+                                           @RequestParam(required = false) Integer minCopies,
+                                           @RequestParam(required = false) Integer maxCopies,
+                                           @RequestParam(required = false) String author);
+
     @Operation(summary = "Get all books with rating hire than four (Using SQL)")
     public ResponseEntity<List<Book>> getBooksWithHighRatingsSQL();
 
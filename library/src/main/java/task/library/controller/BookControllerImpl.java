@@ -12,11 +12,13 @@ import org.springframework.web.bind.annotation.RestController;
 import task.library.dto.BookRequest;
 import task.library.dto.BookResponse;
 import task.library.dto.BookDto;
+import task.library.dto.MultiGetResponse;
 import task.library.entity.Book;
 import task.library.mapper.BookMapper;
 import task.library.service.BookService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -36,7 +38,10 @@ public class BookControllerImpl implements BookController {
 
     @GetMapping
     @Operation(summary = "Retrieve all books (without reviews)")
-    public ResponseEntity<List<BookResponse>> getAllBooks() {
+    public ResponseEntity<List<?>> getAllBooks(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(bookService.getAllBooks(fields));
+        }
         List<Book> books = bookService.getAllBooks();
         List<BookResponse> bookResponses = books.stream()
                 .map(bookMapper::toBookResponse)
@@ -44,6 +49,13 @@ public class BookControllerImpl implements BookController {
         return ResponseEntity.ok(bookResponses);
     }
 
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get many books by their IDs, in request order, with the IDs that were not found")
+    public ResponseEntity<MultiGetResponse<BookResponse>> getBooksByIds(@RequestParam List<Long> ids) {
+        Map<Long, Book> books = bookService.getBooksByIds(ids);
+        return ResponseEntity.ok(MultiGetResponse.of(ids, books, (id, book) -> bookMapper.toBookResponse(book)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a book by its ID")
     public ResponseEntity<Book> getBookById(@PathVariable Long id) {
@@ -80,6 +92,16 @@ public class BookControllerImpl implements BookController {
         return ResponseEntity.ok(books);
     }
 
+    @GetMapping("/filter")
+    @Operation(summary = "Filter books by publication year range, available copies and author")
+    public ResponseEntity<List<Book>> filterBooks(@RequestParam(required = false) Integer publishedFrom,
+                                                  @RequestParam(required = false) Integer publishedTo,
+                                                  @RequestParam(required = false) Integer minCopies,
+                                                  @RequestParam(required = false) Integer maxCopies,
+                                                  @RequestParam(required = false) String author) {
+        return ResponseEntity.ok(bookService.filterBooks(publishedFrom, publishedTo, minCopies, maxCopies, author));
+    }
+
     @GetMapping("/high-ratings-sql")
     @Operation(summary = "Get all books with rating hire than four (Using SQL)")
     public ResponseEntity<List<Book>> getBooksWithHighRatingsSQL() {
@@ -0,0 +1,13 @@
+package task.library.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+import task.library.dto.ChangesResponse;
+
+public interface ChangeController {
+
+    @Operation(summary = "Get book and review changes after a cursor, oldest first")
+    ResponseEntity<ChangesResponse> getChanges(@RequestParam(required = false) Long since,
+                                               @RequestParam(required = false) Integer limit);
+}
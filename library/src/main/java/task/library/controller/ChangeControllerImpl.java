@@ -0,0 +1,26 @@
+package task.library.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import task.library.dto.ChangesResponse;
+import task.library.service.ChangeLogService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/changes")
+public class ChangeControllerImpl implements ChangeController {
+
+    private final ChangeLogService changeLogService;
+
+    @GetMapping
+    @Operation(summary = "Get book and review changes after a cursor, oldest first")
+    public ResponseEntity<ChangesResponse> getChanges(@RequestParam(required = false) Long since,
+                                                      @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(changeLogService.getChanges(since, limit));
+    }
+}
@@ -5,9 +5,14 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import task.library.dto.BookRatingResponse;
+import task.library.dto.BookReviewsResponse;
+import task.library.dto.MultiGetResponse;
+import task.library.dto.ReviewPageResponse;
 import task.library.dto.ReviewRequest;
 import task.library.dto.ReviewResponse;
+import task.library.dto.ReviewSearchResponse;
 
 import java.util.List;
 
@@ -18,7 +23,21 @@ public interface ReviewController {
             @PathVariable Long bookId, @RequestBody @Valid ReviewRequest reviewRequest);
 
     @Operation(summary = "Get all reviews for a specific book")
-    ResponseEntity<List<ReviewResponse>> getAllReviewsForBook(@PathVariable Long bookId);
+    ResponseEntity<List<?>> getAllReviewsForBook(@PathVariable Long bookId, @RequestParam(required = false) String fields);
+
+    @Operation(summary = "Search review comments, best match first, optionally within one book",
+            description = "Each instance searches its own index. Reviews written through another instance become "
+                    + "searchable once this one polls the change log, every library.search.change-poll-interval-ms.")
+    ResponseEntity<ReviewSearchResponse> searchReviews(@RequestParam String q, @RequestParam(required = false) Long bookId,
+                                                       @RequestParam(required = false) Integer offset,
+                                                       @RequestParam(required = false) Integer limit);
+
+    @Operation(summary = "Get the reviews of many books, in request order, with the book IDs that were not found")
+    ResponseEntity<MultiGetResponse<BookReviewsResponse>> getReviewsForBooks(@RequestParam List<Long> bookIds);
+
+    @Operation(summary = "Get one page of a book's reviews, newest first, with the book's total review count")
+    ResponseEntity<ReviewPageResponse> getReviewPage(@PathVariable Long bookId, @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit);
 
     @Operation(summary = "Update an existing review")
     ResponseEntity<ReviewResponse> updateReview(
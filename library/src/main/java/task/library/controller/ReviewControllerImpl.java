@@ -12,14 +12,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import task.library.dto.BookRatingResponse;
+import task.library.dto.BookReviewsResponse;
+import task.library.dto.MultiGetResponse;
+import task.library.dto.ReviewPageResponse;
 import task.library.dto.ReviewRequest;
 import task.library.dto.ReviewResponse;
+import task.library.dto.ReviewSearchResponse;
 import task.library.entity.Review;
 import task.library.mapper.ReviewMapper;
 import task.library.service.ReviewService;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -41,7 +47,10 @@ public class ReviewControllerImpl implements ReviewController {
 
     @GetMapping("/books/{bookId}")
     @Operation(summary = "Get all reviews for a specific book")
-    public ResponseEntity<List<ReviewResponse>> getAllReviewsForBook(@PathVariable Long bookId) {
+    public ResponseEntity<List<?>> getAllReviewsForBook(@PathVariable Long bookId, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(reviewService.getAllReviewsForBook(bookId, fields));
+        }
         List<Review> reviews = reviewService.getAllReviewsForBook(bookId);
         List<ReviewResponse> reviewResponses = reviews.stream()
                 .map(reviewMapper::toReviewResponse)
@@ -49,6 +58,29 @@ public class ReviewControllerImpl implements ReviewController {
         return ResponseEntity.ok(reviewResponses);
     }
 
+    @GetMapping("/books/{bookId}/page")
+    @Operation(summary = "Get one page of a book's reviews, newest first, with the book's total review count")
+    public ResponseEntity<ReviewPageResponse> getReviewPage(@PathVariable Long bookId, @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(reviewService.getReviewPage(bookId, cursor, limit));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search review comments, best match first, optionally within one book")
+    public ResponseEntity<ReviewSearchResponse> searchReviews(@RequestParam String q, @RequestParam(required = false) Long bookId,
+                                                              @RequestParam(required = false) Integer offset,
+                                                              @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(reviewService.searchReviews(q, bookId, offset, limit));
+    }
+
+    @GetMapping("/books")
+    @Operation(summary = "Get the reviews of many books, in request order, with the book IDs that were not found")
+    public ResponseEntity<MultiGetResponse<BookReviewsResponse>> getReviewsForBooks(@RequestParam List<Long> bookIds) {
+        Map<Long, List<Review>> reviews = reviewService.getReviewsForBooks(bookIds);
+        return ResponseEntity.ok(MultiGetResponse.of(bookIds, reviews, (bookId, bookReviews) -> new BookReviewsResponse(bookId,
+                bookReviews.stream().map(reviewMapper::toReviewResponse).toList())));
+    }
+
     @PutMapping("/{reviewId}")
     @Operation(summary = "Update an existing review")
     public ResponseEntity<ReviewResponse> updateReview(
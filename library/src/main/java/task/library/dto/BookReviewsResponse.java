@@ -0,0 +1,13 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BookReviewsResponse {
+    private Long bookId;
+    private List<ReviewResponse> reviews;
+}
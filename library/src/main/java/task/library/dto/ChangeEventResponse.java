@@ -0,0 +1,17 @@
+package task.library.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class ChangeEventResponse {
+    private Long id;
+    private String entityType;
+    private Long entityId;
+    private String operation;
+    private Long bookId;
+    private Instant occurredAt;
+}
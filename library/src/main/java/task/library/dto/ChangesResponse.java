@@ -0,0 +1,16 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ChangesResponse {
+    private List<ChangeEventResponse> changes;
+    private Long nextCursor;
+    private boolean hasMore;
+}
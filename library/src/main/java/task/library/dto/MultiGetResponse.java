@@ -0,0 +1,34 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+@Getter
+@AllArgsConstructor
+public class MultiGetResponse<T> {
+    private List<T> items;
+    private List<Long> missingIds;
+
+    /**
+     * Items in the order their ids were requested, and the requested ids that matched nothing.
+     */
+    public static <S, T> MultiGetResponse<T> of(List<Long> requestedIds, Map<Long, S> found, BiFunction<Long, S, T> mapper) {
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(requestedIds)) {
+            S value = found.get(id);
+            if (value != null) {
+                items.add(mapper.apply(id, value));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetResponse<>(items, missingIds);
+    }
+}
@@ -0,0 +1,29 @@
+package task.library.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * RFC 7807 problem details. Immutable, so constant problems can be built once and shared.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProblemResponse {
+
+    public static final String ABOUT_BLANK = "about:blank";
+
+    private final String type;
+    private final String title;
+    private final int status;
+    private final String detail;
+    // Field name to message, only for validation problems.
+    private final Map<String, String> errors;
+
+    public static ProblemResponse of(int status, String title, String detail) {
+        return new ProblemResponse(ABOUT_BLANK, title, status, detail, null);
+    }
+}
@@ -0,0 +1,19 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class RatingAnalyticsResponse {
+    private String groupedBy;
+    private List<RatingStatistics> groups;
+    private long reviewCount;
+    // When the snapshot the statistics were computed from was taken.
+    private Instant snapshotAt;
+}
@@ -0,0 +1,20 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class RatingStatistics {
+    private String group;
+    private long bookCount;
+    private long reviewCount;
+    // Absent for a group whose books have no reviews.
+    private Double mean;
+    private Double variance;
+    private Integer p50;
+    private Integer p90;
+    private Integer p99;
+}
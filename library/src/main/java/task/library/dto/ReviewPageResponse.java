@@ -0,0 +1,17 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ReviewPageResponse {
+    private List<ReviewResponse> reviews;
+    // Absent on the last page.
+    private String nextCursor;
+    private long totalCount;
+}
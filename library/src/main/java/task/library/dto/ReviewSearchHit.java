@@ -0,0 +1,21 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSearchHit {
+    private Long id;
+    private Long bookId;
+    private int rating;
+    private String comment;
+    private Instant createdAt;
+    private float score;
+}
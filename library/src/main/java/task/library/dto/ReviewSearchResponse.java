@@ -0,0 +1,18 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ReviewSearchResponse {
+    // Best match first.
+    private List<ReviewSearchHit> hits;
+    // Absent on the last page.
+    private Integer nextOffset;
+    private long totalHits;
+}
@@ -0,0 +1,24 @@
+package task.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class SlowQueryResponse {
+    private String normalizedSql;
+    private long count;
+    private long maxElapsedMs;
+    private double averageElapsedMs;
+    private long totalElapsedMs;
+    private List<String> lastParameters;
+    private long lastRowCount;
+    private String plan;
+    private Instant firstSeen;
+    private Instant lastSeen;
+}
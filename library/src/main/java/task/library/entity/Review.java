@@ -6,15 +6,20 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.persistence.*;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
 @Entity
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Review {
 
     @Id
@@ -27,6 +32,8 @@ public class Review {
     @Max(value = 5, message = "Rating must be at most 5")
     private Integer rating;
 
+    // TEXT in the Liquibase schema, which ddl-auto=validate checks the mapping against.
+    @Lob
     private String comment;
 
     @ManyToOne
@@ -34,11 +41,30 @@ public class Review {
     @JsonBackReference
     private Book book;
 
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
     public Review(Long id, Integer rating, String comment) {
         this.id = id;
         this.rating = rating;
         this.comment = comment;
     }
 
+    public Review(Long id, Integer rating, String comment, Book book) {
+        this(id, rating, comment);
+        this.book = book;
+    }
+
+    // Microseconds are what the column keeps, so a value read back compares equal to the one written.
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = now();
+        }
+    }
 
 }
\ No newline at end of file
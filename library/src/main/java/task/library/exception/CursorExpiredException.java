@@ -0,0 +1,13 @@
+package task.library.exception;
+
+public class CursorExpiredException extends RuntimeException {
+    public CursorExpiredException(String message) {
+        super(message, null, false, false);
+    }
+
+    public static CursorExpiredException compacted(Long since, long compactedThrough) {
+        String message = "Changes up to " + compactedThrough + " were compacted, cursor " + since + " can not be resumed; "
+                + "re-read the catalog and continue from the latest cursor";
+        return new CursorExpiredException(message);
+    }
+}
@@ -2,79 +2,101 @@ package task.library.exception;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import task.library.config.errors.ErrorResponseProperties;
+import task.library.dto.ProblemResponse;
+
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
+// Registered here as well, so web slice tests that only load the advice still get the properties.
+@EnableConfigurationProperties(ErrorResponseProperties.class)
 public class GlobalExceptionHandler {
 
+    private static final String VALIDATION_FAILED = "Validation failed";
+
+    private final ErrorResponseProperties properties;
+
     @ExceptionHandler(NotFoundException.class)
-    public ResponseEntity<Map<String, String>> handleNotFoundException(NotFoundException e) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Not Found");
-        errorResponse.put("message", e.getMessage());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    public ResponseEntity<?> handleNotFoundException(NotFoundException e) {
+        if (e.isEmptyResult() && properties.isEmptyListAsOk()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return problem(HttpStatus.NOT_FOUND, e.getProblem());
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, String>> handleValidationException(MethodArgumentNotValidException e) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Validation Failed");
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<ProblemResponse> handleCursorExpiredException(CursorExpiredException e) {
+        return problem(HttpStatus.GONE, e.getMessage());
+    }
 
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ProblemResponse> handleValidationException(MethodArgumentNotValidException e) {
+        Map<String, String> errors = new HashMap<>();
         e.getBindingResult().getAllErrors().forEach(error -> {
             String fieldName = ((FieldError) error).getField();
             String message = error.getDefaultMessage();
-            errorResponse.put(fieldName, message);
+            errors.put(fieldName, message);
         });
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return validationProblem(errors);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<Map<String, String>> handleConstraintViolationException(ConstraintViolationException e) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Validation Failed");
-
+    public ResponseEntity<ProblemResponse> handleConstraintViolationException(ConstraintViolationException e) {
+        Map<String, String> errors = new HashMap<>();
         for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
             String fieldName = violation.getPropertyPath().toString();
             String message = violation.getMessage();
-            errorResponse.put(fieldName, message);
+            errors.put(fieldName, message);
         }
+        return validationProblem(errors);
+    }
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    @ExceptionHandler(InvalidParameterException.class)
+    public ResponseEntity<ProblemResponse> handleInvalidParameterException(InvalidParameterException e) {
+        return validationProblem(Map.of(e.getParameter(), e.getMessage()));
     }
 
     @ExceptionHandler(MissingServletRequestParameterException.class)
-    public ResponseEntity<Map<String, String>> handleMissingServletRequestParameterException(MissingServletRequestParameterException e) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Bad Request");
-        errorResponse.put("message", "Missing required parameter: " + e.getParameterName());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    public ResponseEntity<ProblemResponse> handleMissingServletRequestParameterException(MissingServletRequestParameterException e) {
+        return problem(HttpStatus.BAD_REQUEST, "Missing required parameter: " + e.getParameterName());
     }
 
     @ExceptionHandler(IOException.class)
-    public ResponseEntity<Map<String, String>> handleIOException(IOException e) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Internal Server Error");
-        errorResponse.put("message", "An I/O error occurred: " + e.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    public ResponseEntity<ProblemResponse> handleIOException(IOException e) {
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, "An I/O error occurred: " + e.getMessage());
     }
 
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, String>> handleException(Exception e) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Internal Server Error");
-        errorResponse.put("message", e.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    public ResponseEntity<ProblemResponse> handleException(Exception e) {
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+    }
+
+    private static ResponseEntity<ProblemResponse> validationProblem(Map<String, String> errors) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        return problem(status, new ProblemResponse(ProblemResponse.ABOUT_BLANK, status.getReasonPhrase(),
+                status.value(), VALIDATION_FAILED, errors));
     }
-}
 
+    private static ResponseEntity<ProblemResponse> problem(HttpStatus status, String detail) {
+        return problem(status, ProblemResponse.of(status.value(), status.getReasonPhrase(), detail));
+    }
+
+    private static ResponseEntity<ProblemResponse> problem(HttpStatus status, ProblemResponse body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(body);
+    }
+}
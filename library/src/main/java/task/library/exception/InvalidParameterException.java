@@ -0,0 +1,15 @@
+package task.library.exception;
+
+public class InvalidParameterException extends RuntimeException {
+
+    private final String parameter;
+
+    public InvalidParameterException(String parameter, String message) {
+        super(message, null, false, false);
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+}
@@ -1,57 +1,88 @@
 package task.library.exception;
 
+import task.library.dto.ProblemResponse;
+
+/**
+ * Stackless: thrown for expected outcomes such as unknown ids, where a stack trace is never read but
+ * filling it in is the most expensive part of the error path. Exceptions with a constant message are
+ * allocated once and rethrown.
+ */
 public class NotFoundException extends RuntimeException {
+
+    private static final NotFoundException BOOKS = emptyResult("Books not found");
+    private static final NotFoundException ANY_RATING = emptyResult("No book has a rating");
+    private static final NotFoundException HIGH_RATING = emptyResult("No book has a rating hire than Four");
+    private static final NotFoundException AUTHOR = new NotFoundException("Author not found");
+    private static final NotFoundException FILTERED_BOOKS = emptyResult("No books match the filter");
+
+    private final boolean emptyResult;
+    private final ProblemResponse problem;
+
     public NotFoundException(String message) {
-        super(message);
+        this(message, false);
+    }
+
+    private NotFoundException(String message, boolean emptyResult) {
+        super(message, null, false, false);
+        this.emptyResult = emptyResult;
+        this.problem = ProblemResponse.of(404, "Not Found", message);
+    }
+
+    /**
+     * Whether the lookup was for a list that came back empty, rather than for a missing resource.
+     */
+    public boolean isEmptyResult() {
+        return emptyResult;
+    }
+
+    public ProblemResponse getProblem() {
+        return problem;
     }
 
     public static NotFoundException notFoundBook(Long bookId) {
-        String message = String.format("Book with ID %d not found", bookId);
-        return new NotFoundException(message);
+        return new NotFoundException("Book with ID " + bookId + " not found");
     }
 
     public static NotFoundException notFoundBooks() {
-        String message = "Books not found";
-        return new NotFoundException(message);
+        return BOOKS;
     }
 
     public static NotFoundException notFoundReview(Long reviewId) {
-        String message = String.format("Review with ID %d not found", reviewId);
-        return new NotFoundException(message);
+        return new NotFoundException("Review with ID " + reviewId + " not found");
     }
 
     public static NotFoundException notFoundReviewsForBook(Long bookId) {
-        String message = String.format("Reviews for book with ID %d not found", bookId);
-        return new NotFoundException(message);
+        return emptyResult("Reviews for book with ID " + bookId + " not found");
     }
 
     public static NotFoundException notFoundBooksByTitleOrAuthor(String title, String author) {
         String titleMessage = (title != null) ? title : "Unknown title";
         String authorMessage = (author != null) ? author : "Unknown author";
 
-        String message = String.format("No books found for the given title '%s' or author '%s'", titleMessage, authorMessage);
-        return new NotFoundException(message);
+        return emptyResult("No books found for the given title '" + titleMessage + "' or author '" + authorMessage + "'");
     }
 
     public static NotFoundException notFoundBooksAfterYear(int year) {
-        String message = String.format("Book after %d year wasn't published", year);
-        return new NotFoundException(message);
+        return emptyResult("Book after " + year + " year wasn't published");
+    }
+
+    public static NotFoundException notFoundBooksForFilter() {
+        return FILTERED_BOOKS;
     }
 
     public static NotFoundException notFoundAnyRatingForAnyBook() {
-        String message = "No book has a rating";
-        return new NotFoundException(message);
+        return ANY_RATING;
     }
 
     public static NotFoundException notFoundBookWithHighRating() {
-        String message = "No book has a rating hire than Four";
-        return new NotFoundException(message);
+        return HIGH_RATING;
     }
 
     public static NotFoundException authorNotFoundException() {
-        String message = "Author not found";
-        return new NotFoundException(message);
+        return AUTHOR;
     }
 
+    private static NotFoundException emptyResult(String message) {
+        return new NotFoundException(message, true);
+    }
 }
-
@@ -0,0 +1,11 @@
+package task.library.mapper;
+
+import org.mapstruct.Mapper;
+import task.library.dto.ChangeEventResponse;
+import task.library.entity.ChangeEvent;
+
+@Mapper(componentModel = "spring")
+public interface ChangeEventMapper {
+
+    ChangeEventResponse toChangeEventResponse(ChangeEvent changeEvent);
+}
@@ -0,0 +1,47 @@
+package task.library.monitoring;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lag is measured from the start of the last replication pass that drained the change log:
+ * everything committed before that instant is known to be on the replica.
+ */
+public class ReplicationLagTracker {
+
+    private final Clock clock;
+    private final LongAdder appliedChanges = new LongAdder();
+
+    private volatile Instant caughtUpAt;
+
+    public ReplicationLagTracker() {
+        this(Clock.systemUTC());
+    }
+
+    public ReplicationLagTracker(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void caughtUp(Instant passStartedAt, int applied) {
+        appliedChanges.add(applied);
+        caughtUpAt = passStartedAt;
+    }
+
+    public long getLagMs() {
+        Instant current = caughtUpAt;
+        if (current == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, clock.millis() - current.toEpochMilli());
+    }
+
+    public boolean isCaughtUpWith(Instant writtenAt) {
+        Instant current = caughtUpAt;
+        return current != null && current.isAfter(writtenAt);
+    }
+
+    public long getAppliedChanges() {
+        return appliedChanges.sum();
+    }
+}
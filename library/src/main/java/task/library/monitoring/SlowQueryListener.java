@@ -0,0 +1,111 @@
+package task.library.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+import task.library.config.datasource.SlowQueryProperties;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class SlowQueryListener extends JdbcLifecycleEventListenerAdapter {
+
+    private final SlowQueryProperties properties;
+    private final SlowQueryRegistry registry;
+    private final Map<ResultSetKey, PendingRowCount> pendingRowCounts = new ConcurrentHashMap<>();
+
+    public SlowQueryListener(SlowQueryProperties properties, SlowQueryRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!execInfo.isSuccess() || execInfo.getElapsedTime() < properties.getThresholdMs()) {
+            return;
+        }
+        Object result = execInfo.getResult();
+        long rowCount = updateCount(result);
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            List<ParameterSetOperation> parameters = parametersList.isEmpty()
+                    ? List.of()
+                    : parametersList.get(parametersList.size() - 1);
+            SlowQueryStats stats = registry.record(execInfo.getDataSourceName(), queryInfo.getQuery(), execInfo.getElapsedTime(), parameters, rowCount);
+            if (stats != null && result instanceof ResultSet) {
+                // Rows of a select are only known once the caller has iterated the result set.
+                pendingRowCounts.put(new ResultSetKey(result), new PendingRowCount(stats));
+            }
+        }
+    }
+
+    @Override
+    public void afterNext(MethodExecutionContext executionContext) {
+        if (pendingRowCounts.isEmpty() || !Boolean.TRUE.equals(executionContext.getResult())) {
+            return;
+        }
+        PendingRowCount pending = pendingRowCounts.get(new ResultSetKey(executionContext.getProxy()));
+        if (pending != null) {
+            pending.rows.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void afterClose(MethodExecutionContext executionContext) {
+        if (pendingRowCounts.isEmpty() || !(executionContext.getTarget() instanceof ResultSet)) {
+            return;
+        }
+        PendingRowCount pending = pendingRowCounts.remove(new ResultSetKey(executionContext.getProxy()));
+        if (pending != null) {
+            pending.stats.setLastRowCount(pending.rows.get());
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    private record PendingRowCount(SlowQueryStats stats, AtomicLong rows) {
+        PendingRowCount(SlowQueryStats stats) {
+            this(stats, new AtomicLong());
+        }
+    }
+
+    private static final class ResultSetKey {
+        private final Object resultSet;
+
+        private ResultSetKey(Object resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ResultSetKey other && other.resultSet == resultSet;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(resultSet);
+        }
+    }
+}
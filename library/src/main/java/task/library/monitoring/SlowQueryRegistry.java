@@ -0,0 +1,154 @@
+package task.library.monitoring;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+import task.library.config.datasource.SlowQueryProperties;
+import task.library.dto.SlowQueryResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class SlowQueryRegistry {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SlowQueryProperties properties;
+    private final Map<String, SlowQueryStats> statsBySql = new ConcurrentHashMap<>();
+    private final ExecutorService planExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, DataSource> planDataSources = new ConcurrentHashMap<>();
+
+    public SlowQueryRegistry(SlowQueryProperties properties) {
+        this.properties = properties;
+    }
+
+    public void setPlanDataSource(String dataSourceName, DataSource planDataSource) {
+        planDataSources.putIfAbsent(dataSourceName, planDataSource);
+    }
+
+    public SlowQueryStats record(String dataSourceName, String sql, long elapsedMs,
+                                 List<ParameterSetOperation> parameters, long rowCount) {
+        String normalizedSql = normalize(sql);
+        SlowQueryStats stats = statsBySql.get(normalizedSql);
+        if (stats == null) {
+            if (statsBySql.size() >= properties.getMaxTracked()) {
+                return null;
+            }
+            stats = statsBySql.computeIfAbsent(normalizedSql, SlowQueryStats::new);
+        }
+        stats.record(elapsedMs, describe(parameters), rowCount);
+        log.warn("Slow query ({} ms): {}", elapsedMs, normalizedSql);
+
+        DataSource planDataSource = planDataSources.get(dataSourceName);
+        if (properties.isCapturePlans() && planDataSource != null && stats.requestPlan()) {
+            SlowQueryStats target = stats;
+            planExecutor.execute(() -> target.setPlan(explain(planDataSource, sql, parameters)));
+        }
+        return stats;
+    }
+
+    public List<SlowQueryResponse> getSlowestQueries() {
+        return getSlowestQueries(properties.getTopN());
+    }
+
+    public List<SlowQueryResponse> getSlowestQueries(int limit) {
+        return statsBySql.values().stream()
+                .sorted(Comparator.comparingLong((SlowQueryStats stats) -> stats.getMaxElapsedMs().get()).reversed())
+                .limit(limit)
+                .map(SlowQueryRegistry::toResponse)
+                .toList();
+    }
+
+    public void reset() {
+        statsBySql.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        planExecutor.shutdownNow();
+    }
+
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private List<String> describe(List<ParameterSetOperation> parameters) {
+        return parameters.stream()
+                .filter(operation -> operation.getArgs().length > 1 && operation.getArgs()[0] instanceof Integer)
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> describe(operation.getArgs()[1]))
+                .toList();
+    }
+
+    private String describe(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (properties.isRedactParameters()) {
+            return "<" + value.getClass().getSimpleName() + ">";
+        }
+        return String.valueOf(value);
+    }
+
+    private String explain(DataSource planDataSource, String sql, List<ParameterSetOperation> parameters) {
+        String trimmed = sql.trim().toLowerCase(Locale.ROOT);
+        // EXPLAIN ANALYZE executes the statement, so only reads are analyzed; writes get the estimated plan.
+        String prefix = trimmed.startsWith("select") || trimmed.startsWith("with") ? "EXPLAIN ANALYZE " : "EXPLAIN ";
+        try (Connection connection = planDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+            for (ParameterSetOperation operation : parameters) {
+                operation.getMethod().invoke(statement, operation.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().trim();
+        } catch (Exception e) {
+            log.debug("Could not capture plan for {}", sql, e);
+            return "unavailable: " + e.getMessage();
+        }
+    }
+
+    private static SlowQueryResponse toResponse(SlowQueryStats stats) {
+        long count = stats.getCount().sum();
+        long total = stats.getTotalElapsedMs().sum();
+        return new SlowQueryResponse(
+                stats.getNormalizedSql(),
+                count,
+                stats.getMaxElapsedMs().get(),
+                count == 0 ? 0 : (double) total / count,
+                total,
+                stats.getLastParameters(),
+                stats.getLastRowCount(),
+                stats.getPlan(),
+                stats.getFirstSeen(),
+                stats.getLastSeen());
+    }
+}
@@ -0,0 +1,50 @@
+package task.library.monitoring;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+public class SlowQueryStats {
+
+    private final String normalizedSql;
+    private final Instant firstSeen = Instant.now();
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalElapsedMs = new LongAdder();
+    private final AtomicLong maxElapsedMs = new AtomicLong();
+    private final AtomicBoolean planRequested = new AtomicBoolean();
+
+    private volatile Instant lastSeen = firstSeen;
+    private volatile List<String> lastParameters = List.of();
+    private volatile long lastRowCount = -1;
+    private volatile String plan;
+
+    SlowQueryStats(String normalizedSql) {
+        this.normalizedSql = normalizedSql;
+    }
+
+    void record(long elapsedMs, List<String> parameters, long rowCount) {
+        count.increment();
+        totalElapsedMs.add(elapsedMs);
+        maxElapsedMs.accumulateAndGet(elapsedMs, Math::max);
+        lastSeen = Instant.now();
+        lastParameters = parameters;
+        lastRowCount = rowCount;
+    }
+
+    void setLastRowCount(long rowCount) {
+        this.lastRowCount = rowCount;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+    boolean requestPlan() {
+        return planRequested.compareAndSet(false, true);
+    }
+}
@@ -1,20 +1,43 @@
 package task.library.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import task.library.entity.Book;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+    // Served from the query cache until a book is written.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Book> findByTitleOrAuthor(String title, String author);
 
+    @Query(value = "SELECT review_count FROM book WHERE id = :bookId", nativeQuery = true)
+    Optional<Long> findReviewCount(@Param("bookId") Long bookId);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     @Query(value = "SELECT * FROM book WHERE publication_year > :year", nativeQuery = true)
     List<Book> findBooksPublishedAfterYear(@Param("year") int year);
 
+    @Query("SELECT b FROM Book b WHERE (:publishedFrom IS NULL OR b.publicationYear >= :publishedFrom) " +
+            "AND (:publishedTo IS NULL OR b.publicationYear <= :publishedTo) " +
+            "AND (:minCopies IS NULL OR b.availableCopies >= :minCopies) " +
+            "AND (:maxCopies IS NULL OR b.availableCopies <= :maxCopies) " +
+            "AND (:author IS NULL OR b.author = :author) " +
+            "ORDER BY b.id")
+    List<Book> filterBooks(@Param("publishedFrom") Integer publishedFrom, @Param("publishedTo") Integer publishedTo,
+                           @Param("minCopies") Integer minCopies, @Param("maxCopies") Integer maxCopies,
+                           @Param("author") String author);
+
     @Query(value = "SELECT b.* FROM book b " +
             "JOIN review r ON b.id = r.book_id " +
             "GROUP BY b.id " +
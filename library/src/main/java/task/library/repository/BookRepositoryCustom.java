@@ -0,0 +1,8 @@
+package task.library.repository;
+
+public interface BookRepositoryCustom {
+
+    int addToReviewCount(Long bookId, long delta);
+
+    int deleteBookById(Long id);
+}
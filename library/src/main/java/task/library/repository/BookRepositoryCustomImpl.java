@@ -0,0 +1,46 @@
+package task.library.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import task.library.entity.Review;
+
+import java.util.List;
+
+/**
+ * review_count is kept by the review write paths rather than mapped on Book, so book updates never
+ * overwrite it. The update goes through JDBC in the caller's transaction: as a native JPA query Hibernate
+ * could not tell which cached data it touches and would empty the whole second-level cache on every review.
+ * Book deletes go through JDBC for the same reason, and evict only the rows they removed.
+ */
+@RequiredArgsConstructor
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public int addToReviewCount(Long bookId, long delta) {
+        return jdbcTemplate.update("UPDATE book SET review_count = review_count + ? WHERE id = ?", delta, bookId);
+    }
+
+    // The reviews go first so their ids are known; left to the ON DELETE CASCADE key they would go unseen.
+    // The book itself is evicted on its change event.
+    @Override
+    public int deleteBookById(Long id) {
+        List<Long> reviewIds = jdbcTemplate.queryForList(
+                "SELECT id FROM OLD TABLE (DELETE FROM review WHERE book_id = ?)", Long.class, id);
+        int deleted = jdbcTemplate.update("DELETE FROM book WHERE id = ?", id);
+        if (!reviewIds.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reviewIds.forEach(reviewId -> entityManagerFactory.getCache().evict(Review.class, reviewId));
+                }
+            });
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,27 @@
+package task.library.repository;
+
+import task.library.entity.Book;
+
+/**
+ * Inclusive bounds on publication year and available copies, and an exact author; {@code null} leaves
+ * that field unconstrained.
+ */
+public record CatalogFilter(Integer publishedFrom, Integer publishedTo, Integer minCopies, Integer maxCopies, String author) {
+
+    public static CatalogFilter publishedAfter(int year) {
+        // No year is after the largest one.
+        return year == Integer.MAX_VALUE
+                ? new CatalogFilter(Integer.MAX_VALUE, Integer.MIN_VALUE, null, null, null)
+                : new CatalogFilter(year + 1, null, null, null, null);
+    }
+
+    public boolean matches(Book book) {
+        return within(book.getPublicationYear(), publishedFrom, publishedTo)
+                && within(book.getAvailableCopies(), minCopies, maxCopies)
+                && (author == null || author.equals(book.getAuthor()));
+    }
+
+    private static boolean within(Integer value, Integer from, Integer to) {
+        return value != null && (from == null || value >= from) && (to == null || value <= to);
+    }
+}
@@ -0,0 +1,280 @@
+package task.library.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import task.library.config.catalog.CatalogProperties;
+import task.library.entity.ChangeEvent;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The filterable fields of every book, column by column: ids, publication years, available copies and
+ * dictionary-encoded authors, in id order. Filters scan the columns in counted loops without branches
+ * and return only ids, which the caller loads in batches.
+ * <p>
+ * Book changes of this instance are applied once they commit; a rebuild every
+ * {@code library.catalog.rebuild-interval-ms} picks up the changes of other instances.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshot implements SmartLifecycle {
+
+    private static final String SELECT_BOOKS = "SELECT id, author, publication_year, available_copies FROM book";
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final CatalogProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Two changes to one book apply one after the other, so the later read always wins.
+    private final Object refreshMonitor = new Object();
+
+    private Columns columns;
+    // Books changed while a rebuild scans; it applies them again after replacing the columns.
+    private volatile Set<Long> changedDuringRebuild;
+    private ScheduledExecutorService rebuilder;
+    private volatile boolean running;
+
+    public CatalogSnapshot(CatalogProperties properties, JdbcTemplate jdbcTemplate) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Whether filters can be served from the snapshot; until then they go to the database.
+     */
+    public boolean isReady() {
+        return running;
+    }
+
+    /**
+     * Ids of the books matching the filter, ascending.
+     */
+    public long[] find(CatalogFilter filter) {
+        lock.readLock().lock();
+        try {
+            return columns.find(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.size : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        if (!running || event.getEntityType() != ChangeEvent.EntityType.BOOK) {
+            return;
+        }
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(event.getEntityId());
+        }
+        try {
+            refresh(event.getEntityId());
+        } catch (RuntimeException e) {
+            // The write itself has committed; the next rebuild repairs the snapshot.
+            log.warn("Could not apply {} of book {} to the catalog snapshot", event.getOperation(), event.getEntityId(), e);
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the books currently in the database.
+     */
+    public synchronized void rebuild() {
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        Columns fresh = new Columns(properties.isOffHeap());
+        jdbcTemplate.query(SELECT_BOOKS + " ORDER BY id", (RowCallbackHandler) resultSet -> fresh.append(
+                resultSet.getLong(1), resultSet.getString(2), resultSet.getInt(3), resultSet.getInt(4)));
+        Set<Long> changed;
+        lock.writeLock().lock();
+        try {
+            columns = fresh;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed.forEach(this::refresh);
+        log.debug("Catalog snapshot rebuilt with {} books", fresh.size);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuild();
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, properties.getRebuildIntervalMs(),
+                properties.getRebuildIntervalMs(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Catalog snapshot rebuild failed", e);
+        }
+    }
+
+    private void refresh(Long bookId) {
+        synchronized (refreshMonitor) {
+            List<Object[]> rows = jdbcTemplate.query(SELECT_BOOKS + " WHERE id = ?", (resultSet, rowNum) -> row(resultSet), bookId);
+            lock.writeLock().lock();
+            try {
+                if (rows.isEmpty()) {
+                    columns.remove(bookId);
+                } else {
+                    Object[] row = rows.get(0);
+                    columns.upsert(bookId, (String) row[0], (Integer) row[1], (Integer) row[2]);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static Object[] row(ResultSet resultSet) throws SQLException {
+        return new Object[]{resultSet.getString(2), resultSet.getInt(3), resultSet.getInt(4)};
+    }
+
+    private static final class Columns {
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private final IntColumn years;
+        private final IntColumn copies;
+        private final IntColumn authors;
+        // Codes are never reused, so a removed author only costs its dictionary entry until the next rebuild.
+        private final Map<String, Integer> authorCodes = new HashMap<>();
+        private int size;
+
+        Columns(boolean offHeap) {
+            this.years = IntColumn.create(offHeap, INITIAL_CAPACITY);
+            this.copies = IntColumn.create(offHeap, INITIAL_CAPACITY);
+            this.authors = IntColumn.create(offHeap, INITIAL_CAPACITY);
+        }
+
+        void append(long id, String author, int year, int availableCopies) {
+            ensureCapacity(size + 1);
+            set(size++, id, author, year, availableCopies);
+        }
+
+        void upsert(long id, String author, int year, int availableCopies) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                set(position, id, author, year, availableCopies);
+                return;
+            }
+            // Usually the end, unless transactions committed out of id order.
+            int insertAt = -position - 1;
+            ensureCapacity(size + 1);
+            shift(insertAt, insertAt + 1, size - insertAt);
+            size++;
+            set(insertAt, id, author, year, availableCopies);
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                shift(position + 1, position, size - position - 1);
+                size--;
+            }
+        }
+
+        long[] find(CatalogFilter filter) {
+            int author = -1;
+            if (filter.author() != null) {
+                Integer code = authorCodes.get(filter.author());
+                if (code == null) {
+                    return new long[0];
+                }
+                author = code;
+            }
+            int yearFrom = filter.publishedFrom() != null ? filter.publishedFrom() : Integer.MIN_VALUE;
+            int yearTo = filter.publishedTo() != null ? filter.publishedTo() : Integer.MAX_VALUE;
+            int copiesFrom = filter.minCopies() != null ? filter.minCopies() : Integer.MIN_VALUE;
+            int copiesTo = filter.maxCopies() != null ? filter.maxCopies() : Integer.MAX_VALUE;
+            boolean anyAuthor = author < 0;
+
+            long[] matches = new long[size];
+            int found = 0;
+            for (int i = 0; i < size; i++) {
+                int year = years.get(i);
+                int available = copies.get(i);
+                boolean match = year >= yearFrom & year <= yearTo
+                        & available >= copiesFrom & available <= copiesTo
+                        & (anyAuthor | authors.get(i) == author);
+                // Written either way and kept only on a match, so the loop has no data-dependent branch.
+                matches[found] = ids[i];
+                found += match ? 1 : 0;
+            }
+            return Arrays.copyOf(matches, found);
+        }
+
+        private void set(int position, long id, String author, int year, int availableCopies) {
+            ids[position] = id;
+            years.set(position, year);
+            copies.set(position, availableCopies);
+            authors.set(position, authorCodes.computeIfAbsent(author, name -> authorCodes.size()));
+        }
+
+        private void shift(int from, int to, int length) {
+            System.arraycopy(ids, from, ids, to, length);
+            years.move(from, to, length);
+            copies.move(from, to, length);
+            authors.move(from, to, length);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= ids.length) {
+                return;
+            }
+            int grown = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, grown);
+            years.grow(grown);
+            copies.grow(grown);
+            authors.grow(grown);
+        }
+    }
+}
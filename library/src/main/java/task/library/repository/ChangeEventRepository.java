@@ -0,0 +1,47 @@
+package task.library.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import task.library.entity.ChangeEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+// Not read-only, not even for reads: the change log lives on the primary only, and the pollers reading it
+// outside a transaction of their own would otherwise be routed to a replica.
+@Repository
+@Transactional
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    List<ChangeEvent> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<ChangeEvent> findByOccurredAtAfterAndIdLessThanEqual(Instant occurredAfter, Long id);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ChangeEvent e")
+    long findMaxId();
+
+    @Query("SELECT MAX(e.id) FROM ChangeEvent e WHERE e.occurredAt < :cutoff")
+    Long findMaxIdOccurredBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM ChangeEvent e WHERE e.id <= :id")
+    int deleteUpTo(@Param("id") Long id);
+
+    @Query(value = "SELECT compacted_through FROM change_log_state WHERE id = 1", nativeQuery = true)
+    long getCompactedThrough();
+
+    // Names the table it writes, otherwise Hibernate empties every second-level cache region after each compaction.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "change_log_state"))
+    @Query(value = "UPDATE change_log_state SET compacted_through = :id WHERE id = 1 AND compacted_through < :id",
+            nativeQuery = true)
+    int advanceCompactedThrough(@Param("id") Long id);
+}
@@ -0,0 +1,55 @@
+package task.library.repository;
+
+import task.library.exception.InvalidParameterException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fields a client may pick with {@code ?fields=}. Only names from these lists ever reach a query, which is
+ * what makes it safe to build the select clause from them.
+ */
+public enum FieldProjection {
+
+    BOOK("Book", List.of("id", "title", "author", "publicationYear", "availableCopies")),
+    REVIEW("Review", List.of("id", "rating", "comment"));
+
+    private final String entity;
+    private final List<String> fields;
+
+    FieldProjection(String entity, List<String> fields) {
+        this.entity = entity;
+        this.fields = fields;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Parses a comma separated field list, keeping the requested order and dropping repeats.
+     */
+    public List<String> parse(String requested) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : requested.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!fields.contains(name)) {
+                throw new InvalidParameterException("fields", "Unknown field '" + name + "', allowed fields are " + String.join(", ", fields));
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidParameterException("fields", "At least one field is required, allowed fields are " + String.join(", ", fields));
+        }
+        return new ArrayList<>(selected);
+    }
+}
@@ -0,0 +1,103 @@
+package task.library.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable column of ints, either an {@code int[]} or a direct buffer outside the heap.
+ */
+abstract class IntColumn {
+
+    static IntColumn create(boolean offHeap, int capacity) {
+        return offHeap ? new OffHeap(capacity) : new Heap(capacity);
+    }
+
+    abstract int get(int position);
+
+    abstract void set(int position, int value);
+
+    abstract int capacity();
+
+    abstract void grow(int capacity);
+
+    // Moves length values from one position to another, overlapping ranges included.
+    abstract void move(int from, int to, int length);
+
+    static final class Heap extends IntColumn {
+
+        private int[] values;
+
+        Heap(int capacity) {
+            this.values = new int[capacity];
+        }
+
+        @Override
+        int get(int position) {
+            return values[position];
+        }
+
+        @Override
+        void set(int position, int value) {
+            values[position] = value;
+        }
+
+        @Override
+        int capacity() {
+            return values.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(values, from, values, to, length);
+        }
+    }
+
+    static final class OffHeap extends IntColumn {
+
+        private IntBuffer values;
+
+        OffHeap(int capacity) {
+            this.values = allocate(capacity);
+        }
+
+        @Override
+        int get(int position) {
+            return values.get(position);
+        }
+
+        @Override
+        void set(int position, int value) {
+            values.put(position, value);
+        }
+
+        @Override
+        int capacity() {
+            return values.capacity();
+        }
+
+        @Override
+        void grow(int capacity) {
+            IntBuffer grown = allocate(capacity);
+            grown.put(0, values, 0, values.capacity());
+            values = grown;
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            int[] moved = new int[length];
+            values.get(from, moved);
+            values.put(to, moved);
+        }
+
+        private static IntBuffer allocate(int capacity) {
+            return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package task.library.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads only the requested columns, as rows keyed by field name in the requested order. No entities are
+ * materialized, so nothing lands in the persistence context either.
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Map<String, Object>> findAllBooks(List<String> fields) {
+        return entityManager.createQuery(select(FieldProjection.BOOK, fields), Tuple.class)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+    }
+
+    public List<Map<String, Object>> findReviewsByBookId(Long bookId, List<String> fields) {
+        return entityManager.createQuery(select(FieldProjection.REVIEW, fields) + " WHERE e.book.id = :bookId", Tuple.class)
+                .setParameter("bookId", bookId)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+    }
+
+    private static String select(FieldProjection projection, List<String> fields) {
+        return fields.stream()
+                .map(field -> "e." + field)
+                .collect(Collectors.joining(", ", "SELECT ", " FROM " + projection.getEntity() + " e"));
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+        for (int i = 0; i < fields.size(); i++) {
+            row.put(fields.get(i), tuple.get(i));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,17 @@
+package task.library.repository;
+
+/**
+ * Column-wise copy of every book and review rating. Books are addressed by their position in the book
+ * columns; {@code reviewBooks[i]} is the position of the book of the i-th rating.
+ */
+public record RatingSnapshot(String[] authors, int[] publicationYears, int[] availableCopies,
+                             int[] reviewBooks, byte[] ratings) {
+
+    public int bookCount() {
+        return authors.length;
+    }
+
+    public int reviewCount() {
+        return ratings.length;
+    }
+}
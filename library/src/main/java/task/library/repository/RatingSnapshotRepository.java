@@ -0,0 +1,114 @@
+package task.library.repository;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task.library.config.analytics.AnalyticsProperties;
+import task.library.config.sharding.ReviewShards;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams books and review ratings into a {@link RatingSnapshot}. Rows are read in chunks of
+ * {@code library.analytics.fetch-size} inside one read-only transaction, so the snapshot is consistent
+ * and never held as entities; with sharding each shard's ratings are read as of their own moment.
+ */
+@Repository
+public class RatingSnapshotRepository {
+
+    private static final String SELECT_BOOKS = "SELECT id, author, publication_year, available_copies FROM book";
+    private static final String SELECT_RATINGS = "SELECT book_id, rating FROM review WHERE rating BETWEEN 1 AND 5";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<ReviewShards> reviewShards;
+    private final AnalyticsProperties properties;
+
+    public RatingSnapshotRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    ObjectProvider<ReviewShards> reviewShards, AnalyticsProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reviewShards = reviewShards;
+        this.properties = properties;
+    }
+
+    public RatingSnapshot load() {
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, Integer> bookPositions = new HashMap<>();
+            List<String> authors = new ArrayList<>();
+            IntArrayBuilder publicationYears = new IntArrayBuilder();
+            IntArrayBuilder availableCopies = new IntArrayBuilder();
+            stream(jdbcTemplate, SELECT_BOOKS, resultSet -> {
+                bookPositions.put(resultSet.getLong(1), authors.size());
+                authors.add(resultSet.getString(2));
+                publicationYears.add(resultSet.getInt(3));
+                availableCopies.add(resultSet.getInt(4));
+            });
+
+            IntArrayBuilder reviewBooks = new IntArrayBuilder();
+            ByteArrayBuilder ratings = new ByteArrayBuilder();
+            ReviewShards shards = reviewShards.getIfAvailable();
+            for (JdbcTemplate source : shards != null ? shards.all() : List.of(jdbcTemplate)) {
+                stream(source, SELECT_RATINGS, resultSet -> {
+                    Integer book = bookPositions.get(resultSet.getLong(1));
+                    // A shard may still hold reviews of a book deleted after the books were read.
+                    if (book != null) {
+                        reviewBooks.add(book);
+                        ratings.add((byte) resultSet.getInt(2));
+                    }
+                });
+            }
+            return new RatingSnapshot(authors.toArray(String[]::new), publicationYears.toArray(),
+                    availableCopies.toArray(), reviewBooks.toArray(), ratings.toArray());
+        });
+    }
+
+    private void stream(JdbcTemplate source, String sql, RowCallbackHandler handler) {
+        source.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(properties.getFetchSize());
+            return statement;
+        }, handler);
+    }
+
+    private static final class IntArrayBuilder {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class ByteArrayBuilder {
+        private byte[] values = new byte[1024];
+        private int size;
+
+        void add(byte value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
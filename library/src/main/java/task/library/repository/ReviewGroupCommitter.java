@@ -0,0 +1,216 @@
+package task.library.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task.library.config.groupcommit.GroupCommitProperties;
+import task.library.entity.ChangeEvent;
+import task.library.entity.Review;
+import task.library.service.ChangeLogService;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges concurrent review inserts into one batch insert and one commit. A batch is flushed when it
+ * reaches {@code max-batch-size} or when its oldest review has waited {@code max-delay-ms}; callers
+ * block until their own review is committed and get it back with its id.
+ */
+@Slf4j
+@Component
+public class ReviewGroupCommitter implements SmartLifecycle {
+
+    private static final String INSERT_REVIEW = "INSERT INTO review (rating, comment, book_id, created_at) VALUES (?, ?, ?, ?)";
+    private static final String COUNT_REVIEWS = "UPDATE book SET review_count = review_count + ? WHERE id = ?";
+
+    private final GroupCommitProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeLogService changeLogService;
+    private final DistributionSummary batchSizes;
+    private final BlockingQueue<PendingReview> queue;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public ReviewGroupCommitter(GroupCommitProperties properties, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager, ChangeLogService changeLogService,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changeLogService = changeLogService;
+        this.batchSizes = DistributionSummary.builder("library.reviews.group-commit.batch-size")
+                .register(meterRegistry);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Review insert(Review review) {
+        PendingReview pending = new PendingReview(review, new CompletableFuture<>(), System.nanoTime());
+        if (!running || !queue.offer(pending)) {
+            // Stopped or saturated: commit on the caller's thread rather than queueing without bound.
+            commit(List.of(pending));
+        }
+        try {
+            return pending.result().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the review to be committed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "review-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxDelayMs());
+        List<PendingReview> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReview first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.enqueuedAtNanos() + maxDelayNanos;
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingReview next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Group commit of {} reviews failed", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingReview> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> insertedIds = insertAll(batch);
+                countAll(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    changeLogService.recordReview(ChangeEvent.Operation.CREATED, insertedIds.get(i),
+                            batch.get(i).review().getBook().getId());
+                }
+                return insertedIds;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                PendingReview pending = batch.get(i);
+                pending.review().setId(ids.get(i));
+                pending.result().complete(pending.review());
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // One invalid review (e.g. its book was deleted meanwhile) must not fail the others in its batch.
+            log.debug("Batch of {} reviews failed, retrying them one by one", batch.size(), e);
+            batch.forEach(pending -> commit(List.of(pending)));
+        }
+    }
+
+    private List<Long> insertAll(List<PendingReview> batch) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_REVIEW, new String[]{"id"})) {
+                for (PendingReview pending : batch) {
+                    statement.setObject(1, pending.review().getRating(), Types.INTEGER);
+                    statement.setString(2, pending.review().getComment());
+                    statement.setLong(3, pending.review().getBook().getId());
+                    if (pending.review().getCreatedAt() == null) {
+                        pending.review().setCreatedAt(Review.now());
+                    }
+                    statement.setObject(4, OffsetDateTime.ofInstant(pending.review().getCreatedAt(), ZoneOffset.UTC));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> ids = new ArrayList<>(batch.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != batch.size()) {
+                    throw new IllegalStateException("Expected " + batch.size() + " generated ids but got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    // One counter update per book, in id order so concurrent batches lock the book rows in the same order.
+    private void countAll(List<PendingReview> batch) {
+        Map<Long, Long> counts = new TreeMap<>();
+        batch.forEach(pending -> counts.merge(pending.review().getBook().getId(), 1L, Long::sum));
+        jdbcTemplate.batchUpdate(COUNT_REVIEWS, counts.entrySet().stream()
+                .map(count -> new Object[]{count.getValue(), count.getKey()})
+                .toList());
+    }
+
+    private record PendingReview(Review review, CompletableFuture<Review> result, long enqueuedAtNanos) {
+    }
+}
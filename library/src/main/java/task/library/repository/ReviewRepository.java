@@ -1,16 +1,36 @@
 package task.library.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import task.library.dto.BookRatingResponse;
+import task.library.dto.ReviewResponse;
 import task.library.entity.Book;
 import task.library.entity.Review;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findAllByBook(Book book);
+public interface ReviewRepository extends JpaRepository<Review, Long>, ReviewRepositoryCustom {
+    List<Review> findAllByBookIdOrderByCreatedAtDescIdDesc(Long bookId);
+
+    // Both pages read straight off the (book_id, created_at, id) index, newest first.
+    @Query("SELECT new task.library.dto.ReviewResponse(r.id, r.rating, r.comment, r.createdAt) FROM Review r " +
+            "WHERE r.book.id = :bookId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findLatestByBookId(@Param("bookId") Long bookId, Limit limit);
+
+    @Query("SELECT new task.library.dto.ReviewResponse(r.id, r.rating, r.comment, r.createdAt) FROM Review r " +
+            "WHERE r.book.id = :bookId AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findLatestByBookIdBefore(@Param("bookId") Long bookId, @Param("createdAt") Instant createdAt,
+                                                  @Param("id") Long id, Limit limit);
+
+    // One row per review, or a single row with a null review for a book that has none; unknown books yield no rows.
+    @Query("SELECT b.id, r FROM Book b LEFT JOIN b.reviews r WHERE b.id IN :bookIds")
+    List<Object[]> findReviewsByBookIds(@Param("bookIds") Collection<Long> bookIds);
 
     @Query("SELECT new task.library.dto.BookRatingResponse(b.title, AVG(r.rating)) " +
             "FROM Review r JOIN r.book b " +
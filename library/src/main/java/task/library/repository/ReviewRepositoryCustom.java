@@ -0,0 +1,9 @@
+package task.library.repository;
+
+import java.util.Optional;
+
+public interface ReviewRepositoryCustom {
+
+    // The book of the deleted review, or empty when there was no such review.
+    Optional<Long> deleteReviewById(Long reviewId);
+}
@@ -0,0 +1,23 @@
+package task.library.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+/**
+ * Deletes through JDBC like {@link BookRepositoryCustomImpl}: a single statement both checks that the review
+ * existed and returns its book, without loading the review first. The review and its book's collection are
+ * evicted on the change event.
+ */
+@RequiredArgsConstructor
+public class ReviewRepositoryCustomImpl implements ReviewRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Long> deleteReviewById(Long reviewId) {
+        return jdbcTemplate.queryForList("SELECT book_id FROM OLD TABLE (DELETE FROM review WHERE id = ?)",
+                Long.class, reviewId).stream().findFirst();
+    }
+}
@@ -0,0 +1,266 @@
+package task.library.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import task.library.config.search.ReviewSearchProperties;
+import task.library.dto.ReviewSearchHit;
+import task.library.dto.ReviewSearchResponse;
+import task.library.exception.InvalidParameterException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lucene index over review comments, ranked by BM25. Writes reach the index writer straight away and
+ * become searchable at the next refresh, at most {@code library.search.refresh-interval-ms} later.
+ * The index holds everything a hit shows, so searching never touches the database. An index on disk
+ * commits the change log position it holds along with its documents, so it can be resumed from there.
+ */
+@Slf4j
+@Component
+public class ReviewSearchIndex implements SmartLifecycle, DisposableBean {
+
+    private static final String ID = "id";
+    private static final String BOOK_ID = "bookId";
+    private static final String RATING = "rating";
+    private static final String COMMENT = "comment";
+    private static final String CREATED_AT = "createdAt";
+    private static final String CHANGE_CURSOR = "changeCursor";
+    private static final String CHANGES_POLLED_AT = "changesPolledAt";
+
+    private final ReviewSearchProperties properties;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    private ScheduledExecutorService refresher;
+    private volatile boolean running;
+
+    public ReviewSearchIndex(ReviewSearchProperties properties) throws IOException {
+        this.properties = properties;
+        this.directory = StringUtils.hasText(properties.getIndexPath())
+                ? FSDirectory.open(Path.of(properties.getIndexPath()))
+                : new ByteBuffersDirectory();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void index(long reviewId, long bookId, Integer rating, String comment, Instant createdAt) {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(reviewId), Field.Store.YES));
+        document.add(new LongPoint(BOOK_ID, bookId));
+        document.add(new StoredField(BOOK_ID, bookId));
+        document.add(new StoredField(RATING, rating != null ? rating : 0));
+        document.add(new StoredField(CREATED_AT, ChronoUnit.MICROS.between(Instant.EPOCH, createdAt)));
+        document.add(new TextField(COMMENT, comment != null ? comment : "", Field.Store.YES));
+        try {
+            writer.updateDocument(idTerm(reviewId), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(long reviewId) {
+        try {
+            writer.deleteDocuments(idTerm(reviewId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteByBook(long bookId) {
+        try {
+            writer.deleteDocuments(LongPoint.newExactQuery(BOOK_ID, bookId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The change log position held by the last commit of the index, absent for a new index.
+     */
+    public Optional<ResumePoint> resumePoint() {
+        Map<String, String> commitData = new HashMap<>();
+        Iterable<Map.Entry<String, String>> liveCommitData = writer.getLiveCommitData();
+        if (liveCommitData != null) {
+            liveCommitData.forEach(entry -> commitData.put(entry.getKey(), entry.getValue()));
+        }
+        if (!commitData.containsKey(CHANGE_CURSOR) || !commitData.containsKey(CHANGES_POLLED_AT)) {
+            return Optional.empty();
+        }
+        return Optional.of(new ResumePoint(Long.parseLong(commitData.get(CHANGE_CURSOR)),
+                Instant.parse(commitData.get(CHANGES_POLLED_AT))));
+    }
+
+    // Goes into the next commit, at the latest when the index is closed.
+    public void setResumePoint(ResumePoint resumePoint) {
+        writer.setLiveCommitData(Map.of(CHANGE_CURSOR, Long.toString(resumePoint.cursor()),
+                CHANGES_POLLED_AT, resumePoint.polledAt().toString()).entrySet());
+    }
+
+    /**
+     * Makes every write so far searchable without waiting for the next scheduled refresh.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reviews whose comment matches the query, best match first. The query is free text; quotes, {@code -},
+     * {@code |} and {@code *} work as in a search box and malformed syntax is taken literally.
+     */
+    public ReviewSearchResponse search(String text, Long bookId, Integer offset, Integer limit) {
+        if (!StringUtils.hasText(text)) {
+            throw new InvalidParameterException("q", "Search query must not be blank");
+        }
+        int from = offset != null ? offset : 0;
+        if (from < 0 || from >= properties.getMaxResultWindow()) {
+            throw new InvalidParameterException("offset", "Offset must be between 0 and " + (properties.getMaxResultWindow() - 1));
+        }
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : properties.getDefaultLimit(), properties.getMaxLimit()));
+        return search(text, bookId, from, Math.min(pageSize, properties.getMaxResultWindow() - from));
+    }
+
+    private ReviewSearchResponse search(String text, Long bookId, int offset, int limit) {
+        Query query = new SimpleQueryParser(analyzer, COMMENT).parse(text);
+        if (bookId != null) {
+            query = new BooleanQuery.Builder()
+                    .add(query, BooleanClause.Occur.MUST)
+                    .add(LongPoint.newExactQuery(BOOK_ID, bookId), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, offset + limit);
+                int totalHits = searcher.count(query);
+                StoredFields storedFields = searcher.storedFields();
+                List<ReviewSearchHit> hits = new ArrayList<>(limit);
+                for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+                }
+                int end = offset + hits.size();
+                boolean hasMore = end < totalHits && end < properties.getMaxResultWindow();
+                return new ReviewSearchResponse(hits, hasMore ? end : null, totalHits);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "review-search-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, properties.getRefreshIntervalMs(),
+                properties.getRefreshIntervalMs(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        // Commits on close, so an index on disk is complete for whoever opens it next.
+        writer.close();
+        directory.close();
+    }
+
+    private void refreshQuietly() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Review search index refresh failed", e);
+        }
+    }
+
+    private static Term idTerm(long reviewId) {
+        return new Term(ID, Long.toString(reviewId));
+    }
+
+    private static ReviewSearchHit toHit(Document document, float score) {
+        long createdAtMicros = document.getField(CREATED_AT).numericValue().longValue();
+        return new ReviewSearchHit(
+                Long.valueOf(document.get(ID)),
+                document.getField(BOOK_ID).numericValue().longValue(),
+                document.getField(RATING).numericValue().intValue(),
+                document.get(COMMENT),
+                Instant.EPOCH.plus(createdAtMicros, ChronoUnit.MICROS),
+                score);
+    }
+
+    /**
+     * Every change event up to the cursor is in the index, apart from those still committing when the poll
+     * that reached it started.
+     */
+    public record ResumePoint(long cursor, Instant polledAt) {
+    }
+}
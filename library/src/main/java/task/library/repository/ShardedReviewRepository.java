@@ -0,0 +1,199 @@
+package task.library.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+import task.library.config.sharding.ReviewShards;
+import task.library.dto.ReviewResponse;
+import task.library.entity.Book;
+import task.library.entity.Review;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reviews partitioned by book id. Operations keyed by book go to one shard, lookups by review id
+ * and cross-book aggregates fan out to every shard in parallel.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "library.sharding", name = "enabled", havingValue = "true")
+public class ShardedReviewRepository {
+
+    private static final String REVIEW_COLUMNS = "id, rating, comment, book_id, created_at";
+
+    private static final RowMapper<Review> REVIEW_ROW_MAPPER = (resultSet, rowNum) -> {
+        Book book = new Book();
+        book.setId(resultSet.getLong("book_id"));
+        Review review = new Review(resultSet.getLong("id"), resultSet.getInt("rating"), resultSet.getString("comment"));
+        review.setBook(book);
+        review.setCreatedAt(resultSet.getObject("created_at", OffsetDateTime.class).toInstant());
+        return review;
+    };
+
+    private final ReviewShards shards;
+    private final JdbcTemplate primary;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedReviewRepository(ReviewShards shards, JdbcTemplate primary) {
+        this.shards = shards;
+        this.primary = primary;
+        this.scatterExecutor = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "review-shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Review save(Review review) {
+        long bookId = review.getBook().getId();
+        if (review.getId() == null) {
+            // Ids come from one sequence on the primary so they stay unique when reviews move between shards.
+            review.setId(primary.queryForObject("SELECT NEXT VALUE FOR review_id_seq", Long.class));
+            if (review.getCreatedAt() == null) {
+                review.setCreatedAt(Review.now());
+            }
+            shards.forBook(bookId).update("INSERT INTO review (id, rating, comment, book_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                    review.getId(), review.getRating(), review.getComment(), bookId,
+                    OffsetDateTime.ofInstant(review.getCreatedAt(), ZoneOffset.UTC));
+        } else {
+            shards.forBook(bookId).update("UPDATE review SET rating = ?, comment = ? WHERE id = ?",
+                    review.getRating(), review.getComment(), review.getId());
+        }
+        return review;
+    }
+
+    public List<Review> findAllByBookId(Long bookId) {
+        return shards.forBook(bookId).query("SELECT " + REVIEW_COLUMNS + " FROM review WHERE book_id = ? ORDER BY created_at DESC, id DESC",
+                REVIEW_ROW_MAPPER, bookId);
+    }
+
+    /**
+     * One page of a book's reviews, newest first, starting after the given position when there is one.
+     */
+    public List<ReviewResponse> findLatestByBookId(Long bookId, Instant beforeCreatedAt, Long beforeId, int limit) {
+        RowMapper<ReviewResponse> rowMapper = (resultSet, rowNum) -> new ReviewResponse(resultSet.getLong("id"),
+                resultSet.getInt("rating"), resultSet.getString("comment"),
+                resultSet.getObject("created_at", OffsetDateTime.class).toInstant());
+        if (beforeCreatedAt == null) {
+            return shards.forBook(bookId).query("SELECT id, rating, comment, created_at FROM review WHERE book_id = ? "
+                    + "ORDER BY created_at DESC, id DESC LIMIT ?", rowMapper, bookId, limit);
+        }
+        OffsetDateTime before = OffsetDateTime.ofInstant(beforeCreatedAt, ZoneOffset.UTC);
+        return shards.forBook(bookId).query("SELECT id, rating, comment, created_at FROM review WHERE book_id = ? "
+                        + "AND (created_at < ? OR (created_at = ? AND id < ?)) ORDER BY created_at DESC, id DESC LIMIT ?",
+                rowMapper, bookId, before, before, beforeId, limit);
+    }
+
+    // Review fields are named like their columns, so the whitelisted field names double as the select list.
+    public List<Map<String, Object>> findAllByBookId(Long bookId, List<String> fields) {
+        return shards.forBook(bookId).query("SELECT " + String.join(", ", fields) + " FROM review WHERE book_id = ?",
+                (resultSet, rowNum) -> {
+                    Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+                    for (int i = 0; i < fields.size(); i++) {
+                        row.put(fields.get(i), JdbcUtils.getResultSetValue(resultSet, i + 1));
+                    }
+                    return row;
+                }, bookId);
+    }
+
+    /**
+     * Reviews of many books, with one IN query per shard that holds any of them, run in parallel.
+     */
+    public List<Review> findAllByBookIds(Collection<Long> bookIds) {
+        Map<JdbcTemplate, List<Long>> byShard = bookIds.stream().collect(Collectors.groupingBy(shards::forBook));
+        List<CompletableFuture<List<Review>>> futures = byShard.entrySet().stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.getKey().query(
+                        "SELECT " + REVIEW_COLUMNS + " FROM review WHERE book_id IN ("
+                                + String.join(", ", Collections.nCopies(shard.getValue().size(), "?")) + ")",
+                        REVIEW_ROW_MAPPER, shard.getValue().toArray()), scatterExecutor))
+                .toList();
+        return join(futures).stream().flatMap(List::stream).toList();
+    }
+
+    public Optional<Review> findById(Long reviewId) {
+        return scatter(shard -> shard.query("SELECT " + REVIEW_COLUMNS + " FROM review WHERE id = ?",
+                REVIEW_ROW_MAPPER, reviewId)).stream()
+                .flatMap(List::stream)
+                .findFirst();
+    }
+
+    /**
+     * Deletes the review from whichever shard holds it and returns its book, or empty when none did.
+     */
+    public Optional<Long> deleteById(Long reviewId) {
+        return scatter(shard -> shard.queryForList("SELECT book_id FROM OLD TABLE (DELETE FROM review WHERE id = ?)",
+                Long.class, reviewId)).stream()
+                .flatMap(List::stream)
+                .findFirst();
+    }
+
+    public void deleteAllByBookId(Long bookId) {
+        shards.forBook(bookId).update("DELETE FROM review WHERE book_id = ?", bookId);
+    }
+
+    /**
+     * Sums and counts rather than averages are gathered, so partial results from several shards
+     * (e.g. while a book is being moved) still merge into the exact average.
+     */
+    public Map<Long, RatingTotals> getRatingTotalsByBook() {
+        Map<Long, RatingTotals> totals = new HashMap<>();
+        for (List<RatingTotals> shardTotals : scatter(shard -> shard.query(
+                "SELECT book_id, SUM(rating), COUNT(*) FROM review GROUP BY book_id",
+                (resultSet, rowNum) -> new RatingTotals(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3))))) {
+            for (RatingTotals bookTotals : shardTotals) {
+                totals.merge(bookTotals.bookId(), bookTotals, RatingTotals::plus);
+            }
+        }
+        return totals;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scatterExecutor.shutdownNow();
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        return join(shards.all().stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), scatterExecutor))
+                .toList());
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public record RatingTotals(long bookId, long ratingSum, long reviewCount) {
+
+        public double average() {
+            return (double) ratingSum / reviewCount;
+        }
+
+        RatingTotals plus(RatingTotals other) {
+            return new RatingTotals(bookId, ratingSum + other.ratingSum, reviewCount + other.reviewCount);
+        }
+    }
+}
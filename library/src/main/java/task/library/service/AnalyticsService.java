@@ -0,0 +1,8 @@
+package task.library.service;
+
+import task.library.dto.RatingAnalyticsResponse;
+
+public interface AnalyticsService {
+
+    RatingAnalyticsResponse getRatingStatistics(RatingDimension dimension);
+}
@@ -0,0 +1,204 @@
+package task.library.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import task.library.config.analytics.AnalyticsProperties;
+import task.library.dto.RatingAnalyticsResponse;
+import task.library.dto.RatingStatistics;
+import task.library.entity.ChangeEvent;
+import task.library.repository.RatingSnapshot;
+import task.library.repository.RatingSnapshotRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rating statistics grouped in memory rather than by the database. One snapshot of all ratings is
+ * aggregated for every dimension on a fork-join pool; the results are kept until a write of this
+ * instance commits or they reach {@code library.analytics.max-age-ms}.
+ * <p>
+ * Ratings are whole numbers from 1 to 5, so each group is aggregated into a rating histogram: partial
+ * histograms merge by addition, and the count, mean, variance and percentiles derived from it are exact.
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int MAX_RATING = 5;
+    private static final int BINS = MAX_RATING + 1;
+
+    private final RatingSnapshotRepository ratingSnapshotRepository;
+    private final AnalyticsProperties properties;
+    private final ForkJoinPool pool;
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Results results;
+
+    public AnalyticsServiceImpl(RatingSnapshotRepository ratingSnapshotRepository, AnalyticsProperties properties) {
+        this.ratingSnapshotRepository = ratingSnapshotRepository;
+        this.properties = properties;
+        int parallelism = properties.getParallelism() > 0 ? properties.getParallelism() : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("rating-analytics-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    @Override
+    public RatingAnalyticsResponse getRatingStatistics(RatingDimension dimension) {
+        return currentResults().byDimension().get(dimension);
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        version.incrementAndGet();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private Results currentResults() {
+        Results current = results;
+        if (isValid(current)) {
+            return current;
+        }
+        // One computation at a time; callers arriving meanwhile get its results instead of starting another.
+        synchronized (this) {
+            current = results;
+            if (isValid(current)) {
+                return current;
+            }
+            long computedVersion = version.get();
+            long computedAtNanos = System.nanoTime();
+            Instant snapshotAt = Instant.now();
+            RatingSnapshot snapshot = ratingSnapshotRepository.load();
+            Map<RatingDimension, RatingAnalyticsResponse> byDimension = new EnumMap<>(RatingDimension.class);
+            for (RatingDimension dimension : RatingDimension.values()) {
+                byDimension.put(dimension, aggregate(snapshot, dimension, snapshotAt));
+            }
+            results = new Results(computedVersion, computedAtNanos, byDimension);
+            return results;
+        }
+    }
+
+    private boolean isValid(Results current) {
+        return current != null
+                && current.version() == version.get()
+                && System.nanoTime() - current.computedAtNanos() < TimeUnit.MILLISECONDS.toNanos(properties.getMaxAgeMs());
+    }
+
+    RatingAnalyticsResponse aggregate(RatingSnapshot snapshot, RatingDimension dimension, Instant snapshotAt) {
+        Map<String, Integer> groupIds = new LinkedHashMap<>();
+        int[] bookGroups = new int[snapshot.bookCount()];
+        for (int book = 0; book < snapshot.bookCount(); book++) {
+            String group = dimension.groupOf(snapshot.authors()[book], snapshot.publicationYears()[book],
+                    snapshot.availableCopies()[book]);
+            bookGroups[book] = groupIds.computeIfAbsent(group, key -> groupIds.size());
+        }
+        long[] bookCounts = new long[groupIds.size()];
+        for (int group : bookGroups) {
+            bookCounts[group]++;
+        }
+        long[] histograms = pool.invoke(new HistogramTask(snapshot, bookGroups, groupIds.size(),
+                0, snapshot.reviewCount(), Math.max(1, properties.getSplitThreshold())));
+
+        List<RatingStatistics> groups = new ArrayList<>(groupIds.size());
+        groupIds.forEach((group, id) -> groups.add(statistics(group, bookCounts[id], histograms, id * BINS)));
+        groups.sort((first, second) -> dimension.getOrder().compare(first.getGroup(), second.getGroup()));
+        return new RatingAnalyticsResponse(dimension.getLabel(), groups, snapshot.reviewCount(), snapshotAt);
+    }
+
+    private static RatingStatistics statistics(String group, long bookCount, long[] histograms, int offset) {
+        long count = 0;
+        long sum = 0;
+        for (int rating = 1; rating <= MAX_RATING; rating++) {
+            count += histograms[offset + rating];
+            sum += rating * histograms[offset + rating];
+        }
+        if (count == 0) {
+            return new RatingStatistics(group, bookCount, 0, null, null, null, null, null);
+        }
+        double mean = (double) sum / count;
+        double squaredDeviations = 0;
+        for (int rating = 1; rating <= MAX_RATING; rating++) {
+            squaredDeviations += histograms[offset + rating] * (rating - mean) * (rating - mean);
+        }
+        return new RatingStatistics(group, bookCount, count, mean, squaredDeviations / count,
+                percentile(histograms, offset, count, 0.50),
+                percentile(histograms, offset, count, 0.90),
+                percentile(histograms, offset, count, 0.99));
+    }
+
+    // Nearest rank: the lowest rating that at least the given share of the reviews are at or below.
+    private static int percentile(long[] histograms, int offset, long count, double share) {
+        long rank = (long) Math.ceil(share * count);
+        long seen = 0;
+        for (int rating = 1; rating < MAX_RATING; rating++) {
+            seen += histograms[offset + rating];
+            if (seen >= rank) {
+                return rating;
+            }
+        }
+        return MAX_RATING;
+    }
+
+    /**
+     * Counts the ratings of reviews {@code [from, to)} per group and rating, splitting the range in halves
+     * until it is small enough to count on one thread.
+     */
+    private static final class HistogramTask extends RecursiveTask<long[]> {
+
+        private final RatingSnapshot snapshot;
+        private final int[] bookGroups;
+        private final int groupCount;
+        private final int from;
+        private final int to;
+        private final int splitThreshold;
+
+        HistogramTask(RatingSnapshot snapshot, int[] bookGroups, int groupCount, int from, int to, int splitThreshold) {
+            this.snapshot = snapshot;
+            this.bookGroups = bookGroups;
+            this.groupCount = groupCount;
+            this.from = from;
+            this.to = to;
+            this.splitThreshold = splitThreshold;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= splitThreshold) {
+                long[] histograms = new long[groupCount * BINS];
+                int[] reviewBooks = snapshot.reviewBooks();
+                byte[] ratings = snapshot.ratings();
+                for (int review = from; review < to; review++) {
+                    histograms[bookGroups[reviewBooks[review]] * BINS + ratings[review]]++;
+                }
+                return histograms;
+            }
+            int middle = (from + to) >>> 1;
+            HistogramTask left = new HistogramTask(snapshot, bookGroups, groupCount, from, middle, splitThreshold);
+            left.fork();
+            long[] histograms = new HistogramTask(snapshot, bookGroups, groupCount, middle, to, splitThreshold).compute();
+            long[] leftHistograms = left.join();
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] += leftHistograms[i];
+            }
+            return histograms;
+        }
+    }
+
+    private record Results(long version, long computedAtNanos, Map<RatingDimension, RatingAnalyticsResponse> byDimension) {
+    }
+}
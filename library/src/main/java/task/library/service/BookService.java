@@ -4,6 +4,7 @@ import task.library.dto.BookRequest;
 import task.library.dto.BookDto;
 import task.library.entity.Book;
 import java.util.List;
+import java.util.Map;
 
 public interface BookService {
 
@@ -11,8 +12,12 @@ public interface BookService {
 
     List<Book> getAllBooks();
 
+    List<Map<String, Object>> getAllBooks(String fields);
+
     Book getBookById(Long id);
 
+    Map<Long, Book> getBooksByIds(List<Long> ids);
+
     Book updateBook(Long id, BookRequest request);
 
     void deleteBook(Long id);
@@ -21,6 +26,8 @@ public interface BookService {
 
     List<Book> getBooksPublishedAfterYear(int year);
 
+    List<Book> filterBooks(Integer publishedFrom, Integer publishedTo, Integer minCopies, Integer maxCopies, String author);
+
     List<Book> getBooksWithHighRatingsNativeSQL();
 
     List<Book> getBooksWithHighRatingsJPQL();
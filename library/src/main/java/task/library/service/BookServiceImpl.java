@@ -1,42 +1,93 @@
 package task.library.service;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import task.library.config.feign.AuthorClient;
+import task.library.config.multiget.MultiGetProperties;
+import task.library.config.nearcache.NearCacheConfiguration;
 import task.library.dto.AuthorDetails;
 import task.library.dto.BookRequest;
 import task.library.dto.BookDto;
 import task.library.entity.Book;
+import task.library.entity.ChangeEvent;
+import task.library.entity.Review;
 import task.library.exception.NotFoundException;
 import task.library.repository.BookRepository;
+import task.library.repository.CatalogFilter;
+import task.library.repository.CatalogSnapshot;
+import task.library.repository.FieldProjection;
+import task.library.repository.ProjectionRepository;
 import task.library.repository.ReviewRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "library.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+@Observed(name = "library.book-service")
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
     private final ReviewRepository reviewRepository;
     private final AuthorClient authorClient;
+    private final ChangeLogService changeLogService;
+    private final ProjectionRepository projectionRepository;
+    private final MultiGetProperties multiGetProperties;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ReadCoalescer readCoalescer;
 
+    @Transactional
     public Book createBook(Book book) {
-        return bookRepository.save(book);
+        Book createdBook = bookRepository.save(book);
+        changeLogService.recordBook(ChangeEvent.Operation.CREATED, createdBook.getId());
+        return createdBook;
     }
 
+    @Transactional(readOnly = true)
     public List<Book> getAllBooks() {
         List<Book> books = bookRepository.findAll();
         if (books.isEmpty()) {
             throw NotFoundException.notFoundBooks();
         }
+        return withReviews(books);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllBooks(String fields) {
+        List<Map<String, Object>> books = projectionRepository.findAllBooks(FieldProjection.BOOK.parse(fields));
+        if (books.isEmpty()) {
+            throw NotFoundException.notFoundBooks();
+        }
         return books;
     }
 
+    @Cacheable(cacheNames = NearCacheConfiguration.BOOKS, sync = true)
     public Book getBookById(Long id) {
-        return bookRepository.findById(id)
-                .orElseThrow(() -> NotFoundException.notFoundBook(id));
+        return readCoalescer.read("book-by-id", List.of(id), () -> withReviews(List.of(bookRepository.findById(id)
+                .orElseThrow(() -> NotFoundException.notFoundBook(id)))).get(0));
     }
 
+    // Books that exist, keyed by id in request order; the caller reports the others as missing.
+    @Transactional(readOnly = true)
+    public Map<Long, Book> getBooksByIds(List<Long> ids) {
+        List<Long> distinctIds = MultiGet.distinctIds("ids", ids, multiGetProperties);
+        Map<Long, Book> found = new HashMap<>();
+        for (List<Long> chunk : MultiGet.chunks(distinctIds, multiGetProperties.getChunkSize())) {
+            bookRepository.findAllById(chunk).forEach(book -> found.put(book.getId(), book));
+        }
+        return MultiGet.inRequestOrder(distinctIds, found);
+    }
+
+    @Transactional
     public Book updateBook(Long id, BookRequest request) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> NotFoundException.notFoundBook(id));
@@ -44,45 +95,105 @@ public class BookServiceImpl implements BookService {
         book.setAuthor(request.getAuthor());
         book.setPublicationYear(request.getPublicationYear());
         book.setAvailableCopies(request.getAvailableCopies());
-        return bookRepository.save(book);
+        Book updatedBook = bookRepository.save(book);
+        changeLogService.recordBook(ChangeEvent.Operation.UPDATED, id);
+        return updatedBook;
     }
 
+    @Transactional
     public void deleteBook(Long id) {
-        if (!bookRepository.existsById(id)) {
+        if (bookRepository.deleteBookById(id) == 0) {
             throw NotFoundException.notFoundBook(id);
         }
-        bookRepository.deleteById(id);
+        changeLogService.recordBook(ChangeEvent.Operation.DELETED, id);
     }
 
     public List<Book> searchBooks(String title, String author) {
-        List<Book> books = bookRepository.findByTitleOrAuthor(title, author);
-        if (books.isEmpty()) {
-            throw NotFoundException.notFoundBooksByTitleOrAuthor(title, author);
-        }
-        return books;
+        return readCoalescer.read("book-search", Arrays.asList(title, author), () -> {
+            List<Book> books = bookRepository.findByTitleOrAuthor(title, author);
+            if (books.isEmpty()) {
+                throw NotFoundException.notFoundBooksByTitleOrAuthor(title, author);
+            }
+            return withReviews(books);
+        });
     }
 
+    @Transactional(readOnly = true)
     public List<Book> getBooksPublishedAfterYear(int year) {
-        List<Book> books = bookRepository.findBooksPublishedAfterYear(year);
+        List<Book> books = useCatalog()
+                ? findInCatalog(CatalogFilter.publishedAfter(year))
+                : bookRepository.findBooksPublishedAfterYear(year);
         if (books.isEmpty()) {
             throw NotFoundException.notFoundBooksAfterYear(year);
         }
-        return books;
+        return withReviews(books);
     }
 
+    @Transactional(readOnly = true)
+    public List<Book> filterBooks(Integer publishedFrom, Integer publishedTo, Integer minCopies, Integer maxCopies, String author) {
+        CatalogFilter filter = new CatalogFilter(publishedFrom, publishedTo, minCopies, maxCopies, author);
+        List<Book> books = useCatalog()
+                ? findInCatalog(filter)
+                : bookRepository.filterBooks(publishedFrom, publishedTo, minCopies, maxCopies, author);
+        if (books.isEmpty()) {
+            throw NotFoundException.notFoundBooksForFilter();
+        }
+        return withReviews(books);
+    }
+
+    @Transactional(readOnly = true)
     public List<Book> getBooksWithHighRatingsNativeSQL() {
         List<Book> books = bookRepository.getBooksWithHighRatingsNativeSQL();
         if (books.isEmpty()) {
             throw NotFoundException.notFoundBookWithHighRating();
         }
-        return books;
+        return withReviews(books);
     }
 
+    @Transactional(readOnly = true)
     public List<Book> getBooksWithHighRatingsJPQL() {
         List<Book> books = reviewRepository.getBooksWithHighRatingsJPQL();
         if (books.isEmpty()) {
             throw NotFoundException.notFoundBookWithHighRating();
         }
+        return withReviews(books);
+    }
+
+    // Books are returned as detached copies with their reviews. A coalesced result is shared by callers on
+    // other threads, which must not touch the session the books were loaded in; the sharded service reads
+    // the reviews from the shards instead.
+    protected List<Book> withReviews(List<Book> books) {
+        List<Book> detached = new ArrayList<>(books.size());
+        for (Book book : books) {
+            detached.add(detachedCopy(book, book.getReviews()));
+        }
+        return detached;
+    }
+
+    protected static Book detachedCopy(Book book, List<Review> reviews) {
+        Book copy = new Book(book.getId(), book.getTitle(), book.getAuthor(), book.getPublicationYear(), book.getAvailableCopies());
+        for (Review review : reviews) {
+            Review reviewCopy = new Review(review.getId(), review.getRating(), review.getComment(), copy);
+            reviewCopy.setCreatedAt(review.getCreatedAt());
+            copy.getReviews().add(reviewCopy);
+        }
+        return copy;
+    }
+
+    // A caller's read-write transaction may hold book writes the snapshot only sees once they commit.
+    private boolean useCatalog() {
+        return catalogSnapshot.isReady() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // The snapshot picks the ids; the books are loaded in IN list chunks and checked again, since the
+    // snapshot can lag behind writes of other instances.
+    private List<Book> findInCatalog(CatalogFilter filter) {
+        List<Long> ids = Arrays.stream(catalogSnapshot.find(filter)).boxed().toList();
+        List<Book> books = new ArrayList<>(ids.size());
+        for (List<Long> chunk : MultiGet.chunks(ids, multiGetProperties.getChunkSize())) {
+            bookRepository.findAllById(chunk).stream().filter(filter::matches).forEach(books::add);
+        }
+        books.sort(Comparator.comparing(Book::getId));
         return books;
     }
 
@@ -0,0 +1,18 @@
+package task.library.service;
+
+import task.library.dto.ChangesResponse;
+import task.library.entity.ChangeEvent;
+import task.library.entity.Review;
+
+public interface ChangeLogService {
+
+    void recordBook(ChangeEvent.Operation operation, Long bookId);
+
+    void recordReview(ChangeEvent.Operation operation, Review review);
+
+    void recordReview(ChangeEvent.Operation operation, Long reviewId, Long bookId);
+
+    ChangesResponse getChanges(Long since, Integer limit);
+
+    int compact();
+}
@@ -0,0 +1,105 @@
+package task.library.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import task.library.config.changes.ChangeLogProperties;
+import task.library.dto.ChangeEventResponse;
+import task.library.dto.ChangesResponse;
+import task.library.entity.ChangeEvent;
+import task.library.entity.Review;
+import task.library.exception.CursorExpiredException;
+import task.library.mapper.ChangeEventMapper;
+import task.library.repository.ChangeEventRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeLogServiceImpl implements ChangeLogService {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeEventMapper changeEventMapper;
+    private final ChangeLogProperties properties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // MANDATORY: an event is only written together with the change it describes.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBook(ChangeEvent.Operation operation, Long bookId) {
+        save(ChangeEvent.EntityType.BOOK, bookId, operation, bookId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReview(ChangeEvent.Operation operation, Review review) {
+        save(ChangeEvent.EntityType.REVIEW, review.getId(), operation, review.getBook() != null ? review.getBook().getId() : null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReview(ChangeEvent.Operation operation, Long reviewId, Long bookId) {
+        save(ChangeEvent.EntityType.REVIEW, reviewId, operation, bookId);
+    }
+
+    // Not read-only: the change log is not replicated, so the feed must never be routed to a replica.
+    @Transactional
+    public ChangesResponse getChanges(Long since, Integer limit) {
+        long compactedThrough = changeEventRepository.getCompactedThrough();
+        long cursor = since != null ? since : compactedThrough;
+        if (cursor < compactedThrough) {
+            throw CursorExpiredException.compacted(cursor, compactedThrough);
+        }
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : properties.getDefaultLimit(), properties.getMaxLimit()));
+        // One extra row tells whether the consumer should come back right away.
+        List<ChangeEvent> events = committedInOrder(cursor,
+                changeEventRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(pageSize + 1)));
+        boolean hasMore = events.size() > pageSize;
+        List<ChangeEvent> page = events.subList(0, Math.min(pageSize, events.size()));
+        List<ChangeEventResponse> changes = page.stream()
+                .map(changeEventMapper::toChangeEventResponse)
+                .toList();
+        long nextCursor = changes.isEmpty() ? cursor : changes.get(changes.size() - 1).getId();
+        return new ChangesResponse(changes, nextCursor, hasMore);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${library.changes.compaction-interval-ms:60000}")
+    public int compact() {
+        Long compactUpTo = changeEventRepository.findMaxIdOccurredBefore(Instant.now().minus(properties.getRetention()));
+        if (compactUpTo == null) {
+            return 0;
+        }
+        // Everything up to the id is removed, so the retained log is always a suffix and old cursors can be told apart.
+        int removed = changeEventRepository.deleteUpTo(compactUpTo);
+        changeEventRepository.advanceCompactedThrough(compactUpTo);
+        log.info("Compacted {} change events up to {}", removed, compactUpTo);
+        return removed;
+    }
+
+    // Ids are taken at insert but become visible at commit, so a gap may be a transaction that is still open.
+    // The feed stops in front of it; a gap is only skipped once the event after it is older than the
+    // visibility lag, by then the missing id was rolled back. Otherwise a cursor past it would lose it for good.
+    private List<ChangeEvent> committedInOrder(long cursor, List<ChangeEvent> events) {
+        Instant settledBefore = Instant.now().minus(properties.getVisibilityLag());
+        long expectedId = cursor + 1;
+        for (int i = 0; i < events.size(); i++) {
+            ChangeEvent event = events.get(i);
+            if (event.getId() != expectedId && !event.getOccurredAt().isBefore(settledBefore)) {
+                return events.subList(0, i);
+            }
+            expectedId = event.getId() + 1;
+        }
+        return events;
+    }
+
+    private void save(ChangeEvent.EntityType entityType, Long entityId, ChangeEvent.Operation operation, Long bookId) {
+        ChangeEvent event = changeEventRepository.save(new ChangeEvent(null, entityType, entityId, operation, bookId, Instant.now()));
+        // Lets in-process listeners react after commit without waiting for a poll of the log.
+        applicationEventPublisher.publishEvent(event);
+    }
+}
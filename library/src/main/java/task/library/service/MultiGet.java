@@ -0,0 +1,51 @@
+package task.library.service;
+
+import task.library.config.multiget.MultiGetProperties;
+import task.library.exception.InvalidParameterException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared handling of {@code ?ids=} style requests: validation, IN list chunking and restoring the
+ * order the ids were asked in.
+ */
+final class MultiGet {
+
+    private MultiGet() {
+    }
+
+    static List<Long> distinctIds(String parameter, List<Long> ids, MultiGetProperties properties) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            throw new InvalidParameterException(parameter, "At least one id is required");
+        }
+        if (distinct.size() > properties.getMaxIds()) {
+            throw new InvalidParameterException(parameter, "At most " + properties.getMaxIds() + " ids can be requested at once");
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    static List<List<Long>> chunks(List<Long> ids, int chunkSize) {
+        List<List<Long>> chunks = new ArrayList<>((ids.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    static <T> Map<Long, T> inRequestOrder(List<Long> ids, Map<Long, T> found) {
+        Map<Long, T> ordered = new LinkedHashMap<>(found.size() * 2);
+        for (Long id : ids) {
+            T value = found.get(id);
+            if (value != null) {
+                ordered.put(id, value);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,67 @@
+package task.library.service;
+
+import java.util.Comparator;
+
+/**
+ * What book ratings can be grouped by, with each group's label and the order groups are listed in.
+ */
+public enum RatingDimension {
+
+    AUTHOR("author", Comparator.naturalOrder()) {
+        @Override
+        String groupOf(String author, int publicationYear, int availableCopies) {
+            return author;
+        }
+    },
+
+    DECADE("decade", Comparator.comparingInt(RatingDimension::decadeStart)) {
+        @Override
+        String groupOf(String author, int publicationYear, int availableCopies) {
+            return Math.floorDiv(publicationYear, 10) * 10 + "s";
+        }
+    },
+
+    AVAILABILITY("availability", Comparator.comparingInt(RatingDimension::availabilityRank)) {
+        @Override
+        String groupOf(String author, int publicationYear, int availableCopies) {
+            if (availableCopies <= 0) {
+                return "0";
+            }
+            if (availableCopies <= 2) {
+                return "1-2";
+            }
+            return availableCopies <= 9 ? "3-9" : "10+";
+        }
+    };
+
+    private final String label;
+    private final Comparator<String> order;
+
+    RatingDimension(String label, Comparator<String> order) {
+        this.label = label;
+        this.order = order;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Comparator<String> getOrder() {
+        return order;
+    }
+
+    abstract String groupOf(String author, int publicationYear, int availableCopies);
+
+    private static int decadeStart(String group) {
+        return Integer.parseInt(group.substring(0, group.length() - 1));
+    }
+
+    private static int availabilityRank(String group) {
+        return switch (group) {
+            case "0" -> 0;
+            case "1-2" -> 1;
+            case "3-9" -> 2;
+            default -> 3;
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package task.library.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task.library.config.coalescing.CoalescingProperties;
+import task.library.config.replica.ReplicaRoutingContext;
+import task.library.entity.ChangeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical reads that are in flight at the same time onto one query: the first caller runs
+ * it in a read-only transaction of its own and every caller that arrives meanwhile gets the same result,
+ * or the same exception. Waiting callers hold no connection, and one that waits longer than the
+ * operation's timeout queries on its own.
+ * <p>
+ * A read only joins a query started after the last local write committed, so a client always sees its
+ * own writes. Callers already inside a transaction are never coalesced, since theirs may hold
+ * uncommitted writes.
+ * <p>
+ * The result is handed to other request threads, so a query must return plain values or detached
+ * copies, never managed entities: those belong to the leader's session, which is neither thread-safe nor
+ * open for as long as the others use them.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong writeEpoch = new AtomicLong();
+
+    public ReadCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry,
+                         PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> T read(String operation, List<?> arguments, Supplier<T> query) {
+        if (!properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return readOnlyTransaction.execute(status -> query.get());
+        }
+        // A caller pinned to the primary must not be answered from the replica.
+        Key key = new Key(operation, arguments, ReplicaRoutingContext.isPinnedToPrimary(), writeEpoch.get());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(operation, existing, query);
+        }
+        count(operation, "executed");
+        try {
+            T result = readOnlyTransaction.execute(status -> query.get());
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        writeEpoch.incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(String operation, CompletableFuture<Object> flight, Supplier<T> query) {
+        try {
+            T result = (T) flight.get(properties.timeoutMsFor(operation), TimeUnit.MILLISECONDS);
+            count(operation, "coalesced");
+            return result;
+        } catch (TimeoutException e) {
+            count(operation, "timed-out");
+            return readOnlyTransaction.execute(status -> query.get());
+        } catch (ExecutionException e) {
+            count(operation, "coalesced");
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced read", e);
+        }
+    }
+
+    // "coalesced" counts the queries saved, "executed" the ones that reached the database.
+    private void count(String operation, String result) {
+        meterRegistry.counter("library.coalescing.reads", "operation", operation, "result", result).increment();
+    }
+
+    private record Key(String operation, List<?> arguments, boolean primary, long writeEpoch) {
+    }
+}
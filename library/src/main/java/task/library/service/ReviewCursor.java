@@ -0,0 +1,51 @@
+package task.library.service;
+
+import task.library.dto.ReviewPageResponse;
+import task.library.dto.ReviewResponse;
+import task.library.exception.InvalidParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a newest-first review listing: the next page starts after the review with this creation time
+ * and id. Encoded opaquely, since clients should only ever hand it back.
+ */
+record ReviewCursor(Instant createdAt, long id) {
+
+    static ReviewCursor after(ReviewResponse review) {
+        return new ReviewCursor(review.getCreatedAt(), review.getId());
+    }
+
+    static ReviewCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(cursor);
+            }
+            Instant createdAt = Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS);
+            return new ReviewCursor(createdAt, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParameterException("cursor", "Malformed cursor");
+        }
+    }
+
+    /**
+     * Trims the one row fetched beyond the page and, when it was there, points the cursor at the page's last review.
+     */
+    static ReviewPageResponse page(List<ReviewResponse> rows, int pageSize, long totalCount) {
+        if (rows.size() <= pageSize) {
+            return new ReviewPageResponse(rows, null, totalCount);
+        }
+        List<ReviewResponse> reviews = rows.subList(0, pageSize);
+        return new ReviewPageResponse(reviews, after(reviews.get(pageSize - 1)).encode(), totalCount);
+    }
+
+    String encode() {
+        String value = ChronoUnit.MICROS.between(Instant.EPOCH, createdAt) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,259 @@
+package task.library.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import task.library.config.search.ReviewSearchProperties;
+import task.library.config.sharding.ReviewShards;
+import task.library.entity.ChangeEvent;
+import task.library.repository.ChangeEventRepository;
+import task.library.repository.ReviewSearchIndex;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the review search index in step with the database. The index is rebuilt at startup, unless it was
+ * kept on disk and the change log still holds every event after its stored cursor. Then every change event
+ * is applied by re-reading the review, so rolled back writes never show up and group-committed or sharded
+ * reviews are indexed like the others. Events of this instance are applied once their transaction
+ * commits; those of other instances when the shared change log is polled, the same way the near-cache
+ * invalidator reads it.
+ */
+@Slf4j
+@Component
+public class ReviewSearchIndexer implements SmartLifecycle {
+
+    private static final String SELECT_REVIEWS = "SELECT id, book_id, rating, comment, created_at FROM review";
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReviewSearchIndex index;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<ReviewShards> reviewShards;
+    private final ChangeEventRepository changeEventRepository;
+    private final ReviewSearchProperties properties;
+    // Changes take the read lock, so a rebuild cannot overwrite one that committed while it was scanning.
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    // Two changes to one review apply one after the other, so the later read always wins.
+    private final Object[] reviewLocks = new Object[LOCK_STRIPES];
+    // Event id to occurrence time of everything applied within the reorder window, local events included.
+    private final Map<Long, Instant> recentlyApplied = new ConcurrentHashMap<>();
+
+    private long cursor;
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public ReviewSearchIndexer(ReviewSearchIndex index, JdbcTemplate jdbcTemplate, ObjectProvider<ReviewShards> reviewShards,
+                               ChangeEventRepository changeEventRepository, ReviewSearchProperties properties) {
+        this.index = index;
+        this.jdbcTemplate = jdbcTemplate;
+        this.reviewShards = reviewShards;
+        this.changeEventRepository = changeEventRepository;
+        this.properties = properties;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            reviewLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void start() {
+        Optional<ReviewSearchIndex.ResumePoint> resumePoint = index.resumePoint();
+        if (resumePoint.isPresent() && resumePoint.get().cursor() >= changeEventRepository.getCompactedThrough()) {
+            resume(resumePoint.get());
+        } else {
+            // Taken before the rebuild, so changes committed while it scans are applied again by the first poll.
+            synchronized (this) {
+                cursor = changeEventRepository.findMaxId();
+            }
+            rebuild();
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "review-search-changes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::pollQuietly, properties.getChangePollIntervalMs(),
+                properties.getChangePollIntervalMs(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server starts, so the first search already sees every review.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    // An index on disk already holds every change up to its cursor, so only the ones after it are applied,
+    // along with those below it that were still committing when it was written.
+    private synchronized void resume(ReviewSearchIndex.ResumePoint resumePoint) {
+        cursor = resumePoint.cursor();
+        Instant windowStart = resumePoint.polledAt().minusMillis(properties.getReorderWindowMs());
+        int applied = 0;
+        for (ChangeEvent event : changeEventRepository.findByOccurredAtAfterAndIdLessThanEqual(windowStart, cursor)) {
+            applied += apply(event);
+        }
+        applied += poll();
+        index.refresh();
+        log.info("Resumed the review search index from change {}, {} changes applied", resumePoint.cursor(), applied);
+    }
+
+    /**
+     * Replaces the whole index with the reviews currently in the database and returns how many there are.
+     */
+    public int rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            index.deleteAll();
+            AtomicInteger indexed = new AtomicInteger();
+            for (JdbcTemplate source : sources()) {
+                source.query(SELECT_REVIEWS, (RowCallbackHandler) resultSet -> {
+                    indexRow(resultSet);
+                    indexed.incrementAndGet();
+                });
+            }
+            index.refresh();
+            log.info("Indexed {} reviews for search", indexed.get());
+            return indexed.get();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies every change event committed before the call started and returns how many were applied.
+     */
+    public synchronized int poll() {
+        Instant startedAt = Instant.now();
+        long compactedThrough = changeEventRepository.getCompactedThrough();
+        if (cursor < compactedThrough) {
+            log.warn("Search index cursor {} fell behind compaction at {}, rebuilding the index", cursor, compactedThrough);
+            rebuild();
+            recentlyApplied.clear();
+            cursor = compactedThrough;
+        }
+        int applied = 0;
+        List<ChangeEvent> events;
+        do {
+            events = changeEventRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(properties.getChangeBatchSize()));
+            for (ChangeEvent event : events) {
+                applied += apply(event);
+                cursor = event.getId();
+            }
+        } while (events.size() == properties.getChangeBatchSize());
+        // Ids are taken before commit, so a lower id can become visible after a higher one was applied.
+        Instant windowStart = startedAt.minusMillis(properties.getReorderWindowMs());
+        for (ChangeEvent event : changeEventRepository.findByOccurredAtAfterAndIdLessThanEqual(windowStart, cursor)) {
+            applied += apply(event);
+        }
+        recentlyApplied.values().removeIf(occurredAt -> occurredAt.isBefore(windowStart));
+        index.setResumePoint(new ReviewSearchIndex.ResumePoint(cursor, startedAt));
+        return applied;
+    }
+
+    /**
+     * Changes made by this instance are indexed as soon as they commit, without waiting for the next poll.
+     */
+    @TransactionalEventListener
+    public void onChange(ChangeEvent event) {
+        recentlyApplied.put(event.getId(), event.getOccurredAt());
+        index(event);
+    }
+
+    private int apply(ChangeEvent event) {
+        if (recentlyApplied.putIfAbsent(event.getId(), event.getOccurredAt()) != null) {
+            return 0;
+        }
+        index(event);
+        return 1;
+    }
+
+    private void index(ChangeEvent event) {
+        rebuildLock.readLock().lock();
+        try {
+            if (event.getEntityType() == ChangeEvent.EntityType.BOOK) {
+                // A book's reviews go with it without events of their own.
+                if (event.getOperation() == ChangeEvent.Operation.DELETED) {
+                    index.deleteByBook(event.getEntityId());
+                }
+                return;
+            }
+            synchronized (reviewLocks[Math.floorMod(event.getEntityId().hashCode(), LOCK_STRIPES)]) {
+                reindex(event);
+            }
+        } catch (RuntimeException e) {
+            // The write itself has committed; only search misses it, until the review changes again.
+            log.warn("Could not index {} of review {}", event.getOperation(), event.getEntityId(), e);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void reindex(ChangeEvent event) {
+        if (event.getOperation() == ChangeEvent.Operation.DELETED) {
+            index.delete(event.getEntityId());
+            return;
+        }
+        AtomicInteger found = new AtomicInteger();
+        sourceFor(event.getBookId()).query(SELECT_REVIEWS + " WHERE id = ?", (RowCallbackHandler) resultSet -> {
+            indexRow(resultSet);
+            found.incrementAndGet();
+        }, event.getEntityId());
+        if (found.get() == 0) {
+            // Deleted again before this event was applied.
+            index.delete(event.getEntityId());
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Search index change poll failed, writes of other instances are not searchable yet", e);
+        }
+    }
+
+    private void indexRow(ResultSet resultSet) throws SQLException {
+        index.index(resultSet.getLong("id"), resultSet.getLong("book_id"), resultSet.getInt("rating"),
+                resultSet.getString("comment"), resultSet.getObject("created_at", OffsetDateTime.class).toInstant());
+    }
+
+    private List<JdbcTemplate> sources() {
+        ReviewShards shards = reviewShards.getIfAvailable();
+        return shards != null ? shards.all() : List.of(jdbcTemplate);
+    }
+
+    private JdbcTemplate sourceFor(Long bookId) {
+        ReviewShards shards = reviewShards.getIfAvailable();
+        return shards != null ? shards.forBook(bookId) : jdbcTemplate;
+    }
+}
@@ -1,10 +1,13 @@
 package task.library.service;
 
 import task.library.dto.BookRatingResponse;
+import task.library.dto.ReviewPageResponse;
 import task.library.dto.ReviewRequest;
+import task.library.dto.ReviewSearchResponse;
 import task.library.entity.Review;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ReviewService {
 
@@ -12,6 +15,14 @@ public interface ReviewService {
 
     List<Review> getAllReviewsForBook(Long bookId);
 
+    List<Map<String, Object>> getAllReviewsForBook(Long bookId, String fields);
+
+    ReviewPageResponse getReviewPage(Long bookId, String cursor, Integer limit);
+
+    ReviewSearchResponse searchReviews(String query, Long bookId, Integer offset, Integer limit);
+
+    Map<Long, List<Review>> getReviewsForBooks(List<Long> bookIds);
+
     Review updateReview(Long reviewId, ReviewRequest reviewRequest);
 
     void deleteReview(Long reviewId);
@@ -1,66 +1,187 @@
 package task.library.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import task.library.config.multiget.MultiGetProperties;
+import task.library.config.nearcache.NearCacheConfiguration;
+import task.library.config.reviews.ReviewPageProperties;
 import task.library.dto.BookRatingResponse;
+import task.library.dto.ReviewPageResponse;
 import task.library.dto.ReviewRequest;
-import task.library.entity.Book;
+import task.library.dto.ReviewResponse;
+import task.library.dto.ReviewSearchResponse;
+import task.library.entity.ChangeEvent;
 import task.library.entity.Review;
 import task.library.exception.NotFoundException;
 import task.library.repository.ReviewRepository;
 import task.library.repository.BookRepository;
+import task.library.repository.FieldProjection;
+import task.library.repository.ProjectionRepository;
+import task.library.repository.ReviewGroupCommitter;
+import task.library.repository.ReviewSearchIndex;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "library.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+@Observed(name = "library.review-service")
 public class ReviewServiceImpl implements ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final BookRepository bookRepository;
+    private final ReviewGroupCommitter reviewGroupCommitter;
+    private final ChangeLogService changeLogService;
+    private final ProjectionRepository projectionRepository;
+    private final MultiGetProperties multiGetProperties;
+    private final ReviewPageProperties reviewPageProperties;
+    private final ReviewSearchIndex reviewSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadCoalescer readCoalescer;
 
+    public ReviewServiceImpl(ReviewRepository reviewRepository, BookRepository bookRepository,
+                             ReviewGroupCommitter reviewGroupCommitter, ChangeLogService changeLogService,
+                             PlatformTransactionManager transactionManager, ProjectionRepository projectionRepository,
+                             MultiGetProperties multiGetProperties, ReviewPageProperties reviewPageProperties,
+                             ReviewSearchIndex reviewSearchIndex, ReadCoalescer readCoalescer) {
+        this.reviewRepository = reviewRepository;
+        this.bookRepository = bookRepository;
+        this.reviewGroupCommitter = reviewGroupCommitter;
+        this.changeLogService = changeLogService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.projectionRepository = projectionRepository;
+        this.multiGetProperties = multiGetProperties;
+        this.reviewPageProperties = reviewPageProperties;
+        this.reviewSearchIndex = reviewSearchIndex;
+        this.readCoalescer = readCoalescer;
+    }
+
+    // No surrounding transaction: a caller waiting for its group commit must not hold a pooled connection.
     public Review addReviewToBook(Long bookId, ReviewRequest reviewRequest) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> NotFoundException.notFoundBook(bookId));
+        // Only the foreign key is needed, so the book is not loaded; the insert itself tells whether it exists.
         Review review = new Review();
         review.setRating(reviewRequest.getRating());
         review.setComment(reviewRequest.getComment());
-        review.setBook(book);
-        return reviewRepository.save(review);
-
+        review.setBook(bookRepository.getReferenceById(bookId));
+        try {
+            if (reviewGroupCommitter.isEnabled()) {
+                return reviewGroupCommitter.insert(review);
+            }
+            return transactionTemplate.execute(status -> {
+                Review savedReview = reviewRepository.save(review);
+                bookRepository.addToReviewCount(bookId, 1);
+                changeLogService.recordReview(ChangeEvent.Operation.CREATED, savedReview);
+                return savedReview;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A validated review can only violate the foreign key to its book.
+            throw NotFoundException.notFoundBook(bookId);
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<Review> getAllReviewsForBook(Long bookId) {
-        Book book = bookRepository.findById(bookId)
+        List<Review> reviews = reviewRepository.findAllByBookIdOrderByCreatedAtDescIdDesc(bookId);
+        if (reviews.isEmpty()) {
+            // Only an empty result needs the second lookup to tell which 404 it is.
+            if (!bookRepository.existsById(bookId)) {
+                throw NotFoundException.notFoundBook(bookId);
+            }
+            throw NotFoundException.notFoundReviewsForBook(bookId);
+        }
+        return reviews;
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewPageResponse getReviewPage(Long bookId, String cursor, Integer limit) {
+        ReviewCursor after = cursor != null ? ReviewCursor.decode(cursor) : null;
+        long totalCount = bookRepository.findReviewCount(bookId)
                 .orElseThrow(() -> NotFoundException.notFoundBook(bookId));
-        List<Review> reviews = reviewRepository.findAllByBook(book);
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : reviewPageProperties.getDefaultLimit(),
+                reviewPageProperties.getMaxLimit()));
+        // One extra row tells whether there is a next page.
+        List<ReviewResponse> reviews = after == null
+                ? reviewRepository.findLatestByBookId(bookId, Limit.of(pageSize + 1))
+                : reviewRepository.findLatestByBookIdBefore(bookId, after.createdAt(), after.id(), Limit.of(pageSize + 1));
+        return ReviewCursor.page(reviews, pageSize, totalCount);
+    }
+
+    public ReviewSearchResponse searchReviews(String query, Long bookId, Integer offset, Integer limit) {
+        return readCoalescer.read("review-search", Arrays.asList(query, bookId, offset, limit), () -> {
+            if (bookId != null && !bookRepository.existsById(bookId)) {
+                throw NotFoundException.notFoundBook(bookId);
+            }
+            return reviewSearchIndex.search(query, bookId, offset, limit);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllReviewsForBook(Long bookId, String fields) {
+        List<String> selected = FieldProjection.REVIEW.parse(fields);
+        if (!bookRepository.existsById(bookId)) {
+            throw NotFoundException.notFoundBook(bookId);
+        }
+        List<Map<String, Object>> reviews = projectionRepository.findReviewsByBookId(bookId, selected);
         if (reviews.isEmpty()) {
             throw NotFoundException.notFoundReviewsForBook(bookId);
         }
         return reviews;
     }
 
+    // Reviews of the books that exist, keyed by book id in request order; books without reviews map to an empty list.
+    @Transactional(readOnly = true)
+    public Map<Long, List<Review>> getReviewsForBooks(List<Long> bookIds) {
+        List<Long> distinctIds = MultiGet.distinctIds("bookIds", bookIds, multiGetProperties);
+        Map<Long, List<Review>> found = new HashMap<>();
+        for (List<Long> chunk : MultiGet.chunks(distinctIds, multiGetProperties.getChunkSize())) {
+            for (Object[] row : reviewRepository.findReviewsByBookIds(chunk)) {
+                List<Review> reviews = found.computeIfAbsent((Long) row[0], id -> new ArrayList<>());
+                if (row[1] != null) {
+                    reviews.add((Review) row[1]);
+                }
+            }
+        }
+        return MultiGet.inRequestOrder(distinctIds, found);
+    }
+
+    @Transactional
     public Review updateReview(Long reviewId, ReviewRequest reviewRequest) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> NotFoundException.notFoundReview(reviewId));
         review.setRating(reviewRequest.getRating());
         review.setComment(reviewRequest.getComment());
-        return reviewRepository.save(review);
+        Review updatedReview = reviewRepository.save(review);
+        changeLogService.recordReview(ChangeEvent.Operation.UPDATED, review);
+        return updatedReview;
     }
 
+    @Transactional
     public void deleteReview(Long reviewId) {
-        if (!reviewRepository.existsById(reviewId)) {
-            throw NotFoundException.notFoundReview(reviewId);
-        }
-        reviewRepository.deleteById(reviewId);
+        Long bookId = reviewRepository.deleteReviewById(reviewId)
+                .orElseThrow(() -> NotFoundException.notFoundReview(reviewId));
+        bookRepository.addToReviewCount(bookId, -1);
+        changeLogService.recordReview(ChangeEvent.Operation.DELETED, reviewId, bookId);
     }
 
+    @Cacheable(cacheNames = NearCacheConfiguration.BOOK_RATINGS, sync = true)
     public List<BookRatingResponse> getAverageRatingsForBooks() {
-        List<BookRatingResponse> ratingsForBooks = reviewRepository.getAverageRatingsForBooks();
-        if (ratingsForBooks.isEmpty()) {
-            throw NotFoundException.notFoundAnyRatingForAnyBook();
-        }
-        return ratingsForBooks;
+        return readCoalescer.read("average-ratings", List.of(), () -> {
+            List<BookRatingResponse> ratingsForBooks = reviewRepository.getAverageRatingsForBooks();
+            if (ratingsForBooks.isEmpty()) {
+                throw NotFoundException.notFoundAnyRatingForAnyBook();
+            }
+            return ratingsForBooks;
+        });
     }
 
 }
@@ -0,0 +1,99 @@
+package task.library.service;
+
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import task.library.config.feign.AuthorClient;
+import task.library.config.multiget.MultiGetProperties;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.exception.NotFoundException;
+import task.library.repository.BookRepository;
+import task.library.repository.CatalogSnapshot;
+import task.library.repository.ProjectionRepository;
+import task.library.repository.ReviewRepository;
+import task.library.repository.ShardedReviewRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Book operations that touch reviews, for when reviews live on the shards instead of next to the books.
+ */
+@Service
+@Observed(name = "library.book-service")
+@ConditionalOnProperty(prefix = "library.sharding", name = "enabled", havingValue = "true")
+public class ShardedBookServiceImpl extends BookServiceImpl {
+
+    private static final double HIGH_RATING = 4;
+
+    private final BookRepository bookRepository;
+    private final MultiGetProperties multiGetProperties;
+    private final ShardedReviewRepository shardedReviewRepository;
+
+    public ShardedBookServiceImpl(BookRepository bookRepository, ReviewRepository reviewRepository,
+                                  AuthorClient authorClient, ChangeLogService changeLogService,
+                                  ProjectionRepository projectionRepository, MultiGetProperties multiGetProperties,
+                                  CatalogSnapshot catalogSnapshot, ReadCoalescer readCoalescer,
+                                  ShardedReviewRepository shardedReviewRepository) {
+        super(bookRepository, reviewRepository, authorClient, changeLogService, projectionRepository, multiGetProperties,
+                catalogSnapshot, readCoalescer);
+        this.bookRepository = bookRepository;
+        this.multiGetProperties = multiGetProperties;
+        this.shardedReviewRepository = shardedReviewRepository;
+    }
+
+    @Override
+    @Transactional
+    public void deleteBook(Long id) {
+        super.deleteBook(id);
+        // Runs before the book deletion commits, so a failing shard rolls the book back too.
+        shardedReviewRepository.deleteAllByBookId(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> getBooksWithHighRatingsNativeSQL() {
+        return getBooksWithHighRatings();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> getBooksWithHighRatingsJPQL() {
+        return getBooksWithHighRatings();
+    }
+
+    private List<Book> getBooksWithHighRatings() {
+        List<Long> bookIds = shardedReviewRepository.getRatingTotalsByBook().values().stream()
+                .filter(totals -> totals.average() >= HIGH_RATING)
+                .map(ShardedReviewRepository.RatingTotals::bookId)
+                .toList();
+        List<Book> books = bookRepository.findAllById(bookIds);
+        if (books.isEmpty()) {
+            throw NotFoundException.notFoundBookWithHighRating();
+        }
+        return withReviews(books);
+    }
+
+    // Book.reviews maps the primary's review table, which holds none of them; the copies carry the
+    // reviews from the shards instead, one query per shard for each IN list chunk.
+    @Override
+    protected List<Book> withReviews(List<Book> books) {
+        List<Review> reviews = new ArrayList<>();
+        for (List<Long> chunk : MultiGet.chunks(books.stream().map(Book::getId).toList(), multiGetProperties.getChunkSize())) {
+            reviews.addAll(shardedReviewRepository.findAllByBookIds(chunk));
+        }
+        Map<Long, List<Review>> reviewsByBook = reviews.stream()
+                .sorted(Comparator.comparing(Review::getId))
+                .collect(Collectors.groupingBy(review -> review.getBook().getId()));
+        List<Book> detached = new ArrayList<>(books.size());
+        for (Book book : books) {
+            detached.add(detachedCopy(book, reviewsByBook.getOrDefault(book.getId(), List.of())));
+        }
+        return detached;
+    }
+}
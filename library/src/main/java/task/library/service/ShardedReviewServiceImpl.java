@@ -0,0 +1,156 @@
+package task.library.service;
+
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import task.library.config.multiget.MultiGetProperties;
+import task.library.config.nearcache.NearCacheConfiguration;
+import task.library.config.reviews.ReviewPageProperties;
+import task.library.dto.BookRatingResponse;
+import task.library.dto.ReviewPageResponse;
+import task.library.dto.ReviewRequest;
+import task.library.dto.ReviewResponse;
+import task.library.dto.ReviewSearchResponse;
+import task.library.entity.Book;
+import task.library.entity.ChangeEvent;
+import task.library.entity.Review;
+import task.library.exception.NotFoundException;
+import task.library.repository.BookRepository;
+import task.library.repository.FieldProjection;
+import task.library.repository.ReviewSearchIndex;
+import task.library.repository.ShardedReviewRepository;
+import task.library.repository.ShardedReviewRepository.RatingTotals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Observed(name = "library.review-service")
+@ConditionalOnProperty(prefix = "library.sharding", name = "enabled", havingValue = "true")
+public class ShardedReviewServiceImpl implements ReviewService {
+
+    private final ShardedReviewRepository shardedReviewRepository;
+    private final BookRepository bookRepository;
+    private final ChangeLogService changeLogService;
+    private final MultiGetProperties multiGetProperties;
+    private final ReviewPageProperties reviewPageProperties;
+    private final ReviewSearchIndex reviewSearchIndex;
+
+    // The event commits with the book database, not the shard: a shard write whose event fails to commit
+    // is still visible, so consumers of the change feed may miss it until the review changes again.
+    @Transactional
+    public Review addReviewToBook(Long bookId, ReviewRequest reviewRequest) {
+        // The counter update tells whether the book exists, so it is never loaded and a missing book never
+        // reaches the shard; the shards have no foreign key to catch it.
+        if (bookRepository.addToReviewCount(bookId, 1) == 0) {
+            throw NotFoundException.notFoundBook(bookId);
+        }
+        Review review = new Review();
+        review.setRating(reviewRequest.getRating());
+        review.setComment(reviewRequest.getComment());
+        review.setBook(bookRepository.getReferenceById(bookId));
+        Review savedReview = shardedReviewRepository.save(review);
+        changeLogService.recordReview(ChangeEvent.Operation.CREATED, savedReview);
+        return savedReview;
+    }
+
+    public List<Review> getAllReviewsForBook(Long bookId) {
+        if (!bookRepository.existsById(bookId)) {
+            throw NotFoundException.notFoundBook(bookId);
+        }
+        List<Review> reviews = shardedReviewRepository.findAllByBookId(bookId);
+        if (reviews.isEmpty()) {
+            throw NotFoundException.notFoundReviewsForBook(bookId);
+        }
+        return reviews;
+    }
+
+    // The count comes from the primary, the page from the single shard that holds the book.
+    @Transactional(readOnly = true)
+    public ReviewPageResponse getReviewPage(Long bookId, String cursor, Integer limit) {
+        ReviewCursor after = cursor != null ? ReviewCursor.decode(cursor) : null;
+        long totalCount = bookRepository.findReviewCount(bookId)
+                .orElseThrow(() -> NotFoundException.notFoundBook(bookId));
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : reviewPageProperties.getDefaultLimit(),
+                reviewPageProperties.getMaxLimit()));
+        List<ReviewResponse> reviews = shardedReviewRepository.findLatestByBookId(bookId,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null, pageSize + 1);
+        return ReviewCursor.page(reviews, pageSize, totalCount);
+    }
+
+    // The index spans every shard, so one search covers all of them.
+    public ReviewSearchResponse searchReviews(String query, Long bookId, Integer offset, Integer limit) {
+        if (bookId != null && !bookRepository.existsById(bookId)) {
+            throw NotFoundException.notFoundBook(bookId);
+        }
+        return reviewSearchIndex.search(query, bookId, offset, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllReviewsForBook(Long bookId, String fields) {
+        List<String> selected = FieldProjection.REVIEW.parse(fields);
+        if (!bookRepository.existsById(bookId)) {
+            throw NotFoundException.notFoundBook(bookId);
+        }
+        List<Map<String, Object>> reviews = shardedReviewRepository.findAllByBookId(bookId, selected);
+        if (reviews.isEmpty()) {
+            throw NotFoundException.notFoundReviewsForBook(bookId);
+        }
+        return reviews;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, List<Review>> getReviewsForBooks(List<Long> bookIds) {
+        List<Long> distinctIds = MultiGet.distinctIds("bookIds", bookIds, multiGetProperties);
+        Map<Long, List<Review>> found = new HashMap<>();
+        for (List<Long> chunk : MultiGet.chunks(distinctIds, multiGetProperties.getChunkSize())) {
+            bookRepository.findExistingIds(chunk).forEach(id -> found.put(id, new ArrayList<>()));
+        }
+        List<Long> existingIds = distinctIds.stream().filter(found::containsKey).toList();
+        for (List<Long> chunk : MultiGet.chunks(existingIds, multiGetProperties.getChunkSize())) {
+            shardedReviewRepository.findAllByBookIds(chunk)
+                    .forEach(review -> found.get(review.getBook().getId()).add(review));
+        }
+        return MultiGet.inRequestOrder(distinctIds, found);
+    }
+
+    @Transactional
+    public Review updateReview(Long reviewId, ReviewRequest reviewRequest) {
+        Review review = shardedReviewRepository.findById(reviewId)
+                .orElseThrow(() -> NotFoundException.notFoundReview(reviewId));
+        review.setRating(reviewRequest.getRating());
+        review.setComment(reviewRequest.getComment());
+        Review updatedReview = shardedReviewRepository.save(review);
+        changeLogService.recordReview(ChangeEvent.Operation.UPDATED, updatedReview);
+        return updatedReview;
+    }
+
+    @Transactional
+    public void deleteReview(Long reviewId) {
+        // One scatter that deletes and returns the book, like ReviewRepositoryCustomImpl does on the primary.
+        Long bookId = shardedReviewRepository.deleteById(reviewId)
+                .orElseThrow(() -> NotFoundException.notFoundReview(reviewId));
+        bookRepository.addToReviewCount(bookId, -1);
+        changeLogService.recordReview(ChangeEvent.Operation.DELETED, reviewId, bookId);
+    }
+
+    @Cacheable(cacheNames = NearCacheConfiguration.BOOK_RATINGS, sync = true)
+    public List<BookRatingResponse> getAverageRatingsForBooks() {
+        Map<Long, RatingTotals> totals = shardedReviewRepository.getRatingTotalsByBook();
+        List<BookRatingResponse> ratingsForBooks = bookRepository.findAllById(totals.keySet()).stream()
+                .sorted(Comparator.comparing(Book::getId))
+                .map(book -> new BookRatingResponse(book.getTitle(), totals.get(book.getId()).average()))
+                .toList();
+        if (ratingsForBooks.isEmpty()) {
+            throw NotFoundException.notFoundAnyRatingForAnyBook();
+        }
+        return ratingsForBooks;
+    }
+}
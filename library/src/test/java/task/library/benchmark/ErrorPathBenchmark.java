@@ -0,0 +1,117 @@
+package task.library.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import task.library.config.errors.ErrorResponseProperties;
+import task.library.exception.GlobalExceptionHandler;
+import task.library.exception.NotFoundException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering an unknown id or an empty list: throw at the bottom of a call stack, catch at the
+ * top, build the body and serialize it. The legacy path is the one this replaced: a formatted message,
+ * a filled-in stack trace and a fresh map per error.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ErrorPathBenchmark}
+ * and add {@code -prof gc} to the include to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ErrorPathBenchmark {
+
+    // Roughly the depth between a Spring MVC dispatcher and a repository call.
+    @Param({"20", "120"})
+    public int stackDepth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new ErrorResponseProperties());
+
+    @Benchmark
+    public byte[] legacyUnknownId() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1_000_000);
+        try {
+            throwAt(stackDepth, () -> {
+                throw new LegacyNotFoundException(String.format("Book with ID %d not found", id));
+            });
+            return null;
+        } catch (LegacyNotFoundException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Not Found");
+            errorResponse.put("message", e.getMessage());
+            return objectMapper.writeValueAsBytes(errorResponse);
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessUnknownId() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1_000_000);
+        try {
+            throwAt(stackDepth, () -> {
+                throw NotFoundException.notFoundBook(id);
+            });
+            return null;
+        } catch (NotFoundException e) {
+            return objectMapper.writeValueAsBytes(handler.handleNotFoundException(e).getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyEmptyList() throws Exception {
+        try {
+            throwAt(stackDepth, () -> {
+                throw new LegacyNotFoundException("Books not found");
+            });
+            return null;
+        } catch (LegacyNotFoundException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Not Found");
+            errorResponse.put("message", e.getMessage());
+            return objectMapper.writeValueAsBytes(errorResponse);
+        }
+    }
+
+    @Benchmark
+    public byte[] preallocatedEmptyList() throws Exception {
+        try {
+            throwAt(stackDepth, () -> {
+                throw NotFoundException.notFoundBooks();
+            });
+            return null;
+        } catch (NotFoundException e) {
+            return objectMapper.writeValueAsBytes(handler.handleNotFoundException(e).getBody());
+        }
+    }
+
+    private static void throwAt(int depth, Runnable thrower) {
+        if (depth == 0) {
+            thrower.run();
+        } else {
+            throwAt(depth - 1, thrower);
+        }
+    }
+
+    private static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package task.library.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read and write throughput of the in-memory and file-backed storage modes.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=StorageBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class StorageBenchmark {
+
+    private static final int BOOKS = 1_000;
+    private static final int REVIEWS_PER_BOOK = 5;
+
+    @Param({StorageFixture.MEMORY, StorageFixture.FILE})
+    public String mode;
+
+    private Path directory;
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = StorageFixture.createDirectory();
+        dataSource = StorageFixture.dataSource(StorageFixture.url(mode, directory));
+        StorageFixture.migrate(dataSource);
+        StorageFixture.seed(dataSource, BOOKS, REVIEWS_PER_BOOK);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dataSource.close();
+        StorageFixture.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void readReviewsForBook(Blackhole blackhole) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id, rating, comment FROM review WHERE book_id = ?")) {
+            statement.setLong(1, randomBookId());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getLong(1));
+                    blackhole.consume(resultSet.getInt(2));
+                    blackhole.consume(resultSet.getString(3));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int writeReview() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO review (rating, comment, book_id) VALUES (?, ?, ?)")) {
+            statement.setInt(1, 4);
+            statement.setString(2, "Benchmark review");
+            statement.setLong(3, randomBookId());
+            return statement.executeUpdate();
+        }
+    }
+
+    private static long randomBookId() {
+        return ThreadLocalRandom.current().nextLong(1, BOOKS + 1);
+    }
+}
@@ -0,0 +1,91 @@
+package task.library.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Builds the two storage modes with the same pool settings and schema as the application,
+ * so the benchmarks only differ in what H2 does underneath.
+ */
+final class StorageFixture {
+
+    static final String MEMORY = "memory";
+    static final String FILE = "file";
+
+    private static final String FILE_SETTINGS =
+            ";CACHE_SIZE=65536;WRITE_DELAY=500;MAX_COMPACT_TIME=2000;QUERY_CACHE_SIZE=64;DB_CLOSE_ON_EXIT=FALSE";
+
+    private StorageFixture() {
+    }
+
+    static Path createDirectory() throws IOException {
+        return Files.createTempDirectory("library-storage");
+    }
+
+    static void deleteDirectory(Path directory) throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    static String url(String mode, Path directory) {
+        if (MEMORY.equals(mode)) {
+            return "jdbc:h2:mem:" + UUID.randomUUID() + ";QUERY_CACHE_SIZE=64";
+        }
+        return "jdbc:h2:file:" + directory.resolve("libdb").toAbsolutePath() + FILE_SETTINGS;
+    }
+
+    static HikariDataSource dataSource(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setPassword("password");
+        config.setMaximumPoolSize(10);
+        config.setMinimumIdle(10);
+        config.setConnectionTimeout(2000);
+        return new HikariDataSource(config);
+    }
+
+    static void migrate(HikariDataSource dataSource) throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    static void seed(HikariDataSource dataSource, int books, int reviewsPerBook) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertBook = connection.prepareStatement(
+                    "INSERT INTO book (title, author, publication_year, available_copies) VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < books; i++) {
+                    insertBook.setString(1, "Book " + i);
+                    insertBook.setString(2, "Author " + i % 100);
+                    insertBook.setInt(3, 1950 + i % 70);
+                    insertBook.setInt(4, i % 10);
+                    insertBook.addBatch();
+                }
+                insertBook.executeBatch();
+            }
+            try (PreparedStatement insertReview = connection.prepareStatement(
+                    "INSERT INTO review (rating, comment, book_id) SELECT ?, ?, id FROM book")) {
+                for (int i = 0; i < reviewsPerBook; i++) {
+                    insertReview.setInt(1, i % 5 + 1);
+                    insertReview.setString(2, "Review " + i);
+                    insertReview.executeUpdate();
+                }
+            }
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package task.library.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time until the catalog is back after a restart. The file-backed mode reopens the
+ * existing database, the in-memory mode has to recreate the schema and reload the data.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=StorageRecoveryBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StorageRecoveryBenchmark {
+
+    private static final int BOOKS = 10_000;
+    private static final int REVIEWS_PER_BOOK = 10;
+
+    @Param({StorageFixture.MEMORY, StorageFixture.FILE})
+    public String mode;
+
+    private Path directory;
+    private String url;
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void prepare() throws Exception {
+        directory = StorageFixture.createDirectory();
+        if (StorageFixture.FILE.equals(mode)) {
+            url = StorageFixture.url(mode, directory);
+            try (HikariDataSource initial = StorageFixture.dataSource(url)) {
+                StorageFixture.migrate(initial);
+                StorageFixture.seed(initial, BOOKS, REVIEWS_PER_BOOK);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void selectUrl() {
+        if (StorageFixture.MEMORY.equals(mode)) {
+            url = StorageFixture.url(mode, directory);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeDataSource() {
+        dataSource.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws Exception {
+        StorageFixture.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public long recover() throws Exception {
+        dataSource = StorageFixture.dataSource(url);
+        if (StorageFixture.MEMORY.equals(mode)) {
+            StorageFixture.migrate(dataSource);
+            StorageFixture.seed(dataSource, BOOKS, REVIEWS_PER_BOOK);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM review")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
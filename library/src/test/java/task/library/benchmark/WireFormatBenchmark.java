@@ -0,0 +1,107 @@
+package task.library.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import task.library.entity.Book;
+import task.library.entity.Review;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode time of a book listing per wire format, with and without the gzip step the
+ * server applies above its size threshold. The encoded size of each combination is printed once per
+ * trial, since JMH itself only reports time.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=WireFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<Book>> BOOKS = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"100", "1000"})
+    public int books;
+
+    private ObjectMapper mapper;
+    private List<Book> payload;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "smile" -> new SmileMapper();
+            case "cbor" -> new CBORMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+        payload = new ArrayList<>(books);
+        for (long i = 0; i < books; i++) {
+            Book book = new Book(i, "Java Programming, volume " + i, "Author " + (i % 50), 1990 + (int) (i % 35), (int) (i % 7));
+            for (int r = 0; r < 3; r++) {
+                Review review = new Review();
+                review.setId(i * 3 + r);
+                review.setRating(1 + (int) ((i + r) % 5));
+                review.setComment("Review " + r + " of book " + i);
+                book.getReviews().add(review);
+            }
+            payload.add(book);
+        }
+        encoded = encode();
+        System.out.printf("%n%s gzip=%s books=%d: %d bytes%n", format, gzip, books, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(payload);
+        if (!gzip) {
+            return bytes;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<Book> decode() throws IOException {
+        if (!gzip) {
+            return mapper.readValue(encoded, BOOKS);
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return mapper.readValue(in, BOOKS);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package task.library.config.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void testClassifiesByMethodAndPath() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(Map.of(), Map.of(), new ConcurrencyLimitProperties(),
+                new ObjectMapper());
+
+        assertEquals(RequestClass.READ, filter.classify(new MockHttpServletRequest("GET", "/api/books/1")));
+        assertEquals(RequestClass.WRITE, filter.classify(new MockHttpServletRequest("POST", "/api/books")));
+        assertEquals(RequestClass.AGGREGATE, filter.classify(new MockHttpServletRequest("GET", "/api/books/filter")));
+        assertEquals(RequestClass.AGGREGATE, filter.classify(new MockHttpServletRequest("GET", "/api/books/high-ratings-jpql")));
+        assertEquals(RequestClass.REMOTE, filter.classify(new MockHttpServletRequest("GET", "/api/books/1/author-details")));
+    }
+}
@@ -0,0 +1,80 @@
+package task.library.config.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void testRejectsOverTheLimit() {
+        GradientLimit limit = limit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(FAST);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void testGrowsWhileSaturatedAndLatencyIsSteady() {
+        GradientLimit limit = limit(4, 1, 20);
+
+        for (int i = 0; i < 50; i++) {
+            saturate(limit, FAST);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void testShrinksWhenLatencyRises() {
+        GradientLimit limit = limit(20, 2, 20);
+        for (int i = 0; i < 20; i++) {
+            saturate(limit, FAST);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limit, SLOW);
+        }
+
+        assertTrue(limit.getLimit() < 10, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    void testDoesNotGrowWhileMostlyIdle() {
+        GradientLimit limit = limit(10, 1, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(FAST);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    private static GradientLimit limit(int initial, int min, int max) {
+        return new GradientLimit(new ConcurrencyLimitProperties.Limit(initial, min, max), 1.5, 0.2, 600);
+    }
+
+    // Fills the limit, then completes the requests one by one.
+    private static void saturate(GradientLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package task.library.config.feign;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import task.library.config.web.WireFormatConfiguration;
+import task.library.dto.AuthorDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorClientWireFormatTest {
+
+    @Test
+    void testClientPrefersSmileAndFallsBackToJson() {
+        List<MethodMetadata> methods = new SpringMvcContract().parseAndValidateMetadata(AuthorClient.class);
+
+        Collection<String> accept = methods.get(0).template().headers().get(HttpHeaders.ACCEPT);
+        String value = String.join(",", accept);
+        assertTrue(value.startsWith(WireFormatConfiguration.APPLICATION_SMILE.toString()), value);
+        assertTrue(value.contains("application/json"), value);
+    }
+
+    @Test
+    void testDecoderReadsSmileAndJson() throws Exception {
+        AuthorDetails author = new AuthorDetails("A renowned Java developer...", "American");
+        byte[] smile = new SmileMapper().writeValueAsBytes(author);
+        byte[] json = "{\"biography\":\"A renowned Java developer...\",\"nationality\":\"American\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        feign.codec.Decoder decoder = new FeignConfiguration().feignDecoder(HttpMessageConverters::new,
+                new DefaultListableBeanFactory().getBeanProvider(HttpMessageConverterCustomizer.class),
+                Jackson2ObjectMapperBuilder.json());
+
+        AuthorDetails fromSmile = (AuthorDetails) decoder.decode(response(smile, "application/x-jackson-smile"), AuthorDetails.class);
+        AuthorDetails fromJson = (AuthorDetails) decoder.decode(response(json, "application/json"), AuthorDetails.class);
+
+        assertEquals("American", fromSmile.getNationality());
+        assertEquals(fromJson.getBiography(), fromSmile.getBiography());
+    }
+
+    private static Response response(byte[] body, String contentType) {
+        Request request = Request.create(Request.HttpMethod.GET, "http://localhost:8080/api/authors/John%20Doe",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of(HttpHeaders.CONTENT_TYPE, List.of(contentType)))
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package task.library.config.feign;
+
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HttpCachingClientTest {
+
+    private static final String URL = "http://localhost:8080/api/authors/John%20Doe";
+    private static final String BODY = "{\"biography\":\"A renowned Java developer...\",\"nationality\":\"American\"}";
+
+    private final MutableClock clock = new MutableClock();
+    private final List<Request> sent = new ArrayList<>();
+    private final List<Response.Builder> responses = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HttpCachingClient client = new HttpCachingClient((request, options) -> {
+        sent.add(request);
+        return responses.remove(0).request(request).build();
+    }, 100, meterRegistry, clock);
+
+    @Test
+    void testFreshResponseIsServedLocallyAndStaleOneIsRevalidated() throws IOException {
+        responses.add(ok("max-age=60"));
+        assertEquals(BODY, body(client.execute(get(), options())));
+
+        clock.advance(59_000);
+        assertEquals(BODY, body(client.execute(get(), options())));
+        assertEquals(1, sent.size());
+
+        clock.advance(2_000);
+        responses.add(Response.builder().status(304).headers(Map.of(
+                "ETag", List.of("\"v1\""), "Cache-Control", List.of("max-age=60"))));
+        Response revalidated = client.execute(get(), options());
+        assertEquals(200, revalidated.status());
+        assertEquals(BODY, body(revalidated));
+        assertEquals(List.of("\"v1\""), List.copyOf(sent.get(1).headers().get("If-None-Match")));
+
+        // The 304 renewed the freshness.
+        client.execute(get(), options());
+        assertEquals(2, sent.size());
+        assertEquals(2, meterRegistry.counter("library.author-client.cache", "result", "hit").count());
+        assertEquals(1, meterRegistry.counter("library.author-client.cache", "result", "revalidated").count());
+    }
+
+    @Test
+    void testChangedResponseReplacesTheCachedOne() throws IOException {
+        responses.add(ok("no-cache"));
+        client.execute(get(), options());
+        responses.add(Response.builder().status(200).headers(Map.of("Cache-Control", List.of("max-age=60")))
+                .body("{\"nationality\":\"Canadian\"}", StandardCharsets.UTF_8));
+
+        assertEquals("{\"nationality\":\"Canadian\"}", body(client.execute(get(), options())));
+        assertEquals("{\"nationality\":\"Canadian\"}", body(client.execute(get(), options())));
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void testNoStoreAndUncacheableResponsesAreNotKept() throws IOException {
+        responses.add(ok("no-store"));
+        responses.add(ok(null));
+        responses.add(ok("max-age=60"));
+
+        client.execute(get(), options());
+        client.execute(get(), options());
+        client.execute(get(), options());
+
+        assertEquals(3, sent.size());
+        assertNull(sent.get(2).headers().get("If-None-Match"));
+    }
+
+    private static Response.Builder ok(String cacheControl) {
+        Map<String, Collection<String>> headers = cacheControl != null
+                ? Map.of("ETag", List.of("\"v1\""), "Cache-Control", List.of(cacheControl))
+                : Map.of("ETag", List.of("\"v1\""));
+        return Response.builder().status(200).reason("OK").headers(headers).body(BODY, StandardCharsets.UTF_8);
+    }
+
+    private static Request get() {
+        return Request.create(Request.HttpMethod.GET, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private static Request.Options options() {
+        return new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, true);
+    }
+
+    private static String body(Response response) throws IOException {
+        return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package task.library.config.nearcache;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookResponseCacheFilterTest {
+
+    private final BookResponseCache cache = new BookResponseCache(() -> true, 1024, 1024, 16);
+    private final AtomicBoolean replicaCaughtUp = new AtomicBoolean(true);
+    private final BookResponseCacheFilter filter = new BookResponseCacheFilter(cache, invalidatedAt -> replicaCaughtUp.get());
+
+    @Test
+    void testRenderIsCachedWhenReadsAreCaughtUp() throws Exception {
+        assertEquals("{\"id\":1}", render(1L));
+
+        assertNotNull(cache.get(1L, ""));
+    }
+
+    @Test
+    void testRenderFromALaggingReplicaIsServedButNotCached() throws Exception {
+        cache.invalidate(1L);
+        replicaCaughtUp.set(false);
+
+        assertEquals("{\"id\":1}", render(1L));
+        assertNull(cache.get(1L, ""));
+
+        replicaCaughtUp.set(true);
+        render(1L);
+        assertNotNull(cache.get(1L, ""));
+    }
+
+    private String render(long bookId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/" + bookId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"id\":" + bookId + "}");
+            }
+        }));
+        return response.getContentAsString();
+    }
+}
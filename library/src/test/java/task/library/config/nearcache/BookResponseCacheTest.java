@@ -0,0 +1,117 @@
+package task.library.config.nearcache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookResponseCacheTest {
+
+    private static final String JSON = "application/json";
+
+    private final AtomicBoolean fresh = new AtomicBoolean(true);
+    private final BookResponseCache cache = new BookResponseCache(fresh::get, 10, 6, 2);
+
+    @Test
+    void testBodiesAreKeptPerAcceptHeaderUntilTheBookIsInvalidated() {
+        cache.put(1L, "", cache.version(1L), JSON, bytes(3));
+        cache.put(1L, "application/x-jackson-smile", cache.version(1L), "application/x-jackson-smile", bytes(2));
+
+        assertArrayEquals(bytes(3), cache.get(1L, "").body());
+        assertEquals("application/x-jackson-smile", cache.get(1L, "application/x-jackson-smile").contentType());
+        assertEquals(5, cache.getBytes());
+
+        cache.invalidate(1L);
+
+        assertNull(cache.get(1L, ""));
+        assertNull(cache.get(1L, "application/x-jackson-smile"));
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    void testRenderStartedBeforeInvalidationIsNotStored() {
+        long version = cache.version(1L);
+        cache.invalidate(1L);
+
+        cache.put(1L, "", version, JSON, bytes(3));
+
+        assertNull(cache.get(1L, ""));
+        cache.put(1L, "", cache.version(1L), JSON, bytes(3));
+        assertNotNull(cache.get(1L, ""));
+    }
+
+    @Test
+    void testForgettingVersionsStillDropsRendersInFlight() {
+        long version = cache.version(1L);
+        // More invalidated books than versions are tracked for.
+        cache.invalidate(2L);
+        cache.invalidate(3L);
+        cache.invalidate(4L);
+
+        cache.put(1L, "", version, JSON, bytes(3));
+
+        assertNull(cache.get(1L, ""));
+    }
+
+    @Test
+    void testLeastRecentlyReadBooksAreEvictedBeyondTheByteBound() {
+        cache.put(1L, "", cache.version(1L), JSON, bytes(4));
+        cache.put(2L, "", cache.version(2L), JSON, bytes(4));
+        cache.get(1L, "");
+
+        cache.put(3L, "", cache.version(3L), JSON, bytes(4));
+
+        assertNotNull(cache.get(1L, ""));
+        assertNull(cache.get(2L, ""));
+        assertNotNull(cache.get(3L, ""));
+        assertEquals(8, cache.getBytes());
+    }
+
+    @Test
+    void testOversizedBodiesAreNotCached() {
+        cache.put(1L, "", cache.version(1L), JSON, bytes(7));
+
+        assertNull(cache.get(1L, ""));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testStaleCacheDoesNotAnswer() {
+        cache.put(1L, "", cache.version(1L), JSON, bytes(3));
+        fresh.set(false);
+
+        assertNull(cache.get(1L, ""));
+
+        fresh.set(true);
+        assertNotNull(cache.get(1L, ""));
+    }
+
+    @Test
+    void testInvalidationInstantIsTrackedAndNeverUnderstatedAfterAReset() {
+        assertEquals(Instant.EPOCH, cache.invalidatedAt(1L));
+
+        Instant beforeInvalidation = Instant.now();
+        cache.invalidate(1L);
+        Instant invalidatedAt = cache.invalidatedAt(1L);
+        assertFalse(invalidatedAt.isBefore(beforeInvalidation));
+
+        cache.invalidate(2L);
+        cache.invalidate(3L);
+
+        assertFalse(cache.invalidatedAt(1L).isBefore(invalidatedAt));
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,71 @@
+package task.library.config.nearcache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CoherentCacheTest {
+
+    private final AtomicBoolean fresh = new AtomicBoolean(true);
+    private final CoherentCache cache = new CoherentCache("books", fresh::get, 2);
+
+    @Test
+    void testLoadedValueIsServedUntilEvicted() {
+        assertEquals("v1", cache.get(1L, () -> "v1"));
+        assertEquals("v1", cache.get(1L, () -> "v2"));
+
+        cache.evict(1L);
+
+        assertEquals("v2", cache.get(1L, () -> "v2"));
+    }
+
+    @Test
+    void testEvictionDuringLoadKeepsLoadedValueOutOfCache() {
+        String loaded = cache.get(1L, () -> {
+            cache.evict(1L);
+            return "read before the change";
+        });
+
+        assertEquals("read before the change", loaded);
+        assertNull(cache.get(1L));
+        assertEquals("v2", cache.get(1L, () -> "v2"));
+    }
+
+    @Test
+    void testStaleCacheReadsThrough() {
+        cache.get(1L, () -> "v1");
+        fresh.set(false);
+
+        assertNull(cache.get(1L));
+        assertEquals("v2", cache.get(1L, () -> "v2"));
+
+        fresh.set(true);
+        assertEquals("v1", cache.get(1L, () -> "v3"));
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get(1L, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("v1", cache.get(1L, () -> "v1"));
+    }
+
+    @Test
+    void testMaximumSizeIsNotExceededAndNewKeysStillGetIn() {
+        cache.get(1L, () -> "v1");
+        cache.get(2L, () -> "v2");
+        for (int i = 0; i < 5; i++) {
+            cache.get(3L, () -> "v3");
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals("v3", cache.get(3L, String.class));
+    }
+}
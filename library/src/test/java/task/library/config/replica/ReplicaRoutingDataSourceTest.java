@@ -0,0 +1,68 @@
+package task.library.config.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import task.library.monitoring.ReplicationLagTracker;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-08T12:00:00Z");
+
+    private final ReplicationLagTracker lagTracker = new ReplicationLagTracker(Clock.fixed(NOW, ZoneOffset.UTC));
+    private final ReplicaRoutingDataSource routingDataSource =
+            new ReplicaRoutingDataSource(mock(DataSource.class), mock(DataSource.class), lagTracker, 1000);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void testReadOnlyTransaction_RoutedToReplica() {
+        lagTracker.caughtUp(NOW.minusMillis(200), 0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadWriteTransaction_RoutedToPrimary() {
+        lagTracker.caughtUp(NOW.minusMillis(200), 0);
+
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyTransaction_PinnedClient_RoutedToPrimary() {
+        lagTracker.caughtUp(NOW.minusMillis(200), 0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingContext.pinToPrimary();
+
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyTransaction_ReplicaTooFarBehind_RoutedToPrimary() {
+        lagTracker.caughtUp(NOW.minusMillis(5000), 0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyTransaction_ReplicaNotInitialized_RoutedToPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+}
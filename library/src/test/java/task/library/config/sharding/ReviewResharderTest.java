@@ -0,0 +1,82 @@
+package task.library.config.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReviewResharderTest {
+
+    private static final int BOOKS = 50;
+    private static final int REVIEWS_PER_BOOK = 4;
+
+    private final List<String> urls = new ArrayList<>();
+    private final List<HikariDataSource> keepAlive = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        for (int i = 0; i < 4; i++) {
+            String url = "jdbc:h2:mem:" + prefix + "-" + i + ";DB_CLOSE_DELAY=-1";
+            urls.add(url);
+            HikariDataSource dataSource = ReviewShards.open(url, "sa", "password");
+            ReviewShards.migrate(dataSource);
+            keepAlive.add(dataSource);
+        }
+        long id = 1;
+        for (long bookId = 1; bookId <= BOOKS; bookId++) {
+            JdbcTemplate shard = shard(ReviewShards.shardFor(bookId, 2));
+            for (int i = 0; i < REVIEWS_PER_BOOK; i++) {
+                shard.update("INSERT INTO review (id, rating, comment, book_id) VALUES (?, ?, ?, ?)",
+                        id++, i + 1, "Review " + i, bookId);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        keepAlive.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void testReshard_GrowingLayout_EveryReviewOnItsNewShardExactlyOnce() throws Exception {
+        ReviewResharder.Result result = new ReviewResharder("sa", "password", 7)
+                .reshard(urls.subList(0, 2), urls.subList(0, 3));
+
+        assertEquals(BOOKS * REVIEWS_PER_BOOK, result.moved() + result.kept());
+        assertEquals(BOOKS * REVIEWS_PER_BOOK, result.maxReviewId());
+        long total = 0;
+        for (int shardIndex = 0; shardIndex < 3; shardIndex++) {
+            for (Long bookId : shard(shardIndex).queryForList("SELECT DISTINCT book_id FROM review", Long.class)) {
+                assertEquals(shardIndex, ReviewShards.shardFor(bookId, 3));
+            }
+            total += shard(shardIndex).queryForObject("SELECT COUNT(*) FROM review", Long.class);
+        }
+        assertEquals(BOOKS * REVIEWS_PER_BOOK, total);
+    }
+
+    @Test
+    void testReshard_RetiredSource_LeftUntouched() throws Exception {
+        ReviewResharder.Result result = new ReviewResharder("sa", "password", 100)
+                .reshard(urls.subList(0, 2), urls.subList(2, 4));
+
+        assertEquals(BOOKS * REVIEWS_PER_BOOK, result.moved());
+        assertEquals(BOOKS * REVIEWS_PER_BOOK,
+                shard(2).queryForObject("SELECT COUNT(*) FROM review", Long.class)
+                        + shard(3).queryForObject("SELECT COUNT(*) FROM review", Long.class));
+        assertEquals(BOOKS * REVIEWS_PER_BOOK,
+                shard(0).queryForObject("SELECT COUNT(*) FROM review", Long.class)
+                        + shard(1).queryForObject("SELECT COUNT(*) FROM review", Long.class));
+    }
+
+    private JdbcTemplate shard(int index) {
+        return new JdbcTemplate(keepAlive.get(index));
+    }
+}
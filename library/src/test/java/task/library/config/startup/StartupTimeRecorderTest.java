@@ -0,0 +1,51 @@
+package task.library.config.startup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupTimeRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StartupTimeRecorder recorder;
+    private Path historyFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StartupProperties properties = new StartupProperties();
+        properties.setBaselineWindow(3);
+        properties.setRegressionThresholdPercent(20);
+        recorder = new StartupTimeRecorder(properties, new MockEnvironment());
+        historyFile = tempDir.resolve("startup-history.csv");
+        Files.writeString(historyFile, String.join(System.lineSeparator(),
+                "2025-01-01T00:00:00Z,prod,9000",
+                "2025-01-01T00:01:00Z,prod,1000",
+                "2025-01-01T00:02:00Z,prod,1100",
+                "2025-01-01T00:03:00Z,prod,1000",
+                "2025-01-01T00:04:00Z,default,5000"));
+    }
+
+    @Test
+    void testCheckRegression_WithinThreshold() throws Exception {
+        assertFalse(recorder.checkRegression(historyFile, "prod", 1150));
+    }
+
+    @Test
+    void testCheckRegression_SlowerThanMedianOfWindow() throws Exception {
+        assertTrue(recorder.checkRegression(historyFile, "prod", 1300));
+    }
+
+    @Test
+    void testCheckRegression_NoHistoryForProfile() throws Exception {
+        assertFalse(recorder.checkRegression(historyFile, "durable", 60000));
+    }
+}
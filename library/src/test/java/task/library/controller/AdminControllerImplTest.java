@@ -0,0 +1,107 @@
+package task.library.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.dto.SlowQueryResponse;
+import task.library.dto.SpanResponse;
+import task.library.dto.TraceResponse;
+import task.library.monitoring.SlowQueryRegistry;
+import task.library.monitoring.TraceStore;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminControllerImpl.class)
+@AutoConfigureMockMvc
+class AdminControllerImplTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SlowQueryRegistry slowQueryRegistry;
+
+    @MockBean
+    private TraceStore traceStore;
+
+    @Test
+    void testGetSlowQueries_Success() throws Exception {
+        SlowQueryResponse response = new SlowQueryResponse("select * from book where id = ?", 3, 250, 180.0, 540,
+                List.of("<Long>"), 1, "SELECT ...", Instant.now(), Instant.now());
+        when(slowQueryRegistry.getSlowestQueries(5)).thenReturn(List.of(response));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/slow-queries")
+                        .param("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].normalizedSql").value("select * from book where id = ?"))
+                .andExpect(jsonPath("$[0].maxElapsedMs").value(250))
+                .andExpect(jsonPath("$[0].lastParameters[0]").value("<Long>"));
+
+        verify(slowQueryRegistry, times(1)).getSlowestQueries(5);
+    }
+
+    @Test
+    void testGetSlowQueries_DefaultLimit() throws Exception {
+        when(slowQueryRegistry.getSlowestQueries()).thenReturn(List.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/slow-queries")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(0));
+
+        verify(slowQueryRegistry, times(1)).getSlowestQueries();
+    }
+
+    @Test
+    void testGetSlowQueries_InvalidLimit() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/slow-queries")
+                        .param("limit", "-1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.limit").value("Limit must be at least 1"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/traces")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(slowQueryRegistry, traceStore);
+    }
+
+    @Test
+    void testResetSlowQueries_Success() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/admin/slow-queries"))
+                .andExpect(status().isNoContent());
+
+        verify(slowQueryRegistry, times(1)).reset();
+    }
+
+    @Test
+    void testGetSlowestTraces_Success() throws Exception {
+        SpanResponse root = new SpanResponse("http get /api/books/{id}/author-details", "a1", null, "SERVER", 0, 42.5, Map.of());
+        SpanResponse feign = new SpanResponse("get", "b2", "a1", "CLIENT", 3.0, 35.0, Map.of("http.url", "/api/authors/John Doe"));
+        TraceResponse trace = new TraceResponse("trace-1", root.getName(), Instant.now(), 42.5, 2, List.of(root, feign));
+        when(traceStore.getSlowestTraces(1)).thenReturn(List.of(trace));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/traces")
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].traceId").value("trace-1"))
+                .andExpect(jsonPath("$[0].durationMs").value(42.5))
+                .andExpect(jsonPath("$[0].spans[1].parentSpanId").value("a1"))
+                .andExpect(jsonPath("$[0].spans[1].kind").value("CLIENT"));
+
+        verify(traceStore, times(1)).getSlowestTraces(1);
+    }
+}
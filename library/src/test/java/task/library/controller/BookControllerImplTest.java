@@ -1,5 +1,6 @@
 package task.library.controller;
 
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.config.web.WireFormatConfiguration;
 import task.library.dto.AuthorDetails;
 import task.library.dto.BookDto;
 import task.library.dto.BookRequest;
@@ -21,6 +23,7 @@ import task.library.service.BookService;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -70,10 +73,12 @@ class BookControllerImplTest {
                         .content("{\"title\": \"\", \"author\": \"\", \"publicationYear\": 3000, \"availableCopies\": -1}")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.title").value("Title is required"))
-                .andExpect(jsonPath("$.author").value("Author is required"))
-                .andExpect(jsonPath("$.publicationYear").value("Publication year must be at most 2025"))
-                .andExpect(jsonPath("$.availableCopies").value("Available copies must be a positive number"));
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errors.title").value("Title is required"))
+                .andExpect(jsonPath("$.errors.author").value("Author is required"))
+                .andExpect(jsonPath("$.errors.publicationYear").value("Publication year must be at most 2025"))
+                .andExpect(jsonPath("$.errors.availableCopies").value("Available copies must be a positive number"));
     }
 
 
@@ -108,7 +113,7 @@ class BookControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/books")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Books not found"));
+                .andExpect(jsonPath("$.detail").value("Books not found"));
 
         verify(bookService, times(1)).getAllBooks();
     }
@@ -131,6 +136,31 @@ class BookControllerImplTest {
         verify(bookService, times(1)).getBookById(1L);
     }
 
+    @Test
+    void testGetBookById_Smile() throws Exception {
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get("/api/books/1")
+                        .accept(WireFormatConfiguration.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormatConfiguration.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Book decoded = new SmileMapper().readValue(body, Book.class);
+        assertEquals("Java Programming", decoded.getTitle());
+        assertEquals(2023, decoded.getPublicationYear());
+    }
+
+    @Test
+    void testGetBookById_JsonStaysTheDefault() throws Exception {
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Java Programming"));
+    }
+
     @Test
     void testGetBookById_NotFound() throws Exception {
         when(bookService.getBookById(99L)).thenThrow( NotFoundException.notFoundBook(99L));
@@ -138,7 +168,7 @@ class BookControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/books/99")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Book with ID 99 not found"));
+                .andExpect(jsonPath("$.detail").value("Book with ID 99 not found"));
 
         verify(bookService, times(1)).getBookById(99L);
     }
@@ -174,7 +204,7 @@ class BookControllerImplTest {
                         .content("{\"title\": \"Updated Java\", \"author\": \"Jane Doe\", \"publicationYear\": 2024, \"availableCopies\": 4}")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Book with ID 1 not found"));
+                .andExpect(jsonPath("$.detail").value("Book with ID 1 not found"));
 
         verify(bookService, times(1)).updateBook(eq(1L), any(BookRequest.class));
     }
@@ -207,7 +237,7 @@ class BookControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.delete("/api/books/99")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Book with ID 99 not found"));
+                .andExpect(jsonPath("$.detail").value("Book with ID 99 not found"));
 
         verify(bookService, times(1)).deleteBook(99L);
     }
@@ -248,7 +278,7 @@ class BookControllerImplTest {
                         .param("author", author)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("No books found for the given title 'NonExistingTitle' or author 'NonExistingAuthor'"));
+                .andExpect(jsonPath("$.detail").value("No books found for the given title 'NonExistingTitle' or author 'NonExistingAuthor'"));
 
         verify(bookService, times(1)).searchBooks(title, author);
     }
@@ -284,7 +314,7 @@ class BookControllerImplTest {
                         .param("year", "2030")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Book after 2030 year wasn't published"));
+                .andExpect(jsonPath("$.detail").value("Book after 2030 year wasn't published"));
 
         verify(bookService, times(1)).getBooksPublishedAfterYear(2030);
     }
@@ -327,7 +357,7 @@ class BookControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/books/high-ratings-sql")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("No book has a rating hire than Four"));
+                .andExpect(jsonPath("$.detail").value("No book has a rating hire than Four"));
 
         verify(bookService, times(1)).getBooksWithHighRatingsNativeSQL();
     }
@@ -371,7 +401,7 @@ class BookControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/books/high-ratings-jpql")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("No book has a rating hire than Four"));
+                .andExpect(jsonPath("$.detail").value("No book has a rating hire than Four"));
 
         verify(bookService, times(1)).getBooksWithHighRatingsJPQL();
     }
@@ -398,7 +428,7 @@ class BookControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/books/1/author-details")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Author not found"));
+                .andExpect(jsonPath("$.detail").value("Author not found"));
 
         verify(bookService, times(1)).getBookWithAuthorDetails(1L);
     }
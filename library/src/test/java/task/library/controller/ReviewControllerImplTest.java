@@ -93,7 +93,7 @@ class ReviewControllerImplTest {
                         .content(objectMapper.writeValueAsString(reviewRequest))
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Book with ID 1 not found"));
+                .andExpect(jsonPath("$.detail").value("Book with ID 1 not found"));
 
         verify(reviewService, times(1)).addReviewToBook(eq(1L), any(ReviewRequest.class));
     }
@@ -109,7 +109,7 @@ class ReviewControllerImplTest {
                         .content(objectMapper.writeValueAsString(invalidReviewRequest))
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.rating").value("Rating must be at most 5"));
+                .andExpect(jsonPath("$.errors.rating").value("Rating must be at most 5"));
     }
 
     @Test
@@ -151,7 +151,7 @@ class ReviewControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/books/{bookId}", 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Reviews for book with ID 1 not found"));
+                .andExpect(jsonPath("$.detail").value("Reviews for book with ID 1 not found"));
 
         verify(reviewService, times(1)).getAllReviewsForBook(1L);
     }
@@ -164,7 +164,7 @@ class ReviewControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/books/{bookId}", 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Book with ID 1 not found"));
+                .andExpect(jsonPath("$.detail").value("Book with ID 1 not found"));
 
         verify(reviewService, times(1)).getAllReviewsForBook(1L);
     }
@@ -212,7 +212,7 @@ class ReviewControllerImplTest {
                         .content(objectMapper.writeValueAsString(reviewRequest))
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Review with ID 1 not found"));
+                .andExpect(jsonPath("$.detail").value("Review with ID 1 not found"));
 
         verify(reviewService, times(1)).updateReview(eq(1L), any(ReviewRequest.class));
     }
@@ -228,7 +228,7 @@ class ReviewControllerImplTest {
                         .content(objectMapper.writeValueAsString(invalidReviewRequest))
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.rating").value("Rating must be at least 1"));
+                .andExpect(jsonPath("$.errors.rating").value("Rating must be at least 1"));
     }
 
     @Test
@@ -249,7 +249,7 @@ class ReviewControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.delete("/api/reviews/{reviewId}", 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Review with ID 1 not found"));
+                .andExpect(jsonPath("$.detail").value("Review with ID 1 not found"));
 
         verify(reviewService, times(1)).deleteReview(1L);
     }
@@ -280,7 +280,7 @@ class ReviewControllerImplTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/average-ratings")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("No book has a rating"));
+                .andExpect(jsonPath("$.detail").value("No book has a rating"));
 
         verify(reviewService, times(1)).getAverageRatingsForBooks();
     }
@@ -0,0 +1,53 @@
+package task.library.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import task.library.config.errors.ErrorResponseProperties;
+import task.library.dto.ProblemResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GlobalExceptionHandlerTest {
+
+    private final ErrorResponseProperties properties = new ErrorResponseProperties();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(properties);
+
+    @Test
+    void testNotFoundIsAProblemResponse() {
+        ResponseEntity<?> response = handler.handleNotFoundException(NotFoundException.notFoundBook(1L));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        ProblemResponse problem = (ProblemResponse) response.getBody();
+        assertEquals(ProblemResponse.ABOUT_BLANK, problem.getType());
+        assertEquals("Not Found", problem.getTitle());
+        assertEquals(404, problem.getStatus());
+        assertEquals("Book with ID 1 not found", problem.getDetail());
+    }
+
+    @Test
+    void testConstantNotFoundIsPreallocatedAndStackless() {
+        NotFoundException exception = NotFoundException.notFoundBooks();
+
+        assertSame(exception, NotFoundException.notFoundBooks());
+        assertEquals(0, exception.getStackTrace().length);
+        assertSame(exception.getProblem(), handler.handleNotFoundException(exception).getBody());
+    }
+
+    @Test
+    void testEmptyListAsOkOnlyAppliesToEmptyResults() {
+        properties.setEmptyListAsOk(true);
+
+        ResponseEntity<?> emptyList = handler.handleNotFoundException(NotFoundException.notFoundBooksAfterYear(2030));
+        ResponseEntity<?> missingBook = handler.handleNotFoundException(NotFoundException.notFoundBook(1L));
+
+        assertEquals(HttpStatus.OK, emptyList.getStatusCode());
+        assertEquals(List.of(), emptyList.getBody());
+        assertEquals(HttpStatus.NOT_FOUND, missingBook.getStatusCode());
+    }
+}
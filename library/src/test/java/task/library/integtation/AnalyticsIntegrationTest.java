@@ -0,0 +1,80 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.dto.RatingStatistics;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.service.AnalyticsService;
+import task.library.service.BookService;
+import task.library.service.RatingDimension;
+import task.library.service.ReviewService;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:analytics",
+        "library.analytics.split-threshold=2"
+})
+@AutoConfigureMockMvc
+public class AnalyticsIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testRatingsByAuthorFollowWrites() throws Exception {
+        Book first = bookService.createBook(new Book(null, "Domain-Driven Design", "Eric Evans", 2003, 3));
+        Book second = bookService.createBook(new Book(null, "Domain-Driven Design Reference", "Eric Evans", 2014, 0));
+        reviewService.addReviewToBook(first.getId(), new ReviewRequest(5, "Dense"));
+        reviewService.addReviewToBook(first.getId(), new ReviewRequest(3, "Long"));
+        reviewService.addReviewToBook(second.getId(), new ReviewRequest(4, "Handy"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/analytics/ratings/by-author"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groupedBy").value("author"))
+                .andExpect(jsonPath("$.groups[?(@.group == 'Eric Evans')].bookCount").value(contains(2)))
+                .andExpect(jsonPath("$.groups[?(@.group == 'Eric Evans')].reviewCount").value(contains(3)))
+                .andExpect(jsonPath("$.groups[?(@.group == 'Eric Evans')].mean").value(contains(4.0)))
+                .andExpect(jsonPath("$.groups[?(@.group == 'Eric Evans')].p50").value(contains(4)));
+
+        reviewService.addReviewToBook(second.getId(), new ReviewRequest(1, "Terse"));
+
+        RatingStatistics evans = analyticsService.getRatingStatistics(RatingDimension.AUTHOR).getGroups().stream()
+                .filter(group -> group.getGroup().equals("Eric Evans"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(4, evans.getReviewCount());
+        assertEquals(3.25, evans.getMean(), 1e-9);
+        assertEquals(2.1875, evans.getVariance(), 1e-9);
+    }
+
+    @Test
+    public void testRatingsByDecadeAndAvailability() throws Exception {
+        Book book = bookService.createBook(new Book(null, "The Mythical Man-Month", "Fred Brooks", 1975, 12));
+        reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Still true"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/analytics/ratings/by-decade"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[?(@.group == '1970s')].mean").value(contains(5.0)));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/analytics/ratings/by-availability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[?(@.group == '10+')].reviewCount").value(contains(1)));
+    }
+}
@@ -0,0 +1,93 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.config.nearcache.NearCacheInvalidator;
+import task.library.dto.BookRequest;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.repository.BookRepository;
+import task.library.service.BookService;
+import task.library.service.ReviewService;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-responses",
+        "library.near-cache.enabled=true"
+})
+@AutoConfigureMockMvc
+public class BookResponseCacheIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private NearCacheInvalidator nearCacheInvalidator;
+
+    @SpyBean
+    private BookService bookService;
+
+    @Test
+    public void testHotReadsAreServedFromCachedBytesUntilTheBookOrItsReviewsChange() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        byte[] first = mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        clearInvocations(bookService);
+
+        byte[] second = mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(first, second);
+        verify(bookService, never()).getBookById(book.getId());
+
+        reviewService.addReviewToBook(book.getId(), new ReviewRequest(4, "Good book"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId()))
+                .andExpect(jsonPath("$.reviews[0].comment").value("Good book"));
+
+        bookService.updateBook(book.getId(), new BookRequest("Effective Java", "John Doe", 2023, 5));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId()))
+                .andExpect(jsonPath("$.title").value("Effective Java"));
+    }
+
+    @Test
+    public void testEachFormatIsCachedSeparatelyAndErrorsAreNotCached() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Spring Boot Essentials", "Jane Smith", 2022, 4));
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId()).accept(SMILE))
+                    .andExpect(content().contentType(SMILE));
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId()).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+        assertNotNull(nearCacheInvalidator.getBookResponses().get(book.getId(), SMILE.toString()));
+        assertNotNull(nearCacheInvalidator.getBookResponses().get(book.getId(), MediaType.APPLICATION_JSON_VALUE));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", -1)).andExpect(status().isNotFound());
+        bookService.deleteBook(book.getId());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId())).andExpect(status().isNotFound());
+    }
+}
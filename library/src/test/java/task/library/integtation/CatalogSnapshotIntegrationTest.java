@@ -0,0 +1,91 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.dto.BookRequest;
+import task.library.entity.Book;
+import task.library.exception.NotFoundException;
+import task.library.repository.CatalogFilter;
+import task.library.repository.CatalogSnapshot;
+import task.library.service.BookService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-snapshot",
+        "library.catalog.off-heap=true",
+        // Only the writes of this instance keep the snapshot current.
+        "library.catalog.rebuild-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+public class CatalogSnapshotIntegrationTest {
+
+    private static final String AUTHOR = "Catalog Author";
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testFiltersFollowCommittedWrites() {
+        assertTrue(catalogSnapshot.isReady());
+        Book older = bookService.createBook(new Book(null, "Older", AUTHOR, 1990, 0));
+        Book newer = bookService.createBook(new Book(null, "Newer", AUTHOR, 2015, 4));
+
+        assertEquals(List.of(newer.getId()), ids(bookService.filterBooks(2000, null, null, null, AUTHOR)));
+        assertEquals(List.of(older.getId()), ids(bookService.filterBooks(null, null, null, 0, AUTHOR)));
+
+        bookService.updateBook(older.getId(), new BookRequest("Older", AUTHOR, 2020, 2));
+        assertEquals(List.of(older.getId(), newer.getId()), ids(bookService.filterBooks(2000, 2024, 1, 5, AUTHOR)));
+
+        bookService.deleteBook(newer.getId());
+        assertEquals(List.of(older.getId()), ids(bookService.filterBooks(null, null, null, null, AUTHOR)));
+        assertThrows(NotFoundException.class, () -> bookService.filterBooks(null, null, null, null, "Nobody"));
+    }
+
+    @Test
+    public void testRebuildPicksUpWritesItWasNotToldAbout() {
+        jdbcTemplate.update("INSERT INTO book (title, author, publication_year, available_copies, review_count) " +
+                "VALUES ('Imported', 'Import Author', 2001, 1, 0)");
+        assertArrayEquals(new long[0], catalogSnapshot.find(new CatalogFilter(null, null, null, null, "Import Author")));
+
+        catalogSnapshot.rebuild();
+
+        assertEquals(1, catalogSnapshot.find(new CatalogFilter(null, null, null, null, "Import Author")).length);
+    }
+
+    @Test
+    public void testFilterEndpointAndPublishedAfter() throws Exception {
+        Book book = bookService.createBook(new Book(null, "Shelved", "Filter Author", 2024, 9));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/filter")
+                        .param("publishedFrom", "2024").param("minCopies", "9").param("author", "Filter Author"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(book.getId()));
+        assertTrue(ids(bookService.getBooksPublishedAfterYear(2023)).contains(book.getId()));
+    }
+
+    private static List<Long> ids(List<Book> books) {
+        return books.stream().map(Book::getId).toList();
+    }
+}
@@ -0,0 +1,168 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task.library.dto.BookRequest;
+import task.library.dto.ChangeEventResponse;
+import task.library.dto.ChangesResponse;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.exception.CursorExpiredException;
+import task.library.service.BookService;
+import task.library.service.ChangeLogService;
+import task.library.service.ReviewService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:change-log",
+        "library.changes.retention=0s",
+        "library.changes.compaction-interval-ms=3600000",
+        "library.changes.visibility-lag=1s"
+})
+@AutoConfigureMockMvc
+public class ChangeLogIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testMutationsAreReadBackInOrderFromTheCursor() {
+        long cursor = changeLogService.getChanges(null, null).getNextCursor();
+
+        Book book = bookService.createBook(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Great book!"));
+        reviewService.updateReview(review.getId(), new ReviewRequest(4, "Good book"));
+        bookService.updateBook(book.getId(), new BookRequest("Java Programming", "John Doe", 2024, 3));
+        reviewService.deleteReview(review.getId());
+
+        ChangesResponse firstPage = changeLogService.getChanges(cursor, 3);
+        assertTrue(firstPage.isHasMore());
+        ChangesResponse secondPage = changeLogService.getChanges(firstPage.getNextCursor(), 3);
+        assertFalse(secondPage.isHasMore());
+
+        List<String> changes = Stream.concat(firstPage.getChanges().stream(), secondPage.getChanges().stream())
+                .map(change -> change.getEntityType() + ":" + change.getOperation())
+                .toList();
+        assertEquals(List.of("BOOK:CREATED", "REVIEW:CREATED", "REVIEW:UPDATED", "BOOK:UPDATED", "REVIEW:DELETED"), changes);
+        ChangeEventResponse deletedReview = secondPage.getChanges().get(1);
+        assertEquals(review.getId(), deletedReview.getEntityId());
+        assertEquals(book.getId(), deletedReview.getBookId());
+
+        ChangesResponse caughtUp = changeLogService.getChanges(secondPage.getNextCursor(), 3);
+        assertTrue(caughtUp.getChanges().isEmpty());
+        assertEquals(secondPage.getNextCursor(), caughtUp.getNextCursor());
+    }
+
+    @Test
+    public void testCompactedCursorIsGone() throws Exception {
+        long cursor = changeLogService.getChanges(null, null).getNextCursor();
+        bookService.createBook(new Book(null, "Spring Boot Essentials", "Jane Smith", 2022, 4));
+        // Retention is zero, the event only has to be older than the clock tick it was written in.
+        Thread.sleep(10);
+
+        assertTrue(changeLogService.compact() > 0);
+
+        assertThrows(CursorExpiredException.class, () -> changeLogService.getChanges(cursor, null));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/changes").param("since", String.valueOf(cursor)))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.title").value("Gone"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    public void testChangeCommittedAfterAHigherIdIsNotSkipped() throws Exception {
+        long cursor = latestCursor();
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Book> slow = CompletableFuture.supplyAsync(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            Book book = bookService.createBook(new Book(null, "Slow Commit", "John Doe", 2020, 1));
+            recorded.countDown();
+            await(commit);
+            return book;
+        }));
+        assertTrue(recorded.await(10, TimeUnit.SECONDS));
+        Book fast;
+        try {
+            fast = bookService.createBook(new Book(null, "Fast Commit", "Jane Smith", 2021, 1));
+
+            // The slower transaction holds the lower id and has not committed yet.
+            ChangesResponse beforeCommit = changeLogService.getChanges(cursor, null);
+            assertTrue(beforeCommit.getChanges().isEmpty());
+            assertEquals(cursor, beforeCommit.getNextCursor());
+        } finally {
+            commit.countDown();
+        }
+        Book slowBook = slow.get(10, TimeUnit.SECONDS);
+
+        ChangesResponse afterCommit = changeLogService.getChanges(cursor, null);
+        assertEquals(List.of(slowBook.getId(), fast.getId()),
+                afterCommit.getChanges().stream().map(ChangeEventResponse::getEntityId).toList());
+    }
+
+    @Test
+    public void testRolledBackIdIsSkippedOnceTheVisibilityLagHasPassed() throws Exception {
+        long cursor = latestCursor();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookService.createBook(new Book(null, "Rolled Back", "John Doe", 2020, 1));
+            status.setRollbackOnly();
+        });
+        Book book = bookService.createBook(new Book(null, "Committed", "Jane Smith", 2021, 1));
+        assertTrue(changeLogService.getChanges(cursor, null).getChanges().isEmpty());
+
+        Thread.sleep(1100);
+
+        ChangesResponse changes = changeLogService.getChanges(cursor, null);
+        assertEquals(List.of(book.getId()), changes.getChanges().stream().map(ChangeEventResponse::getEntityId).toList());
+    }
+
+    private long latestCursor() {
+        ChangesResponse changes = changeLogService.getChanges(null, null);
+        while (changes.isHasMore()) {
+            changes = changeLogService.getChanges(changes.getNextCursor(), null);
+        }
+        return changes.getNextCursor();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
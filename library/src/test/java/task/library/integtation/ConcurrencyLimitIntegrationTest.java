@@ -0,0 +1,94 @@
+package task.library.integtation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.entity.Book;
+import task.library.repository.BookRepository;
+import task.library.service.BookService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrency-limit",
+        "library.concurrency-limit.reads.initial=1",
+        "library.concurrency-limit.reads.min=1",
+        "library.concurrency-limit.reads.max=1",
+        "library.concurrency-limit.retry-after-seconds=2"
+})
+@AutoConfigureMockMvc
+public class ConcurrencyLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private BookService bookService;
+
+    @Test
+    public void testReadsOverTheLimitAreShedWhileWritesStillGoThrough() throws Exception {
+        Book slow = bookRepository.save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        Book other = bookRepository.save(new Book(null, "Spring Boot Essentials", "Jane Smith", 2022, 4));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(bookService).getBookById(eq(slow.getId()));
+
+        CompletableFuture<Integer> blocked = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", slow.getId()))
+                        .andReturn().getResponse().getStatus();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", other.getId()))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                    .andExpect(jsonPath("$.status").value(503));
+            mockMvc.perform(MockMvcRequestBuilders.put("/api/books/{id}", other.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"Spring Boot in Action\",\"author\":\"Jane Smith\",\"publicationYear\":2022,\"availableCopies\":4}"))
+                    .andExpect(status().isOk());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(200, blocked.get(10, TimeUnit.SECONDS));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", other.getId()))
+                .andExpect(status().isOk());
+        assertEquals(1.0, meterRegistry.get("library.concurrency.rejected").tag("class", "read").counter().count());
+        assertEquals(0.0, meterRegistry.get("library.concurrency.in-flight").tag("class", "read").gauge().value());
+    }
+}
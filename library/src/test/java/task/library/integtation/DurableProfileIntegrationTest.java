@@ -0,0 +1,45 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import task.library.LibraryApplication;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.repository.BookRepository;
+import task.library.service.ReviewService;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DurableProfileIntegrationTest {
+
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    public void testCatalogAndReviewsSurviveRestart() {
+        Long bookId;
+        try (ConfigurableApplicationContext context = start()) {
+            Book book = context.getBean(BookRepository.class)
+                    .save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+            context.getBean(ReviewService.class).addReviewToBook(book.getId(), new ReviewRequest(5, "Great book!"));
+            bookId = book.getId();
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            assertEquals("Java Programming", context.getBean(BookRepository.class).findById(bookId).orElseThrow().getTitle());
+            assertEquals("Great book!", context.getBean(ReviewService.class).getAllReviewsForBook(bookId).get(0).getComment());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(LibraryApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("durable")
+                .run("--library.storage.path=" + dataDirectory.resolve("libdb").toAbsolutePath());
+    }
+}
@@ -0,0 +1,128 @@
+package task.library.integtation;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task.library.config.entitycache.EntityCacheConfiguration;
+import task.library.dto.BookRequest;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.exception.NotFoundException;
+import task.library.repository.BookRepository;
+import task.library.repository.ReviewGroupCommitter;
+import task.library.service.BookService;
+import task.library.service.ReviewService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:entity-cache",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class EntityCacheIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewGroupCommitter reviewGroupCommitter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @Test
+    public void testBookIsReadFromCacheUntilUpdatedOrDeleted() {
+        Book book = bookService.createBook(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        bookService.getBookById(book.getId());
+        assertTrue(cache.containsEntity(Book.class, book.getId()));
+
+        statistics.clear();
+        assertEquals("Java Programming", bookService.getBookById(book.getId()).getTitle());
+        // The book and its review collection.
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        bookService.updateBook(book.getId(), new BookRequest("Effective Java", "John Doe", 2023, 5));
+        assertEquals("Effective Java", bookService.getBookById(book.getId()).getTitle());
+
+        bookService.deleteBook(book.getId());
+        assertThrows(NotFoundException.class, () -> bookService.getBookById(book.getId()));
+    }
+
+    @Test
+    public void testReviewCollectionFollowsEveryReviewWritePath() {
+        Book book = bookService.createBook(new Book(null, "Spring Boot Essentials", "Jane Smith", 2022, 4));
+        assertEquals(List.of(), reviewComments(book.getId()));
+        assertTrue(cache.containsCollection(EntityCacheConfiguration.BOOK_REVIEWS, book.getId()));
+
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(4, "Good book"));
+        assertEquals(List.of("Good book"), reviewComments(book.getId()));
+
+        reviewService.updateReview(review.getId(), new ReviewRequest(5, "Great book"));
+        assertEquals(List.of("Great book"), reviewComments(book.getId()));
+
+        // Inserted through JDBC, invisible to Hibernate.
+        Review batched = new Review(null, 3, "Decent");
+        batched.setBook(bookRepository.findById(book.getId()).orElseThrow());
+        reviewGroupCommitter.insert(batched);
+        assertEquals(List.of("Great book", "Decent"), reviewComments(book.getId()));
+
+        reviewService.deleteReview(review.getId());
+        assertEquals(List.of("Decent"), reviewComments(book.getId()));
+    }
+
+    @Test
+    public void testCachedQueryIsInvalidatedByBookWrites() {
+        Book book = bookService.createBook(new Book(null, "Refactoring", "Martin Fowler", 2018, 2));
+        assertEquals(1, bookService.searchBooks(null, "Martin Fowler").size());
+
+        statistics.clear();
+        assertEquals(1, bookService.searchBooks(null, "Martin Fowler").size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        bookService.createBook(new Book(null, "Patterns of Enterprise Application Architecture", "Martin Fowler", 2002, 1));
+        assertEquals(2, bookService.searchBooks(null, "Martin Fowler").size());
+
+        bookService.updateBook(book.getId(), new BookRequest("Refactoring", "M. Fowler", 2018, 2));
+        assertEquals(1, bookService.searchBooks(null, "Martin Fowler").size());
+    }
+
+    private List<String> reviewComments(Long bookId) {
+        return new TransactionTemplate(transactionManager).execute(status -> bookRepository.findById(bookId).orElseThrow()
+                .getReviews().stream()
+                .sorted((first, second) -> first.getId().compareTo(second.getId()))
+                .map(Review::getComment)
+                .toList());
+    }
+}
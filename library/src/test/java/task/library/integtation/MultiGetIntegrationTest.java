@@ -0,0 +1,67 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.repository.BookRepository;
+import task.library.service.ReviewService;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:multi-get",
+        "library.multi-get.chunk-size=2",
+        "library.multi-get.max-ids=5"
+})
+@AutoConfigureMockMvc
+public class MultiGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Test
+    public void testBooksAndReviewsComeBackInRequestOrderWithMissingIds() throws Exception {
+        Book first = bookRepository.save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        Book second = bookRepository.save(new Book(null, "Spring Boot Essentials", "Jane Smith", 2022, 4));
+        Book third = bookRepository.save(new Book(null, "Effective Java", "Joshua Bloch", 2018, 3));
+        reviewService.addReviewToBook(third.getId(), new ReviewRequest(5, "Excellent"));
+        reviewService.addReviewToBook(first.getId(), new ReviewRequest(4, "Good book"));
+        String ids = third.getId() + ",999," + first.getId() + "," + second.getId();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].title").value(contains("Effective Java", "Java Programming", "Spring Boot Essentials")))
+                .andExpect(jsonPath("$.missingIds").value(contains(999)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/books").param("bookIds", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[0].bookId").value(third.getId()))
+                .andExpect(jsonPath("$.items[0].reviews[0].comment").value("Excellent"))
+                .andExpect(jsonPath("$.items[1].reviews[0].rating").value(4))
+                .andExpect(jsonPath("$.items[2].reviews", empty()))
+                .andExpect(jsonPath("$.missingIds").value(contains(999)));
+    }
+
+    @Test
+    public void testTooManyIdsAreRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books").param("ids", "1,2,3,4,5,6"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.ids").value("At most 5 ids can be requested at once"));
+    }
+}
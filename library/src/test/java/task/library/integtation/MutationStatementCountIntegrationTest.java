@@ -0,0 +1,145 @@
+package task.library.integtation;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.exception.NotFoundException;
+import task.library.repository.BookRepository;
+import task.library.repository.ReviewRepository;
+import task.library.service.BookService;
+import task.library.service.ReviewService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the statements the database runs per mutation, through Hibernate and JDBC alike. Every mutation
+ * also inserts its change event, and the listeners refreshing the search index and the catalog snapshot
+ * after commit read the changed row back.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mutation-statements",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // The database counts every session, so no background poll may run during a mutation.
+        "library.search.change-poll-interval-ms=600000"
+})
+public class MutationStatementCountIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache cache;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @Test
+    public void testAddReviewDoesNotLoadTheBook() {
+        Book book = bookService.createBook(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        cache.evictAllRegions();
+
+        statistics.clear();
+        Review[] review = new Review[1];
+        // The review, the book's review count, the change event and the search index reading the review.
+        assertEquals(4, statementsOf(() -> review[0] = reviewService.addReviewToBook(book.getId(), new ReviewRequest(4, "Good book"))));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(book.getId(), reviewRepository.findById(review[0].getId()).orElseThrow().getBook().getId());
+
+        // Only the insert the foreign key rejects runs, and H2 leaves failed statements out of its statistics.
+        assertEquals(0, statementsOf(() -> assertThrows(NotFoundException.class,
+                () -> reviewService.addReviewToBook(-1L, new ReviewRequest(4, "Orphan")))));
+    }
+
+    @Test
+    public void testDeleteBookDeletesItsReviewsAndEvictsOnlyThem() {
+        Book book = bookService.createBook(new Book(null, "Spring Boot Essentials", "Jane Smith", 2022, 4));
+        Review first = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Great"));
+        reviewService.addReviewToBook(book.getId(), new ReviewRequest(3, "Fine"));
+        Book other = bookService.createBook(new Book(null, "Clean Code", "Robert Martin", 2008, 3));
+        Review kept = reviewService.addReviewToBook(other.getId(), new ReviewRequest(4, "Kept"));
+        reviewRepository.findById(first.getId());
+        reviewRepository.findById(kept.getId());
+
+        // The book's reviews, the book, the change event and the catalog snapshot reading the book.
+        assertEquals(4, statementsOf(() -> bookService.deleteBook(book.getId())));
+        assertFalse(bookRepository.existsById(book.getId()));
+        assertFalse(reviewRepository.existsById(first.getId()));
+        // A review deleted with its book must not linger in the entity cache, while other reviews stay cached.
+        assertFalse(cache.containsEntity(Review.class, first.getId()));
+        assertTrue(cache.containsEntity(Review.class, kept.getId()));
+        assertThrows(NotFoundException.class, () -> reviewService.updateReview(first.getId(), new ReviewRequest(1, "Gone")));
+
+        assertEquals(2, statementsOf(() -> assertThrows(NotFoundException.class, () -> bookService.deleteBook(book.getId()))));
+    }
+
+    @Test
+    public void testDeleteReviewDoesNotLoadTheReview() {
+        Book book = bookService.createBook(new Book(null, "Refactoring", "Martin Fowler", 2018, 2));
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Classic"));
+        Review kept = reviewService.addReviewToBook(book.getId(), new ReviewRequest(4, "Still relevant"));
+        reviewRepository.findById(kept.getId());
+        cache.evictEntityData(Review.class, review.getId());
+
+        statistics.clear();
+        // The review, the book's review count and the change event, with nothing cached to serve a load.
+        assertEquals(3, statementsOf(() -> reviewService.deleteReview(review.getId())));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(reviewRepository.existsById(review.getId()));
+        assertEquals(1, bookRepository.findReviewCount(book.getId()).orElseThrow());
+        assertTrue(cache.containsEntity(Review.class, kept.getId()));
+
+        assertEquals(1, statementsOf(() -> assertThrows(NotFoundException.class, () -> reviewService.deleteReview(review.getId()))));
+    }
+
+    @Test
+    public void testDeleteReviewOfACachedReviewEvictsIt() {
+        Book book = bookService.createBook(new Book(null, "Domain-Driven Design", "Eric Evans", 2003, 1));
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Dense"));
+        // Identity inserts are not cached; the first read is.
+        reviewRepository.findById(review.getId());
+
+        assertEquals(3, statementsOf(() -> reviewService.deleteReview(review.getId())));
+        assertFalse(cache.containsEntity(Review.class, review.getId()));
+        assertThrows(NotFoundException.class, () -> reviewService.updateReview(review.getId(), new ReviewRequest(1, "Gone")));
+    }
+
+    // H2 gathers statistics for every statement it runs, whichever session runs it.
+    private int statementsOf(Runnable mutation) {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        mutation.run();
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(EXECUTION_COUNT), 0) FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+                "WHERE SQL_STATEMENT NOT LIKE 'SET %' AND SQL_STATEMENT NOT IN ('COMMIT', 'ROLLBACK')", Integer.class);
+    }
+}
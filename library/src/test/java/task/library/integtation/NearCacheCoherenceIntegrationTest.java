@@ -0,0 +1,86 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import task.library.LibraryApplication;
+import task.library.config.nearcache.NearCacheInvalidator;
+import task.library.dto.BookRequest;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.repository.BookRepository;
+import task.library.service.BookService;
+import task.library.service.ReviewService;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Two application instances sharing one database, each with its own near-cache.
+ */
+public class NearCacheCoherenceIntegrationTest {
+
+    private static final long MAX_STALENESS_MS = 500;
+
+    @Test
+    public void testWritesOnOneInstanceBecomeVisibleOnTheOtherWithinTheStalenessBound() throws Exception {
+        try (ConfigurableApplicationContext first = start(); ConfigurableApplicationContext second = start()) {
+            Book book = first.getBean(BookRepository.class).save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+            BookService firstBooks = first.getBean(BookService.class);
+            BookService secondBooks = second.getBean(BookService.class);
+            assertEquals("Java Programming", firstBooks.getBookById(book.getId()).getTitle());
+            assertEquals("Java Programming", secondBooks.getBookById(book.getId()).getTitle());
+
+            firstBooks.updateBook(book.getId(), new BookRequest("Effective Java", "John Doe", 2023, 5));
+
+            // The writer evicts on commit, the other instance within one poll.
+            assertEquals("Effective Java", firstBooks.getBookById(book.getId()).getTitle());
+            assertConverges("Effective Java", () -> secondBooks.getBookById(book.getId()).getTitle());
+
+            first.getBean(ReviewService.class).addReviewToBook(book.getId(), new ReviewRequest(4, "Good book"));
+            ReviewService secondReviews = second.getBean(ReviewService.class);
+            assertConverges(4.0, () -> secondReviews.getAverageRatingsForBooks().get(0).getAverageRating());
+            first.getBean(ReviewService.class).addReviewToBook(book.getId(), new ReviewRequest(2, "Not for me"));
+            assertConverges(3.0, () -> secondReviews.getAverageRatingsForBooks().get(0).getAverageRating());
+        }
+    }
+
+    @Test
+    public void testInstanceWithStalledInvalidationReadsThrough() throws Exception {
+        try (ConfigurableApplicationContext first = start(); ConfigurableApplicationContext second = start()) {
+            Book book = first.getBean(BookRepository.class).save(new Book(null, "Spring Boot Essentials", "Jane Smith", 2022, 4));
+            BookService secondBooks = second.getBean(BookService.class);
+            assertEquals("Spring Boot Essentials", secondBooks.getBookById(book.getId()).getTitle());
+
+            second.getBean(NearCacheInvalidator.class).stop();
+            first.getBean(BookService.class).updateBook(book.getId(), new BookRequest("Spring in Action", "Jane Smith", 2022, 4));
+
+            // No invalidation will ever arrive, the bound alone must hide the cached title.
+            Thread.sleep(MAX_STALENESS_MS + 50);
+            assertFalse(second.getBean(NearCacheInvalidator.class).isFresh());
+            assertEquals("Spring in Action", secondBooks.getBookById(book.getId()).getTitle());
+        }
+    }
+
+    private static <T> void assertConverges(T expected, Supplier<T> actual) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + MAX_STALENESS_MS;
+        T last = actual.get();
+        while (!expected.equals(last) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            last = actual.get();
+        }
+        assertEquals(expected, last);
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(LibraryApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:near-cache;DB_CLOSE_DELAY=-1",
+                        "--library.near-cache.enabled=true",
+                        "--library.near-cache.poll-interval-ms=50",
+                        "--library.near-cache.max-staleness-ms=" + MAX_STALENESS_MS);
+    }
+}
@@ -0,0 +1,53 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.repository.BookRepository;
+import task.library.service.ReviewService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prodprofile")
+@ActiveProfiles("prod")
+@Transactional
+public class ProdProfileIntegrationTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Test
+    public void testSchemaIsManagedByLiquibaseOnly() {
+        assertEquals("none", environment.getProperty("spring.jpa.hibernate.ddl-auto"));
+        Integer changeSets = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DATABASECHANGELOG", Integer.class);
+        assertNotNull(changeSets);
+        assertEquals(changeSets, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DATABASECHANGELOG WHERE EXECTYPE = 'EXECUTED'", Integer.class));
+    }
+
+    @Test
+    public void testLiquibaseSchemaServesEntities() {
+        Book book = bookRepository.save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Great book!"));
+
+        assertNotNull(review.getId());
+        assertEquals("Great book!", reviewService.getAllReviewsForBook(book.getId()).get(0).getComment());
+    }
+}
@@ -0,0 +1,143 @@
+package task.library.integtation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import task.library.entity.Book;
+import task.library.repository.BookRepository;
+import task.library.service.BookService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:read-coalescing")
+public class ReadCoalescingIntegrationTest {
+
+    private static final int FOLLOWERS = 3;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void testIdenticalSearchesInFlightShareOneQuery() throws Exception {
+        bookService.createBook(new Book(null, "Refactoring", "Martin Fowler", 2018, 2));
+        holdFirstSearchFor("Martin Fowler");
+        double coalescedBefore = coalesced();
+
+        SearchThread leader = search("Martin Fowler");
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        List<SearchThread> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(search("Martin Fowler"));
+        }
+        followers.forEach(ReadCoalescingIntegrationTest::awaitWaiting);
+        release.countDown();
+
+        List<Book> books = leader.result();
+        assertEquals(1, books.size());
+        for (SearchThread follower : followers) {
+            assertSame(books, follower.result());
+        }
+        // Shared across request threads, so detached from the session it was loaded in.
+        assertFalse(books.get(0).getReviews() instanceof PersistentCollection);
+        verify(bookRepository, times(1)).findByTitleOrAuthor(isNull(), eq("Martin Fowler"));
+        assertEquals(FOLLOWERS, coalesced() - coalescedBefore);
+    }
+
+    @Test
+    public void testReadAfterACommittedWriteDoesNotJoinAnOlderQuery() throws Exception {
+        bookService.createBook(new Book(null, "Clean Code", "Robert Martin", 2008, 3));
+        holdFirstSearchFor("Robert Martin");
+
+        SearchThread leader = search("Robert Martin");
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        bookService.createBook(new Book(null, "Clean Architecture", "Robert Martin", 2017, 1));
+
+        List<Book> afterWrite = bookService.searchBooks(null, "Robert Martin");
+        release.countDown();
+
+        assertEquals(2, afterWrite.size());
+        assertTrue(leader.result().size() >= 1);
+        verify(bookRepository, times(2)).findByTitleOrAuthor(isNull(), eq("Robert Martin"));
+    }
+
+    // Only the first search reaches the database until released; the ones after it run straight through.
+    private void holdFirstSearchFor(String author) {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                entered.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            }
+            // The spy wraps a repository proxy, whose real method Mockito cannot call.
+            return new ArrayList<>(bookRepository.findAll().stream()
+                    .filter(book -> author.equals(book.getAuthor()))
+                    .toList());
+        }).when(bookRepository).findByTitleOrAuthor(isNull(), eq(author));
+    }
+
+    private SearchThread search(String author) {
+        SearchThread thread = new SearchThread(author);
+        thread.start();
+        return thread;
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("library.coalescing.reads", "operation", "book-search", "result", "coalesced").count();
+    }
+
+    // A follower parks with a timeout once it waits for the query in flight.
+    private static void awaitWaiting(SearchThread thread) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(Thread.State.TIMED_WAITING, thread.getState());
+    }
+
+    private final class SearchThread extends Thread {
+
+        private final AtomicReference<List<Book>> result = new AtomicReference<>();
+        private final String author;
+
+        private SearchThread(String author) {
+            this.author = author;
+        }
+
+        @Override
+        public void run() {
+            result.set(bookService.searchBooks(null, author));
+        }
+
+        List<Book> result() throws InterruptedException {
+            join(TimeUnit.SECONDS.toMillis(10));
+            return result.get();
+        }
+    }
+}
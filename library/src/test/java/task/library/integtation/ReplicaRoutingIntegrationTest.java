@@ -0,0 +1,109 @@
+package task.library.integtation;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import task.library.config.replica.ChangeCaptureReplicator;
+import task.library.dto.BookRequest;
+import task.library.entity.Book;
+import task.library.exception.NotFoundException;
+import task.library.service.BookService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-routing-primary",
+        "library.replica.enabled=true",
+        "library.replica.url=jdbc:h2:mem:replica-routing-replica",
+        // Replication is driven by the tests, and a stale replica must not fall back to the primary on its own.
+        "library.replica.replication-interval-ms=3600000",
+        "library.replica.max-lag-ms=3600000",
+        // Reads served from the second-level cache would never reach either database.
+        "library.entity-cache.enabled=false"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ChangeCaptureReplicator replicator;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testReadOnlyTransactionsReadFromReplica() throws Exception {
+        Book book = bookService.createBook(new Book(null, "Java Programming", "John Doe", 2023, 5));
+
+        assertThrows(NotFoundException.class, () -> bookService.getBookById(book.getId()));
+
+        replicator.replicate();
+
+        assertEquals("Java Programming", bookService.getBookById(book.getId()).getTitle());
+    }
+
+    @Test
+    public void testChangeFeedIsReadFromThePrimary() throws Exception {
+        Book book = bookService.createBook(new Book(null, "Release It!", "Michael Nygard", 2018, 2));
+
+        // Not replicated yet, and the change log never is.
+        MvcResult changes = mockMvc.perform(get("/api/changes").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<?> created = JsonPath.read(changes.getResponse().getContentAsString(),
+                "$.changes[?(@.entityType == 'BOOK' && @.entityId == " + book.getId() + ")]");
+        assertEquals(1, created.size());
+    }
+
+    @Test
+    public void testClientReadsItsOwnWritesBeforeReplication() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/books")
+                        .header("X-Client-Id", "alice")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Spring in Action\",\"author\":\"Craig Walls\",\"publicationYear\":2022,\"availableCopies\":3}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String location = "/api/books/" + JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(get(location).header("X-Client-Id", "alice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Spring in Action"));
+        mockMvc.perform(get(location).header("X-Client-Id", "bob"))
+                .andExpect(status().isNotFound());
+
+        replicator.replicate();
+
+        mockMvc.perform(get(location).header("X-Client-Id", "bob"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Spring in Action"));
+    }
+
+    @Test
+    public void testUpdatesAndDeletesAreReplicated() throws Exception {
+        Book book = bookService.createBook(new Book(null, "Clean Code", "Robert Martin", 2008, 2));
+        replicator.replicate();
+
+        bookService.updateBook(book.getId(), new BookRequest("Clean Code 2nd", "Robert Martin", 2024, 1));
+        replicator.replicate();
+        assertEquals("Clean Code 2nd", bookService.getBookById(book.getId()).getTitle());
+
+        bookService.deleteBook(book.getId());
+        replicator.replicate();
+        assertThrows(NotFoundException.class, () -> bookService.getBookById(book.getId()));
+    }
+}
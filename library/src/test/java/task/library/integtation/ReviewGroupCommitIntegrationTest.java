@@ -0,0 +1,120 @@
+package task.library.integtation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.repository.BookRepository;
+import task.library.repository.ReviewGroupCommitter;
+import task.library.repository.ReviewRepository;
+import task.library.service.ReviewService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:group-commit",
+        "library.group-commit.enabled=true",
+        "library.group-commit.max-batch-size=16",
+        "library.group-commit.max-delay-ms=50"
+})
+public class ReviewGroupCommitIntegrationTest {
+
+    private static final int SUBMISSIONS = 64;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ReviewGroupCommitter reviewGroupCommitter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testConcurrentSubmissionsAreCommittedInBatchesWithTheirOwnIds() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        long batchesBefore = batchCount();
+
+        List<CompletableFuture<Review>> results = submitConcurrently(index ->
+                reviewService.addReviewToBook(book.getId(), new ReviewRequest(1 + index % 5, "Review " + index)));
+
+        Set<Long> ids = new HashSet<>();
+        for (CompletableFuture<Review> result : results) {
+            Review review = result.get();
+            assertEquals(book.getId(), review.getBook().getId());
+            ids.add(review.getId());
+        }
+        assertEquals(SUBMISSIONS, ids.size());
+        assertEquals(SUBMISSIONS, reviewRepository.findAllById(ids).size());
+        assertEquals((long) SUBMISSIONS, bookRepository.findReviewCount(book.getId()).orElseThrow());
+        assertTrue(batchCount() - batchesBefore < SUBMISSIONS, "reviews should share commits");
+    }
+
+    @Test
+    public void testInvalidReviewFailsOnlyItsOwnSubmission() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Effective Java", "Joshua Bloch", 2018, 3));
+        Book deletedBook = new Book(-1L, "Deleted", "Nobody", 2000, 0);
+
+        // The service rejects unknown books up front, so the committer is fed directly to hit the foreign key.
+        List<CompletableFuture<Review>> results = submitConcurrently(index ->
+                reviewGroupCommitter.insert(new Review(null, 4, "Review " + index, index == 3 ? deletedBook : book)));
+
+        for (int i = 0; i < results.size(); i++) {
+            if (i == 3) {
+                ExecutionException failure = assertThrows(ExecutionException.class, results.get(i)::get);
+                assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+            } else {
+                assertEquals(book.getId(), results.get(i).get().getBook().getId());
+            }
+        }
+    }
+
+    private List<CompletableFuture<Review>> submitConcurrently(IntFunction<Review> submission) {
+        ExecutorService executor = Executors.newFixedThreadPool(SUBMISSIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Review>> results = new ArrayList<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            int index = i;
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return submission.apply(index);
+            }, executor));
+        }
+        start.countDown();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        executor.shutdown();
+        return results;
+    }
+
+    private long batchCount() {
+        return meterRegistry.get("library.reviews.group-commit.batch-size").summary().count();
+    }
+}
@@ -0,0 +1,81 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.dto.ReviewPageResponse;
+import task.library.dto.ReviewRequest;
+import task.library.dto.ReviewResponse;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.repository.BookRepository;
+import task.library.service.ReviewService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:review-pages")
+@AutoConfigureMockMvc
+public class ReviewPaginationIntegrationTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testPagesWalkTheReviewsNewestFirst() {
+        Book book = bookRepository.save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        List<Long> created = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            created.add(reviewService.addReviewToBook(book.getId(), new ReviewRequest(i, "Review " + i)).getId());
+        }
+        Review removed = reviewService.addReviewToBook(book.getId(), new ReviewRequest(1, "Removed"));
+        reviewService.deleteReview(removed.getId());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ReviewPageResponse page = reviewService.getReviewPage(book.getId(), cursor, 2);
+            assertEquals(5, page.getTotalCount());
+            page.getReviews().stream().map(ReviewResponse::getId).forEach(seen::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        Collections.reverse(created);
+        assertEquals(created, seen);
+        assertEquals(created.get(0), reviewService.getAllReviewsForBook(book.getId()).get(0).getId());
+    }
+
+    @Test
+    public void testEmptyPageAndErrors() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Spring Boot Essentials", "Jane Smith", 2022, 4));
+
+        ReviewPageResponse page = reviewService.getReviewPage(book.getId(), null, null);
+        assertEquals(0, page.getTotalCount());
+        assertEquals(List.of(), page.getReviews());
+        assertNull(page.getNextCursor());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/books/{bookId}/page", -1))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/books/{bookId}/page", book.getId()).param("cursor", "bm9wZQ"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.cursor").value("Malformed cursor"));
+    }
+}
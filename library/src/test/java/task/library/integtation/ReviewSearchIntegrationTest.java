@@ -0,0 +1,248 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.config.search.ReviewSearchProperties;
+import task.library.config.sharding.ReviewShards;
+import task.library.dto.ReviewRequest;
+import task.library.dto.ReviewSearchHit;
+import task.library.dto.ReviewSearchResponse;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.repository.BookRepository;
+import task.library.repository.ChangeEventRepository;
+import task.library.repository.ReviewSearchIndex;
+import task.library.service.BookService;
+import task.library.service.ReviewSearchIndexer;
+import task.library.service.ReviewService;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:review-search",
+        "library.search.refresh-interval-ms=20",
+        "library.search.change-poll-interval-ms=60000"
+})
+@AutoConfigureMockMvc
+public class ReviewSearchIntegrationTest {
+
+    private static final long REFRESH_TIMEOUT_MS = 2000;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewSearchIndexer reviewSearchIndexer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private ObjectProvider<ReviewShards> reviewShards;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testBestMatchComesFirstAndFilterByBook() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Java Concurrency in Practice", "Brian Goetz", 2006, 3));
+        Book other = bookRepository.save(new Book(null, "Effective Java", "Joshua Bloch", 2018, 2));
+        Review best = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Locking explained, locks and more locks"));
+        Review weaker = reviewService.addReviewToBook(book.getId(),
+                new ReviewRequest(4, "Long chapters on memory visibility, executors, testing and one on locking"));
+        Review elsewhere = reviewService.addReviewToBook(other.getId(), new ReviewRequest(5, "Nothing about locks here, almost"));
+
+        ReviewSearchResponse all = awaitSearch("locks", null, response -> response.getTotalHits() == 3);
+        assertEquals(best.getId(), ids(all).get(0));
+
+        ReviewSearchResponse withinBook = reviewService.searchReviews("locking", book.getId(), null, null);
+        assertEquals(List.of(best.getId(), weaker.getId()), ids(withinBook));
+        assertTrue(withinBook.getHits().get(0).getScore() > withinBook.getHits().get(1).getScore());
+        ReviewSearchHit hit = withinBook.getHits().get(0);
+        assertEquals(book.getId(), hit.getBookId());
+        assertEquals(5, hit.getRating());
+        assertEquals(best.getCreatedAt(), hit.getCreatedAt());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/search").param("q", "locks").param("bookId", String.valueOf(other.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits").value(1))
+                .andExpect(jsonPath("$.hits[0].id").value(elsewhere.getId()));
+    }
+
+    @Test
+    public void testWritesOfOtherInstancesAreIndexedFromTheChangeLog() {
+        // Changes left in the log by other tests are applied first, so the counts below are this test's own.
+        reviewSearchIndexer.poll();
+        Book book = bookRepository.save(new Book(null, "The Pragmatic Programmer", "Andrew Hunt", 2019, 2));
+        // Written the way another instance would, so no event is published here.
+        Long reviewId = jdbcTemplate.queryForObject("SELECT id FROM FINAL TABLE (INSERT INTO review (book_id, rating, comment, created_at) " +
+                "VALUES (?, 4, 'Tracer bullets everywhere', ?))", Long.class, book.getId(), Timestamp.from(Instant.now()));
+        recordRemoteChange(reviewId, book.getId(), "CREATED");
+        assertEquals(0, reviewService.searchReviews("tracer", book.getId(), null, null).getTotalHits());
+
+        assertEquals(1, reviewSearchIndexer.poll());
+        awaitSearch("tracer", book.getId(), response -> response.getTotalHits() == 1);
+        // Applied once, though it stays in the reorder window.
+        assertEquals(0, reviewSearchIndexer.poll());
+
+        jdbcTemplate.update("DELETE FROM review WHERE id = ?", reviewId);
+        recordRemoteChange(reviewId, book.getId(), "DELETED");
+        assertEquals(1, reviewSearchIndexer.poll());
+        awaitSearch("tracer", book.getId(), response -> response.getTotalHits() == 0);
+    }
+
+    @Test
+    public void testOffsetPagingWalksAllHits() {
+        Book book = bookRepository.save(new Book(null, "Clean Architecture", "Robert Martin", 2017, 1));
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(reviewService.addReviewToBook(book.getId(), new ReviewRequest(3, "Boundaries chapter " + i)).getId());
+        }
+        awaitSearch("boundaries", book.getId(), response -> response.getTotalHits() == 5);
+
+        List<Long> seen = new ArrayList<>();
+        Integer offset = 0;
+        do {
+            ReviewSearchResponse page = reviewService.searchReviews("boundaries", book.getId(), offset, 2);
+            seen.addAll(ids(page));
+            offset = page.getNextOffset();
+        } while (offset != null);
+
+        assertEquals(5, seen.size());
+        assertTrue(seen.containsAll(created));
+    }
+
+    @Test
+    public void testUpdatesAndDeletesReachTheIndex() {
+        Book book = bookRepository.save(new Book(null, "Refactoring", "Martin Fowler", 2018, 2));
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(2, "Dull catalogue"));
+        awaitSearch("catalogue", book.getId(), response -> response.getTotalHits() == 1);
+
+        reviewService.updateReview(review.getId(), new ReviewRequest(4, "Insightful smells"));
+        awaitSearch("catalogue", book.getId(), response -> response.getTotalHits() == 0);
+        ReviewSearchResponse updated = awaitSearch("smell", book.getId(), response -> response.getTotalHits() == 1);
+        assertEquals(4, updated.getHits().get(0).getRating());
+
+        reviewService.deleteReview(review.getId());
+        awaitSearch("smells", book.getId(), response -> response.getTotalHits() == 0);
+
+        reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Timeless advice"));
+        awaitSearch("timeless", null, response -> response.getTotalHits() == 1);
+        bookService.deleteBook(book.getId());
+        ReviewSearchResponse afterBookDeleted = awaitSearch("timeless", null, response -> response.getTotalHits() == 0);
+        assertNull(afterBookDeleted.getNextOffset());
+    }
+
+    @Test
+    public void testRebuildIndexesWhatIsInTheDatabase() {
+        Book book = bookRepository.save(new Book(null, "The Pragmatic Programmer", "Andy Hunt", 2019, 2));
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Tracer bullets"));
+
+        assertTrue(reviewSearchIndexer.rebuild() >= 1);
+
+        assertEquals(List.of(review.getId()), ids(reviewService.searchReviews("tracer", book.getId(), null, null)));
+    }
+
+    @Test
+    public void testIndexOnDiskResumesFromItsStoredCursor(@TempDir Path indexPath) throws Exception {
+        ReviewSearchProperties properties = new ReviewSearchProperties();
+        properties.setIndexPath(indexPath.toString());
+        properties.setChangePollIntervalMs(60000);
+        Book book = bookRepository.save(new Book(null, "Release It!", "Michael Nygard", 2018, 2));
+
+        ReviewSearchIndex index = new ReviewSearchIndex(properties);
+        ReviewSearchIndexer indexer = new ReviewSearchIndexer(index, jdbcTemplate, reviewShards, changeEventRepository, properties);
+        indexer.start();
+        indexer.poll();
+        indexer.stop();
+        index.destroy();
+
+        Long reviewId = jdbcTemplate.queryForObject("SELECT id FROM FINAL TABLE (INSERT INTO review (book_id, rating, comment, created_at) " +
+                "VALUES (?, 5, 'Circuit breakers saved us', ?))", Long.class, book.getId(), Timestamp.from(Instant.now()));
+        recordRemoteChange(reviewId, book.getId(), "CREATED");
+        // No change event, so only a rebuild would index it.
+        jdbcTemplate.update("INSERT INTO review (book_id, rating, comment, created_at) VALUES (?, 3, 'Bulkheads too', ?)",
+                book.getId(), Timestamp.from(Instant.now()));
+
+        ReviewSearchIndex reopened = new ReviewSearchIndex(properties);
+        ReviewSearchIndexer resumed = new ReviewSearchIndexer(reopened, jdbcTemplate, reviewShards, changeEventRepository, properties);
+        try {
+            resumed.start();
+            assertEquals(List.of(reviewId), ids(reopened.search("circuit", book.getId(), null, null)));
+            assertEquals(0, reopened.search("bulkheads", book.getId(), null, null).getTotalHits());
+        } finally {
+            resumed.stop();
+            reopened.destroy();
+        }
+    }
+
+    @Test
+    public void testInvalidSearches() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.q").value("Search query must not be blank"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/search").param("q", "java").param("offset", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.offset").exists());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/search").param("q", "java").param("bookId", "-1"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/search"))
+                .andExpect(status().isBadRequest());
+        // Unbalanced syntax is searched as text rather than rejected.
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/search").param("q", "\"java"))
+                .andExpect(status().isOk());
+    }
+
+    // Writes become searchable at the next refresh, not when the write returns.
+    private ReviewSearchResponse awaitSearch(String query, Long bookId, Predicate<ReviewSearchResponse> condition) {
+        long deadline = System.currentTimeMillis() + REFRESH_TIMEOUT_MS;
+        ReviewSearchResponse response = reviewService.searchReviews(query, bookId, null, null);
+        while (!condition.test(response) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            response = reviewService.searchReviews(query, bookId, null, null);
+        }
+        assertTrue(condition.test(response), "Index did not catch up with the database");
+        return response;
+    }
+
+    private static List<Long> ids(ReviewSearchResponse response) {
+        return response.getHits().stream().map(ReviewSearchHit::getId).toList();
+    }
+
+    private void recordRemoteChange(Long reviewId, Long bookId, String operation) {
+        jdbcTemplate.update("INSERT INTO change_event (entity_type, entity_id, operation, book_id, occurred_at) VALUES ('REVIEW', ?, ?, ?, ?)",
+                reviewId, operation, bookId, Timestamp.from(Instant.now()));
+    }
+}
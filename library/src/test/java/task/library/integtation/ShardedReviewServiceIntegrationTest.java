@@ -0,0 +1,212 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.config.sharding.ReviewShards;
+import task.library.dto.BookRatingResponse;
+import task.library.dto.ReviewPageResponse;
+import task.library.dto.ReviewRequest;
+import task.library.dto.ReviewSearchHit;
+import task.library.dto.ReviewSearchResponse;
+import task.library.entity.Book;
+import task.library.entity.Review;
+import task.library.exception.NotFoundException;
+import task.library.repository.BookRepository;
+import task.library.repository.ReviewSearchIndex;
+import task.library.service.BookService;
+import task.library.service.ReviewService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-primary",
+        "library.sharding.enabled=true",
+        "library.sharding.urls=jdbc:h2:mem:sharded-reviews-0,jdbc:h2:mem:sharded-reviews-1,jdbc:h2:mem:sharded-reviews-2",
+        // Small enough that listing every book reads the reviews in several IN list chunks.
+        "library.multi-get.chunk-size=2"
+})
+@AutoConfigureMockMvc
+public class ShardedReviewServiceIntegrationTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewShards reviewShards;
+
+    @Autowired
+    private ReviewSearchIndex reviewSearchIndex;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testReviewsAreStoredOnTheShardOfTheirBook() {
+        Book book = bookRepository.save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Great book!"));
+
+        int shard = ReviewShards.shardFor(book.getId(), reviewShards.size());
+        for (int i = 0; i < reviewShards.size(); i++) {
+            Integer count = reviewShards.get(i).queryForObject("SELECT COUNT(*) FROM review WHERE id = ?", Integer.class, review.getId());
+            assertEquals(i == shard ? 1 : 0, count);
+        }
+        assertEquals("Great book!", reviewService.getAllReviewsForBook(book.getId()).get(0).getComment());
+        assertEquals(List.of(Map.of("comment", "Great book!")), reviewService.getAllReviewsForBook(book.getId(), "comment"));
+    }
+
+    @Test
+    public void testAverageRatingsAreGatheredFromAllShards() {
+        Book first = bookRepository.save(new Book(null, "Effective Java", "Joshua Bloch", 2018, 3));
+        Book second = findBookOnAnotherShard(first);
+        reviewService.addReviewToBook(first.getId(), new ReviewRequest(5, "Excellent"));
+        reviewService.addReviewToBook(first.getId(), new ReviewRequest(4, "Very good"));
+        reviewService.addReviewToBook(second.getId(), new ReviewRequest(2, "Meh"));
+
+        List<BookRatingResponse> ratings = reviewService.getAverageRatingsForBooks();
+        Map<Long, List<Review>> reviews = reviewService.getReviewsForBooks(List.of(second.getId(), -1L, first.getId()));
+        assertEquals(List.of(second.getId(), first.getId()), List.copyOf(reviews.keySet()));
+        assertEquals(2, reviews.get(first.getId()).size());
+        ReviewPageResponse page = reviewService.getReviewPage(first.getId(), null, 1);
+        assertEquals(2, page.getTotalCount());
+        assertEquals("Very good", page.getReviews().get(0).getComment());
+        assertEquals("Excellent", reviewService.getReviewPage(first.getId(), page.getNextCursor(), 1).getReviews().get(0).getComment());
+
+        assertEquals(4.5, averageOf(ratings, first.getTitle()));
+        assertEquals(2.0, averageOf(ratings, second.getTitle()));
+        assertTrue(bookService.getBooksWithHighRatingsJPQL().contains(first));
+        assertTrue(bookService.getBooksWithHighRatingsNativeSQL().stream().noneMatch(book -> book.equals(second)));
+    }
+
+    @Test
+    public void testUpdateAndDeleteByReviewIdFindTheShard() {
+        Book book = bookRepository.save(new Book(null, "Refactoring", "Martin Fowler", 2018, 1));
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(3, "Okay"));
+
+        reviewService.updateReview(review.getId(), new ReviewRequest(4, "Better on a second read"));
+        assertEquals("Better on a second read", reviewService.getAllReviewsForBook(book.getId()).get(0).getComment());
+
+        reviewService.deleteReview(review.getId());
+        assertEquals(0, bookRepository.findReviewCount(book.getId()).orElseThrow());
+        assertThrows(NotFoundException.class, () -> reviewService.getAllReviewsForBook(book.getId()));
+        assertThrows(NotFoundException.class, () -> reviewService.deleteReview(review.getId()));
+    }
+
+    @Test
+    public void testReviewOfAMissingBookNeverReachesAShard() {
+        long before = 0;
+        for (int i = 0; i < reviewShards.size(); i++) {
+            before += reviewShards.get(i).queryForObject("SELECT COUNT(*) FROM review", Long.class);
+        }
+
+        assertThrows(NotFoundException.class, () -> reviewService.addReviewToBook(-1L, new ReviewRequest(4, "Orphan")));
+
+        long after = 0;
+        for (int i = 0; i < reviewShards.size(); i++) {
+            after += reviewShards.get(i).queryForObject("SELECT COUNT(*) FROM review", Long.class);
+        }
+        assertEquals(before, after);
+    }
+
+    @Test
+    public void testDeletingBookRemovesItsReviewsFromTheShard() {
+        Book book = bookRepository.save(new Book(null, "Domain-Driven Design", "Eric Evans", 2003, 2));
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Classic"));
+
+        bookService.deleteBook(book.getId());
+
+        assertThrows(NotFoundException.class, () -> reviewService.updateReview(review.getId(), new ReviewRequest(1, "Gone")));
+    }
+
+    @Test
+    public void testSearchCoversEveryShard() {
+        Book book = bookRepository.save(new Book(null, "Working Effectively with Legacy Code", "Michael Feathers", 2004, 1));
+        Book other = findBookOnAnotherShard(book);
+        Review review = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Seams everywhere"));
+        Review otherReview = reviewService.addReviewToBook(other.getId(), new ReviewRequest(4, "No seams at all"));
+        reviewSearchIndex.refresh();
+
+        ReviewSearchResponse found = reviewService.searchReviews("seams", null, null, null);
+        assertEquals(Set.of(review.getId(), otherReview.getId()),
+                found.getHits().stream().map(ReviewSearchHit::getId).collect(Collectors.toSet()));
+
+        bookService.deleteBook(other.getId());
+        reviewSearchIndex.refresh();
+        assertEquals(List.of(review.getId()), reviewService.searchReviews("seams", null, null, null).getHits().stream()
+                .map(ReviewSearchHit::getId).toList());
+    }
+
+    @Test
+    public void testBooksAreServedWithTheirReviewsFromTheShards() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Patterns of Enterprise Application Architecture", "Martin Fowler", 2002, 2));
+        Review first = reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Still relevant"));
+        Review second = reviewService.addReviewToBook(book.getId(), new ReviewRequest(4, "Dense but useful"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews.length()").value(2))
+                .andExpect(jsonPath("$.reviews[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.reviews[1].comment").value("Dense but useful"));
+
+        reviewService.updateReview(second.getId(), new ReviewRequest(5, "Better every read"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books/{id}", book.getId()))
+                .andExpect(jsonPath("$.reviews[1].comment").value("Better every read"));
+
+        Book highlyRated = bookService.getBooksWithHighRatingsJPQL().stream()
+                .filter(candidate -> candidate.getId().equals(book.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of(first.getId(), second.getId()), highlyRated.getReviews().stream().map(Review::getId).toList());
+
+        Book other = bookRepository.save(new Book(null, "Working Effectively with Legacy Code", "Michael Feathers", 2004, 1));
+        Review otherReview = reviewService.addReviewToBook(other.getId(), new ReviewRequest(4, "Seams everywhere"));
+        List<Book> all = bookService.getAllBooks();
+        assertTrue(all.size() > 2);
+        for (Book listed : all) {
+            List<Long> expected = listed.getId().equals(book.getId()) ? List.of(first.getId(), second.getId())
+                    : listed.getId().equals(other.getId()) ? List.of(otherReview.getId()) : null;
+            if (expected != null) {
+                assertEquals(expected, listed.getReviews().stream().map(Review::getId).toList());
+            }
+        }
+    }
+
+    private Book findBookOnAnotherShard(Book book) {
+        int shard = ReviewShards.shardFor(book.getId(), reviewShards.size());
+        while (true) {
+            Book candidate = bookRepository.save(new Book(null, "Clean Code", "Robert Martin", 2008, 4));
+            if (ReviewShards.shardFor(candidate.getId(), reviewShards.size()) != shard) {
+                assertNotEquals(book.getId(), candidate.getId());
+                return candidate;
+            }
+        }
+    }
+
+    private static double averageOf(List<BookRatingResponse> ratings, String title) {
+        return ratings.stream()
+                .filter(rating -> rating.getBookTitle().equals(title))
+                .findFirst()
+                .orElseThrow()
+                .getAverageRating();
+    }
+}
@@ -0,0 +1,67 @@
+package task.library.integtation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import task.library.dto.ReviewRequest;
+import task.library.entity.Book;
+import task.library.repository.BookRepository;
+import task.library.service.ReviewService;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sparse-fieldsets")
+@AutoConfigureMockMvc
+public class SparseFieldsetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Test
+    public void testOnlyRequestedFieldsAreReturned() throws Exception {
+        Book book = bookRepository.save(new Book(null, "Java Programming", "John Doe", 2023, 5));
+        reviewService.addReviewToBook(book.getId(), new ReviewRequest(5, "Great book!"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(book.getId()))
+                .andExpect(jsonPath("$[0].title").value("Java Programming"))
+                .andExpect(jsonPath("$[0].author").doesNotExist())
+                .andExpect(jsonPath("$[0].availableCopies").doesNotExist());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/books/{bookId}", book.getId()).param("fields", "rating"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].rating").value(5))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].comment").doesNotExist());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].author").value("John Doe"));
+    }
+
+    @Test
+    public void testFieldsOutsideTheWhitelistAreRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/books").param("fields", "id,reviews"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.fields").value(
+                        "Unknown field 'reviews', allowed fields are id, title, author, publicationYear, availableCopies"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reviews/books/1").param("fields", " , "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.fields").value(
+                        "At least one field is required, allowed fields are id, rating, comment"));
+    }
+}
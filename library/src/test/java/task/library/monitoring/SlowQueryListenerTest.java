@@ -0,0 +1,109 @@
+package task.library.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task.library.config.datasource.SlowQueryProperties;
+import task.library.dto.SlowQueryResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowQueryListenerTest {
+
+    private SlowQueryRegistry registry;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThresholdMs(0);
+
+        JdbcDataSource rawDataSource = new JdbcDataSource();
+        rawDataSource.setURL("jdbc:h2:mem:slowquerytest;DB_CLOSE_DELAY=-1");
+        try (Connection connection = rawDataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS item (id BIGINT PRIMARY KEY, name VARCHAR(64))");
+            statement.execute("MERGE INTO item KEY(id) VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+        }
+
+        registry = new SlowQueryRegistry(properties);
+        registry.setPlanDataSource("items", rawDataSource);
+        dataSource = ProxyDataSourceBuilder.create(rawDataSource)
+                .name("items")
+                .listener(new SlowQueryListener(properties, registry))
+                .proxyResultSet()
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void testSlowSelect_RecordsRowCountRedactedParametersAndPlan() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM item WHERE id >= ? AND name <> ?")) {
+            statement.setLong(1, 2L);
+            statement.setString(2, "secret");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getLong(1);
+                }
+            }
+        }
+
+        SlowQueryResponse slowest = awaitPlan();
+
+        assertEquals("SELECT * FROM item WHERE id >= ? AND name <> ?", slowest.getNormalizedSql());
+        assertEquals(1, slowest.getCount());
+        assertEquals(2, slowest.getLastRowCount());
+        assertEquals(List.of("<Long>", "<String>"), slowest.getLastParameters());
+        assertTrue(slowest.getPlan().contains("ITEM"), slowest.getPlan());
+    }
+
+    @Test
+    void testSlowUpdate_RecordsUpdateCount() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE item SET name = name WHERE id < ?")) {
+            statement.setLong(1, 3L);
+            statement.executeUpdate();
+        }
+
+        SlowQueryResponse slowest = registry.getSlowestQueries(1).get(0);
+
+        assertEquals(2, slowest.getLastRowCount());
+    }
+
+    @Test
+    void testNormalize_CollapsesLiteralsAndInLists() {
+        String normalized = SlowQueryRegistry.normalize(
+                "select b1_0.id from book b1_0\n where b1_0.id in (?, ?, ?) and b1_0.title = 'x' and b1_0.publication_year > 2000");
+
+        assertEquals("select b1_0.id from book b1_0 where b1_0.id in (...) and b1_0.title = ? and b1_0.publication_year > ?",
+                normalized);
+    }
+
+    private SlowQueryResponse awaitPlan() throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            SlowQueryResponse slowest = registry.getSlowestQueries(1).get(0);
+            if (slowest.getPlan() != null) {
+                return slowest;
+            }
+            Thread.sleep(20);
+        }
+        SlowQueryResponse slowest = registry.getSlowestQueries(1).get(0);
+        assertNotNull(slowest.getPlan());
+        return slowest;
+    }
+}
@@ -0,0 +1,74 @@
+package task.library.monitoring;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task.library.config.tracing.TracingProperties;
+import task.library.dto.TraceResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceStoreTest {
+
+    private TraceStore traceStore;
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        TracingProperties properties = new TracingProperties();
+        properties.setStoreCapacity(5);
+        traceStore = new TraceStore(properties);
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(traceStore).build();
+        tracer = tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void testGetSlowestTraces_GroupsSpansAndOrdersByDuration() throws InterruptedException {
+        Span fastRoot = tracer.spanBuilder("GET /api/books").startSpan();
+        fastRoot.end();
+
+        Span slowRoot = tracer.spanBuilder("GET /api/books/{id}/author-details").startSpan();
+        try (Scope ignored = slowRoot.makeCurrent()) {
+            Span child = tracer.spanBuilder("BookRepository.findById").startSpan();
+            Thread.sleep(5);
+            child.end();
+        }
+        slowRoot.end();
+
+        List<TraceResponse> traces = traceStore.getSlowestTraces(10);
+
+        assertEquals(2, traces.size());
+        TraceResponse slowest = traces.get(0);
+        assertEquals("GET /api/books/{id}/author-details", slowest.getRootSpanName());
+        assertEquals(2, slowest.getSpanCount());
+        assertNull(slowest.getSpans().get(0).getParentSpanId());
+        assertEquals(slowest.getSpans().get(0).getSpanId(), slowest.getSpans().get(1).getParentSpanId());
+        assertTrue(slowest.getDurationMs() >= 5);
+    }
+
+    @Test
+    void testOnEnd_EvictsOldestSpansBeyondCapacity() {
+        for (int i = 0; i < 8; i++) {
+            tracer.spanBuilder("span-" + i).startSpan().end();
+        }
+
+        List<TraceResponse> traces = traceStore.getSlowestTraces(100);
+
+        assertEquals(5, traces.size());
+        assertTrue(traces.stream().noneMatch(trace -> trace.getRootSpanName().equals("span-0")));
+    }
+}
@@ -0,0 +1,145 @@
+package task.library.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import task.library.config.analytics.AnalyticsProperties;
+import task.library.dto.RatingAnalyticsResponse;
+import task.library.dto.RatingStatistics;
+import task.library.entity.ChangeEvent;
+import task.library.repository.RatingSnapshot;
+import task.library.repository.RatingSnapshotRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceImplTest {
+
+    @Mock
+    private RatingSnapshotRepository ratingSnapshotRepository;
+
+    private AnalyticsProperties properties;
+    private AnalyticsServiceImpl analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AnalyticsProperties();
+        properties.setParallelism(4);
+        properties.setSplitThreshold(16);
+        analyticsService = new AnalyticsServiceImpl(ratingSnapshotRepository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyticsService.shutdown();
+    }
+
+    @Test
+    void testStatisticsPerGroup() {
+        RatingSnapshot snapshot = new RatingSnapshot(
+                new String[]{"Jane Smith", "John Doe", "Jane Smith"},
+                new int[]{1999, 2004, 2001},
+                new int[]{0, 12, 2},
+                new int[]{0, 0, 0, 0, 2, 1},
+                new byte[]{1, 2, 3, 4, 5, 5});
+
+        RatingAnalyticsResponse byAuthor = analyticsService.aggregate(snapshot, RatingDimension.AUTHOR, Instant.EPOCH);
+
+        assertEquals("author", byAuthor.getGroupedBy());
+        assertEquals(6, byAuthor.getReviewCount());
+        RatingStatistics jane = byAuthor.getGroups().get(0);
+        assertEquals("Jane Smith", jane.getGroup());
+        assertEquals(2, jane.getBookCount());
+        assertEquals(5, jane.getReviewCount());
+        assertEquals(3.0, jane.getMean(), 1e-9);
+        assertEquals(2.0, jane.getVariance(), 1e-9);
+        assertEquals(3, jane.getP50());
+        assertEquals(5, jane.getP90());
+        assertEquals(5, jane.getP99());
+        assertEquals(5.0, byAuthor.getGroups().get(1).getMean(), 1e-9);
+
+        List<String> decades = analyticsService.aggregate(snapshot, RatingDimension.DECADE, Instant.EPOCH)
+                .getGroups().stream().map(RatingStatistics::getGroup).toList();
+        assertEquals(List.of("1990s", "2000s"), decades);
+        List<String> availability = analyticsService.aggregate(snapshot, RatingDimension.AVAILABILITY, Instant.EPOCH)
+                .getGroups().stream().map(RatingStatistics::getGroup).toList();
+        assertEquals(List.of("0", "1-2", "10+"), availability);
+    }
+
+    @Test
+    void testGroupWithoutReviewsHasNoStatistics() {
+        RatingSnapshot snapshot = new RatingSnapshot(new String[]{"John Doe"}, new int[]{2020}, new int[]{1},
+                new int[0], new byte[0]);
+
+        RatingStatistics statistics = analyticsService.aggregate(snapshot, RatingDimension.AUTHOR, Instant.EPOCH)
+                .getGroups().get(0);
+
+        assertEquals(1, statistics.getBookCount());
+        assertEquals(0, statistics.getReviewCount());
+        assertNull(statistics.getMean());
+        assertNull(statistics.getP50());
+    }
+
+    @Test
+    void testParallelAggregationMatchesSequential() {
+        RatingSnapshot snapshot = randomSnapshot(50, 10_000);
+
+        RatingAnalyticsResponse parallel = analyticsService.aggregate(snapshot, RatingDimension.DECADE, Instant.EPOCH);
+        properties.setSplitThreshold(Integer.MAX_VALUE);
+        RatingAnalyticsResponse sequential = analyticsService.aggregate(snapshot, RatingDimension.DECADE, Instant.EPOCH);
+
+        assertEquals(sequential.getGroups().size(), parallel.getGroups().size());
+        for (int i = 0; i < sequential.getGroups().size(); i++) {
+            RatingStatistics expected = sequential.getGroups().get(i);
+            RatingStatistics actual = parallel.getGroups().get(i);
+            assertEquals(expected.getGroup(), actual.getGroup());
+            assertEquals(expected.getReviewCount(), actual.getReviewCount());
+            assertEquals(expected.getMean(), actual.getMean(), 1e-9);
+            assertEquals(expected.getVariance(), actual.getVariance(), 1e-9);
+            assertEquals(expected.getP90(), actual.getP90());
+        }
+    }
+
+    @Test
+    void testResultsAreReusedUntilAWriteCommits() {
+        when(ratingSnapshotRepository.load()).thenReturn(randomSnapshot(5, 100));
+
+        analyticsService.getRatingStatistics(RatingDimension.AUTHOR);
+        analyticsService.getRatingStatistics(RatingDimension.DECADE);
+        verify(ratingSnapshotRepository, times(1)).load();
+
+        analyticsService.onChange(new ChangeEvent());
+        analyticsService.getRatingStatistics(RatingDimension.AVAILABILITY);
+        verify(ratingSnapshotRepository, times(2)).load();
+    }
+
+    private static RatingSnapshot randomSnapshot(int books, int reviews) {
+        Random random = new Random(42);
+        String[] authors = new String[books];
+        int[] years = new int[books];
+        int[] copies = new int[books];
+        for (int i = 0; i < books; i++) {
+            authors[i] = "Author " + random.nextInt(10);
+            years[i] = 1950 + random.nextInt(75);
+            copies[i] = random.nextInt(15);
+        }
+        int[] reviewBooks = new int[reviews];
+        byte[] ratings = new byte[reviews];
+        for (int i = 0; i < reviews; i++) {
+            reviewBooks[i] = random.nextInt(books);
+            ratings[i] = (byte) (1 + random.nextInt(5));
+        }
+        return new RatingSnapshot(authors, years, copies, reviewBooks, ratings);
+    }
+}
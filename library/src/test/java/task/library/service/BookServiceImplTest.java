@@ -1,21 +1,32 @@
 package task.library.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import task.library.config.feign.AuthorClient;
+import task.library.config.multiget.MultiGetProperties;
 import task.library.dto.AuthorDetails;
 import task.library.dto.BookDto;
 import task.library.dto.BookRequest;
 import task.library.entity.Book;
+import task.library.entity.ChangeEvent;
+import task.library.exception.InvalidParameterException;
 import task.library.exception.NotFoundException;
 import task.library.repository.BookRepository;
+import task.library.repository.CatalogFilter;
+import task.library.repository.CatalogSnapshot;
+import task.library.repository.ProjectionRepository;
 import task.library.repository.ReviewRepository;
 import org.junit.jupiter.api.Test;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -35,9 +46,31 @@ class BookServiceImplTest {
     @Mock
     private AuthorClient authorClient;
 
+    @Mock
+    private ChangeLogService changeLogService;
+
+    @Mock
+    private ProjectionRepository projectionRepository;
+
+    @Spy
+    private MultiGetProperties multiGetProperties = new MultiGetProperties();
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    @Mock
+    private ReadCoalescer readCoalescer;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
+    // Every read runs as if no other caller were asking for it.
+    @BeforeEach
+    void setUpReadCoalescer() {
+        lenient().when(readCoalescer.read(anyString(), anyList(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    }
+
     @Test
     void testCreateBook() {
         Book book = new Book(1L, "Java Programming", "John Doe", 2023, 5);
@@ -51,6 +84,7 @@ class BookServiceImplTest {
         assertEquals(book.getTitle(), createdBook.getTitle());
 
         verify(bookRepository, times(1)).save(book);
+        verify(changeLogService, times(1)).recordBook(ChangeEvent.Operation.CREATED, 1L);
     }
 
     @Test
@@ -77,6 +111,51 @@ class BookServiceImplTest {
         verify(bookRepository, times(1)).findAll();
     }
 
+    @Test
+    void testGetAllBooks_SelectsOnlyRequestedFields() {
+        when(projectionRepository.findAllBooks(List.of("title", "id")))
+                .thenReturn(List.of(Map.of("title", "Java Programming", "id", 1L)));
+
+        List<Map<String, Object>> result = bookService.getAllBooks("title, id,title");
+
+        assertEquals(1, result.size());
+        verify(projectionRepository, times(1)).findAllBooks(List.of("title", "id"));
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllBooks_UnknownField() {
+        InvalidParameterException exception = assertThrows(InvalidParameterException.class, () -> bookService.getAllBooks("id,reviews"));
+        assertEquals("Unknown field 'reviews', allowed fields are id, title, author, publicationYear, availableCopies",
+                exception.getMessage());
+
+        verifyNoInteractions(projectionRepository);
+    }
+
+    @Test
+    void testGetBooksByIds_ChunksAndKeepsRequestOrder() {
+        multiGetProperties.setChunkSize(2);
+        Book first = new Book(1L, "Java Programming", "John Doe", 2023, 5);
+        Book third = new Book(3L, "Spring Boot Essentials", "Jane Smith", 2022, 4);
+        when(bookRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(third));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(first));
+
+        Map<Long, Book> result = bookService.getBooksByIds(List.of(3L, 2L, 3L, 1L));
+
+        assertEquals(List.of(3L, 1L), List.copyOf(result.keySet()));
+        verify(bookRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void testGetBooksByIds_TooManyIds() {
+        multiGetProperties.setMaxIds(2);
+
+        InvalidParameterException exception = assertThrows(InvalidParameterException.class,
+                () -> bookService.getBooksByIds(List.of(1L, 2L, 3L)));
+        assertEquals("ids", exception.getParameter());
+        verify(bookRepository, never()).findAllById(any());
+    }
+
     @Test
     void testGetBookById_Success() {
         Book book = new Book(1L, "Java Programming", "John Doe", 2023, 5);
@@ -131,22 +210,22 @@ class BookServiceImplTest {
 
     @Test
     void testDeleteBook_Success() {
-        when(bookRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(bookRepository).deleteById(1L);
+        when(bookRepository.deleteBookById(1L)).thenReturn(1);
 
         bookService.deleteBook(1L);
 
-        verify(bookRepository, times(1)).deleteById(1L);
+        verify(bookRepository, never()).existsById(anyLong());
+        verify(changeLogService, times(1)).recordBook(ChangeEvent.Operation.DELETED, 1L);
     }
 
     @Test
     void testDeleteBook_NotFound() {
-        when(bookRepository.existsById(1L)).thenReturn(false);
+        when(bookRepository.deleteBookById(1L)).thenReturn(0);
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> bookService.deleteBook(1L));
         assertEquals("Book with ID 1 not found", exception.getMessage());
 
-        verify(bookRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(changeLogService);
     }
 
     @Test
@@ -197,6 +276,46 @@ class BookServiceImplTest {
         verify(bookRepository, times(1)).findBooksPublishedAfterYear(2030);
     }
 
+    @Test
+    void testGetBooksPublishedAfterYear_FromCatalog() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(catalogSnapshot.find(CatalogFilter.publishedAfter(2020))).thenReturn(new long[]{1L, 2L});
+        // Book 2 was changed by another instance after the snapshot was taken.
+        when(bookRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                new Book(2L, "Legacy Java", "Jane Smith", 2019, 1),
+                new Book(1L, "Advanced Java", "John Doe", 2021, 3)));
+
+        when(catalogSnapshot.isReady()).thenReturn(true);
+        List<Book> foundBooks;
+        try {
+            foundBooks = bookService.getBooksPublishedAfterYear(2020);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        assertEquals(1, foundBooks.size());
+        assertEquals(1L, foundBooks.get(0).getId());
+        verify(bookRepository, never()).findBooksPublishedAfterYear(anyInt());
+    }
+
+    @Test
+    void testFilterBooks_FallsBackToDatabaseOutsideReadOnlyTransactions() {
+        List<Book> books = List.of(new Book(1L, "Advanced Java", "John Doe", 2021, 3));
+        lenient().when(catalogSnapshot.isReady()).thenReturn(true);
+        when(bookRepository.filterBooks(2000, 2025, 1, null, "John Doe")).thenReturn(books);
+
+        assertEquals(books, bookService.filterBooks(2000, 2025, 1, null, "John Doe"));
+
+        verify(catalogSnapshot, never()).find(any());
+    }
+
+    @Test
+    void testFilterBooks_NotFound() {
+        when(bookRepository.filterBooks(null, null, 100, null, null)).thenReturn(Collections.emptyList());
+
+        assertThrows(NotFoundException.class, () -> bookService.filterBooks(null, null, 100, null, null));
+    }
+
     @Test
     void testGetBooksWithHighRatingsNativeSQL_Success() {
         List<Book> books = List.of(new Book(1L, "Advanced Java", "John Doe", 2008, 10));
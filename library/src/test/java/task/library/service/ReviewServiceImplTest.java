@@ -1,23 +1,40 @@
 package task.library.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import task.library.config.multiget.MultiGetProperties;
+import task.library.config.reviews.ReviewPageProperties;
 import task.library.dto.BookRatingResponse;
+import task.library.dto.ReviewPageResponse;
 import task.library.dto.ReviewRequest;
+import task.library.dto.ReviewResponse;
 import task.library.entity.Book;
+import task.library.entity.ChangeEvent;
 import task.library.entity.Review;
+import task.library.exception.InvalidParameterException;
 import task.library.exception.NotFoundException;
 import task.library.repository.BookRepository;
+import task.library.repository.ProjectionRepository;
+import task.library.repository.ReviewGroupCommitter;
 import task.library.repository.ReviewRepository;
 import org.junit.jupiter.api.Test;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.*;
@@ -31,9 +48,37 @@ class ReviewServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private ReviewGroupCommitter reviewGroupCommitter;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProjectionRepository projectionRepository;
+
+    @Spy
+    private MultiGetProperties multiGetProperties = new MultiGetProperties();
+
+    @Spy
+    private ReviewPageProperties reviewPageProperties = new ReviewPageProperties();
+
+    @Mock
+    private ReadCoalescer readCoalescer;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
+    // Every read runs as if no other caller were asking for it.
+    @BeforeEach
+    void setUpReadCoalescer() {
+        lenient().when(readCoalescer.read(anyString(), anyList(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    }
+
     @Test
     void testAddReviewToBook_Success() {
         Book book = new Book(1L, "Java Programming", "John Doe", 2023, 5);
@@ -43,7 +88,7 @@ class ReviewServiceImplTest {
         review.setComment("Great book!");
         review.setBook(book);
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.getReferenceById(1L)).thenReturn(book);
         when(reviewRepository.save(any(Review.class))).thenReturn(review);
 
         Review addedReview = reviewService.addReviewToBook(1L, reviewRequest);
@@ -52,19 +97,40 @@ class ReviewServiceImplTest {
         assertEquals(5, addedReview.getRating());
         assertEquals("Great book!", addedReview.getComment());
 
-        verify(bookRepository, times(1)).findById(1L);
+        verify(bookRepository, never()).findById(anyLong());
         verify(reviewRepository, times(1)).save(any(Review.class));
+        verify(changeLogService, times(1)).recordReview(ChangeEvent.Operation.CREATED, review);
+    }
+
+    @Test
+    void testAddReviewToBook_GroupCommit() {
+        Book book = new Book(1L, "Java Programming", "John Doe", 2023, 5);
+        ReviewRequest reviewRequest = new ReviewRequest(5, "Great book!");
+
+        when(bookRepository.getReferenceById(1L)).thenReturn(book);
+        when(reviewGroupCommitter.isEnabled()).thenReturn(true);
+        when(reviewGroupCommitter.insert(any(Review.class))).thenAnswer(invocation -> {
+            Review review = invocation.getArgument(0);
+            review.setId(7L);
+            return review;
+        });
+
+        Review addedReview = reviewService.addReviewToBook(1L, reviewRequest);
+
+        assertEquals(7L, addedReview.getId());
+        assertEquals(book, addedReview.getBook());
+        verify(reviewRepository, never()).save(any(Review.class));
     }
 
     @Test
     void testAddReviewToBook_NotFound() {
         ReviewRequest reviewRequest = new ReviewRequest(5, "Great book!");
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+        when(reviewRepository.save(any(Review.class))).thenThrow(new DataIntegrityViolationException("FK_REVIEW_BOOK"));
 
         assertThrows(NotFoundException.class, () -> reviewService.addReviewToBook(1L, reviewRequest));
 
-        verify(bookRepository, times(1)).findById(1L);
+        verify(changeLogService, never()).recordReview(any(), any(Review.class));
     }
 
     @Test
@@ -72,8 +138,7 @@ class ReviewServiceImplTest {
         Book book = new Book(1L, "Java Programming", "John Doe", 2023, 5);
         List<Review> reviews = List.of(new Review(1L, 5, "Great book!", book));
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(reviewRepository.findAllByBook(book)).thenReturn(reviews);
+        when(reviewRepository.findAllByBookIdOrderByCreatedAtDescIdDesc(1L)).thenReturn(reviews);
 
         List<Review> foundReviews = reviewService.getAllReviewsForBook(1L);
 
@@ -81,21 +146,20 @@ class ReviewServiceImplTest {
         assertEquals(1, foundReviews.size());
         assertEquals(5, foundReviews.get(0).getRating());
 
-        verify(bookRepository, times(1)).findById(1L);
-        verify(reviewRepository, times(1)).findAllByBook(book);
+        verify(reviewRepository, times(1)).findAllByBookIdOrderByCreatedAtDescIdDesc(1L);
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
     void testGetAllReviewsForBook_NotFound() {
-        Book book = new Book(1L, "Java Programming", "John Doe", 2023, 5);
-
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(reviewRepository.findAllByBook(book)).thenReturn(Collections.emptyList());
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(reviewRepository.findAllByBookIdOrderByCreatedAtDescIdDesc(1L)).thenReturn(Collections.emptyList());
 
-        assertThrows(NotFoundException.class, () -> reviewService.getAllReviewsForBook(1L));
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> reviewService.getAllReviewsForBook(1L));
+        assertEquals("Reviews for book with ID 1 not found", exception.getMessage());
 
-        verify(bookRepository, times(1)).findById(1L);
-        verify(reviewRepository, times(1)).findAllByBook(book);
+        verify(bookRepository, times(1)).existsById(1L);
+        verify(reviewRepository, times(1)).findAllByBookIdOrderByCreatedAtDescIdDesc(1L);
     }
 
     @Test
@@ -130,20 +194,23 @@ class ReviewServiceImplTest {
 
     @Test
     void testDeleteReview_Success() {
-        when(reviewRepository.existsById(1L)).thenReturn(true);
+        when(reviewRepository.deleteReviewById(1L)).thenReturn(Optional.of(2L));
 
         reviewService.deleteReview(1L);
 
-        verify(reviewRepository, times(1)).deleteById(1L);
+        verify(reviewRepository, never()).findById(anyLong());
+        verify(bookRepository, times(1)).addToReviewCount(2L, -1);
+        verify(changeLogService, times(1)).recordReview(ChangeEvent.Operation.DELETED, 1L, 2L);
     }
 
     @Test
     void testDeleteReview_NotFound() {
-        when(reviewRepository.existsById(1L)).thenReturn(false);
+        when(reviewRepository.deleteReviewById(1L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> reviewService.deleteReview(1L));
 
-        verify(reviewRepository, times(1)).existsById(1L);
+        verify(bookRepository, never()).addToReviewCount(anyLong(), anyLong());
+        verifyNoInteractions(changeLogService);
     }
 
     @Test
@@ -169,4 +236,74 @@ class ReviewServiceImplTest {
 
         verify(reviewRepository, times(1)).getAverageRatingsForBooks();
     }
+
+    @Test
+    void testGetAllReviewsForBook_SelectsOnlyRequestedFields() {
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(projectionRepository.findReviewsByBookId(1L, List.of("rating")))
+                .thenReturn(List.of(Map.of("rating", 5), Map.of("rating", 4)));
+
+        List<Map<String, Object>> result = reviewService.getAllReviewsForBook(1L, "rating");
+
+        assertEquals(2, result.size());
+        verify(reviewRepository, never()).findAllByBookIdOrderByCreatedAtDescIdDesc(any());
+    }
+
+    @Test
+    void testGetAllReviewsForBook_ProjectionOfMissingBook() {
+        when(bookRepository.existsById(99L)).thenReturn(false);
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> reviewService.getAllReviewsForBook(99L, "id,comment"));
+        assertEquals("Book with ID 99 not found", exception.getMessage());
+        verifyNoInteractions(projectionRepository);
+    }
+
+    @Test
+    void testGetReviewsForBooks_GroupsByBookInRequestOrder() {
+        Review great = new Review(1L, 5, "Great book!");
+        Review good = new Review(2L, 4, "Good book");
+        when(reviewRepository.findReviewsByBookIds(List.of(2L, 1L, 99L))).thenReturn(List.of(
+                new Object[]{1L, great}, new Object[]{2L, null}, new Object[]{1L, good}));
+
+        Map<Long, List<Review>> result = reviewService.getReviewsForBooks(List.of(2L, 1L, 99L));
+
+        assertEquals(List.of(2L, 1L), List.copyOf(result.keySet()));
+        assertEquals(List.of(), result.get(2L));
+        assertEquals(List.of(great, good), result.get(1L));
+    }
+
+    @Test
+    void testGetReviewPage_ContinuesAfterTheLastReviewOfThePage() {
+        Instant now = Review.now();
+        ReviewResponse newest = new ReviewResponse(3L, 5, "Great book!", now);
+        ReviewResponse older = new ReviewResponse(2L, 4, "Good book", now.minusSeconds(60));
+        ReviewResponse oldest = new ReviewResponse(1L, 3, "Okay", now.minusSeconds(120));
+        when(bookRepository.findReviewCount(1L)).thenReturn(Optional.of(3L));
+        when(reviewRepository.findLatestByBookId(1L, Limit.of(3))).thenReturn(List.of(newest, older, oldest));
+
+        ReviewPageResponse first = reviewService.getReviewPage(1L, null, 2);
+
+        assertEquals(List.of(newest, older), first.getReviews());
+        assertEquals(3L, first.getTotalCount());
+        assertNotNull(first.getNextCursor());
+
+        when(reviewRepository.findLatestByBookIdBefore(1L, older.getCreatedAt(), 2L, Limit.of(3))).thenReturn(List.of(oldest));
+
+        ReviewPageResponse second = reviewService.getReviewPage(1L, first.getNextCursor(), 2);
+
+        assertEquals(List.of(oldest), second.getReviews());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testGetReviewPage_UnknownBookAndMalformedCursor() {
+        when(bookRepository.findReviewCount(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> reviewService.getReviewPage(99L, null, null));
+        InvalidParameterException exception = assertThrows(InvalidParameterException.class,
+                () -> reviewService.getReviewPage(1L, "not-a-cursor", null));
+        assertEquals("cursor", exception.getParameter());
+        verify(reviewRepository, never()).findLatestByBookId(any(), any());
+    }
 }